@@ -0,0 +1,107 @@
+package com.blazenn.ecommerce.security;
+
+import com.blazenn.ecommerce.EcommApp;
+import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.management.RequestStatistics;
+import com.blazenn.ecommerce.repository.UserRepository;
+import com.blazenn.ecommerce.web.rest.UserJWTController;
+import com.blazenn.ecommerce.web.rest.vm.LoginVM;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the login path of {@code /api/authenticate}, from the lookup of the user to the creation of the JWT.
+ * <p>
+ * The application is booted on the in-memory H2 database of the tests, with the audit events written in the
+ * background. Besides the time, the {@code statements} and {@code authentications} counters report the SQL statements
+ * run by the authentications of each iteration: a single lookup is expected per authentication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final String EMAIL = "benchmark-user@localhost";
+
+    private static final String PASSWORD = "benchmark-password";
+
+    private ConfigurableApplicationContext context;
+
+    private UserJWTController userJWTController;
+
+    private LoginVM login;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplication(EcommApp.class).run("--server.port=0", "--application.audit-events.async-enabled=true");
+
+        User user = new User();
+        user.setLogin("benchmark-user");
+        user.setEmail(EMAIL);
+        user.setActivated(true);
+        user.setPassword(context.getBean(PasswordEncoder.class).encode(PASSWORD));
+        context.getBean(UserRepository.class).saveAndFlush(user);
+
+        userJWTController = context.getBean(UserJWTController.class);
+        login = new LoginVM();
+        login.setEmail(EMAIL);
+        login.setPassword(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> authorize(Statements statements) {
+        RequestStatistics.start();
+        try {
+            return userJWTController.authorize(login);
+        } finally {
+            statements.statements += RequestStatistics.stop().getStatements();
+            statements.authentications++;
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * The SQL statements run by the authentications.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+
+        public long statements;
+
+        public long authentications;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            authentications = 0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.blazenn.ecommerce.security;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the rate limit check of a request, by concurrent clients on every processor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10000;
+
+    private RateLimiter rateLimiter;
+
+    private Long[] clients;
+
+    @Setup
+    public void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getRateLimit().setGroups(Arrays.asList(
+            group("authentication", "/api/authenticate", "/api/register", "/api/account/reset-password"),
+            group("catalog", "/api/products", "/api/categories"),
+            group("api", "/api/")));
+        rateLimiter = new RateLimiter(applicationProperties, new SimpleMeterRegistry());
+        clients = new Long[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = (long) i;
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return rateLimiter.tryAcquire("/api/orders", clients[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+
+    private static ApplicationProperties.RateLimit.Group group(String name, String... pathPrefixes) {
+        ApplicationProperties.RateLimit.Group group = new ApplicationProperties.RateLimit.Group();
+        group.setName(name);
+        group.setCapacity(200);
+        group.setRefillPerSecond(100);
+        group.setPathPrefixes(Arrays.asList(pathPrefixes));
+        return group;
+    }
+}
@@ -0,0 +1,76 @@
+package com.blazenn.ecommerce.security.jwt;
+
+import com.blazenn.ecommerce.security.AuthoritiesConstants;
+
+import io.github.jhipster.config.JHipsterProperties;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the creation and the verification of JWTs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenProviderBenchmark {
+
+    private static final String BASE64_SECRET = "YzU3YjdmNjI4YmFiYWIwYWM1ODU1MDc5MGNhMGFlNzVjNmQ3ZTMzZTkwMjdmOGZjM2Q2NDJiYmY4YmM2NmNkMDc2MzY2ZWRmYTQxODNlNDU0ZjA3NzE1ZTUyYmQ2MmIwNzZmMmJkZmI0ZDJjMDNjZTdmMGIzYTVmOTY1M2NjOTA=";
+
+    private TokenProvider tokenProvider;
+
+    private Authentication authentication;
+
+    private String token;
+
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(BASE64_SECRET);
+        tokenProvider = new TokenProvider(jHipsterProperties);
+        tokenProvider.init();
+        authentication = new UsernamePasswordAuthenticationToken("johndoe", null, Arrays.asList(
+            new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)));
+        token = tokenProvider.createToken(authentication, false, "5");
+        claims = tokenProvider.parseClaims(token).get();
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication, false, "5");
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthenticationFromParsedClaims() {
+        return tokenProvider.getAuthentication(token, claims);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+}
@@ -0,0 +1,146 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.domain.Address;
+import com.blazenn.ecommerce.domain.Category;
+import com.blazenn.ecommerce.domain.Order;
+import com.blazenn.ecommerce.domain.OrderItem;
+import com.blazenn.ecommerce.domain.Product;
+import com.blazenn.ecommerce.service.dto.AddressCriteria;
+import com.blazenn.ecommerce.service.dto.CategoryCriteria;
+import com.blazenn.ecommerce.service.dto.OrderCriteria;
+import com.blazenn.ecommerce.service.dto.OrderItemCriteria;
+import com.blazenn.ecommerce.service.dto.ProductCriteria;
+
+import io.github.jhipster.service.filter.BigDecimalFilter;
+import io.github.jhipster.service.filter.InstantFilter;
+import io.github.jhipster.service.filter.IntegerFilter;
+import io.github.jhipster.service.filter.LongFilter;
+import io.github.jhipster.service.filter.StringFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the conversion of the criteria of the REST listings into {@link Specification}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationBenchmark {
+
+    private ProductQueryService productQueryService;
+
+    private OrderQueryService orderQueryService;
+
+    private OrderItemQueryService orderItemQueryService;
+
+    private CategoryQueryService categoryQueryService;
+
+    private AddressQueryService addressQueryService;
+
+    private ProductCriteria productCriteria;
+
+    private OrderCriteria orderCriteria;
+
+    private OrderItemCriteria orderItemCriteria;
+
+    private CategoryCriteria categoryCriteria;
+
+    private AddressCriteria addressCriteria;
+
+    @Setup
+    public void setUp() {
+        // createSpecification only uses the criteria
+        productQueryService = new ProductQueryService(null, null, null, null);
+        orderQueryService = new OrderQueryService(null, null, null);
+        orderItemQueryService = new OrderItemQueryService(null, null, null);
+        categoryQueryService = new CategoryQueryService(null, null, null);
+        addressQueryService = new AddressQueryService(null, null, null);
+
+        productCriteria = new ProductCriteria();
+        productCriteria.setName(contains("pen"));
+        productCriteria.setPrice(between("1.00", "20.00"));
+        productCriteria.setCategoryId(in(1L, 2L, 3L));
+
+        orderCriteria = new OrderCriteria();
+        InstantFilter orderDate = new InstantFilter();
+        orderDate.setGreaterThanOrEqual(Instant.now().minus(30, ChronoUnit.DAYS));
+        orderCriteria.setOrderDate(orderDate);
+        orderCriteria.setTotalAmount(between("10.00", "100.00"));
+
+        orderItemCriteria = new OrderItemCriteria();
+        IntegerFilter quantity = new IntegerFilter();
+        quantity.setGreaterThan(1);
+        orderItemCriteria.setQuantity(quantity);
+        orderItemCriteria.setOrderId(in(10L));
+        orderItemCriteria.setProductId(in(1L, 2L));
+
+        categoryCriteria = new CategoryCriteria();
+        categoryCriteria.setName(contains("book"));
+
+        addressCriteria = new AddressCriteria();
+        addressCriteria.setCity(contains("Paris"));
+        addressCriteria.setPostalCode(contains("75"));
+    }
+
+    @Benchmark
+    public Specification<Product> productSpecification() {
+        return productQueryService.createSpecification(productCriteria);
+    }
+
+    @Benchmark
+    public Specification<Order> orderSpecification() {
+        return orderQueryService.createSpecification(orderCriteria);
+    }
+
+    @Benchmark
+    public Specification<OrderItem> orderItemSpecification() {
+        return orderItemQueryService.createSpecification(orderItemCriteria);
+    }
+
+    @Benchmark
+    public Specification<Category> categorySpecification() {
+        return categoryQueryService.createSpecification(categoryCriteria);
+    }
+
+    @Benchmark
+    public Specification<Address> addressSpecification() {
+        return addressQueryService.createSpecification(addressCriteria);
+    }
+
+    private static StringFilter contains(String value) {
+        StringFilter filter = new StringFilter();
+        filter.setContains(value);
+        return filter;
+    }
+
+    private static BigDecimalFilter between(String min, String max) {
+        BigDecimalFilter filter = new BigDecimalFilter();
+        filter.setGreaterThanOrEqual(new BigDecimal(min));
+        filter.setLessThanOrEqual(new BigDecimal(max));
+        return filter;
+    }
+
+    private static LongFilter in(Long... values) {
+        LongFilter filter = new LongFilter();
+        filter.setIn(Arrays.asList(values));
+        return filter;
+    }
+}
@@ -0,0 +1,132 @@
+package com.blazenn.ecommerce.service.mapper;
+
+import com.blazenn.ecommerce.domain.Category;
+import com.blazenn.ecommerce.domain.Order;
+import com.blazenn.ecommerce.domain.OrderItem;
+import com.blazenn.ecommerce.domain.Product;
+import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.service.dto.OrderDTO;
+import com.blazenn.ecommerce.service.dto.OrderItemDTO;
+import com.blazenn.ecommerce.service.dto.ProductDTO;
+import com.blazenn.ecommerce.service.dto.UserDTO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the conversions between entities and DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ProductMapper productMapper;
+
+    private OrderMapper orderMapper;
+
+    private OrderItemMapper orderItemMapper;
+
+    private UserMapper userMapper;
+
+    private Product product;
+
+    private ProductDTO productDTO;
+
+    private Order order;
+
+    private OrderDTO orderDTO;
+
+    private OrderItem orderItem;
+
+    private OrderItemDTO orderItemDTO;
+
+    private UserDTO userDTO;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapperImpl();
+        orderMapper = new OrderMapperImpl();
+        orderItemMapper = new OrderItemMapperImpl();
+        ReflectionTestUtils.setField(orderItemMapper, "orderMapper", orderMapper);
+        ReflectionTestUtils.setField(orderItemMapper, "productMapper", productMapper);
+        userMapper = new UserMapper();
+
+        Category category = new Category().name("Books");
+        category.setId(1L);
+        product = new Product().name("Notebook").description("A5, dotted").price(new BigDecimal("12.90")).category(category);
+        product.setId(2L);
+        productDTO = productMapper.toDto(product);
+
+        order = new Order().orderDate(Instant.now()).totalAmount(new BigDecimal("25.80"));
+        order.setId(3L);
+        orderItem = new OrderItem().quantity(2).unitPrice(new BigDecimal("12.90")).order(order).product(product);
+        orderItem.setId(4L);
+        order.addOrderItems(orderItem);
+        orderDTO = orderMapper.toDto(order);
+        orderItemDTO = orderItemMapper.toDto(orderItem);
+
+        userDTO = new UserDTO();
+        userDTO.setId(5L);
+        userDTO.setLogin("johndoe");
+        userDTO.setFirstName("John");
+        userDTO.setLastName("Doe");
+        userDTO.setEmail("johndoe@localhost");
+        userDTO.setActivated(true);
+        userDTO.setLangKey("en");
+        userDTO.setAuthorities(new HashSet<>(Arrays.asList("ROLE_USER", "ROLE_ADMIN")));
+    }
+
+    @Benchmark
+    public ProductDTO productToDto() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public Product productToEntity() {
+        return productMapper.toEntity(productDTO);
+    }
+
+    @Benchmark
+    public OrderDTO orderToDto() {
+        return orderMapper.toDto(order);
+    }
+
+    @Benchmark
+    public Order orderToEntity() {
+        return orderMapper.toEntity(orderDTO);
+    }
+
+    @Benchmark
+    public OrderItemDTO orderItemToDto() {
+        return orderItemMapper.toDto(orderItem);
+    }
+
+    @Benchmark
+    public OrderItem orderItemToEntity() {
+        return orderItemMapper.toEntity(orderItemDTO);
+    }
+
+    @Benchmark
+    public User userDTOToUser() {
+        return userMapper.userDTOToUser(userDTO);
+    }
+}
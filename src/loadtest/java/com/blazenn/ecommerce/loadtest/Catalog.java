@@ -0,0 +1,79 @@
+package com.blazenn.ecommerce.loadtest;
+
+import com.blazenn.ecommerce.repository.fakedata.FakeDataGenerator;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * What the virtual users know of the data set: the generated users to log in as, and enough of the catalog to build
+ * filters that match some products.
+ */
+public class Catalog {
+
+    private final long productCount;
+
+    private final long categoryCount;
+
+    private final long maxPrice;
+
+    private final List<String> nameTerms;
+
+    private final List<String> userEmails;
+
+    public Catalog(long productCount, long categoryCount, long maxPrice, List<String> nameTerms, List<String> userEmails) {
+        this.productCount = productCount;
+        this.categoryCount = categoryCount;
+        this.maxPrice = maxPrice;
+        this.nameTerms = nameTerms;
+        this.userEmails = userEmails;
+    }
+
+    public static Catalog read(JdbcTemplate jdbcTemplate) {
+        List<String> nameTerms = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList("select distinct name from product where id <= 100", String.class)) {
+            for (String term : name.split("\\s+")) {
+                if (term.length() >= 3) {
+                    nameTerms.add(term.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return new Catalog(
+            jdbcTemplate.queryForObject("select max(id) from product", Long.class),
+            jdbcTemplate.queryForObject("select max(id) from category", Long.class),
+            jdbcTemplate.queryForObject("select max(price) from product", Long.class),
+            nameTerms,
+            jdbcTemplate.queryForList("select email from jhi_user where login like ? order by id", String.class,
+                FakeDataGenerator.LOGIN_PREFIX + "%"));
+    }
+
+    public long randomProductId(Random random) {
+        return 1 + (long) (random.nextDouble() * productCount);
+    }
+
+    public long randomCategoryId(Random random) {
+        return 1 + (long) (random.nextDouble() * categoryCount);
+    }
+
+    public long randomPrice(Random random) {
+        return (long) (random.nextDouble() * maxPrice);
+    }
+
+    /**
+     * The email of the user of a virtual user.
+     *
+     * @param index the index of the virtual user.
+     * @return the email of a generated user.
+     */
+    public String userEmail(int index) {
+        return userEmails.get(index % userEmails.size());
+    }
+
+    public String randomNameTerm(Random random) {
+        return nameTerms.isEmpty() ? "a" : nameTerms.get(random.nextInt(nameTerms.size()));
+    }
+}
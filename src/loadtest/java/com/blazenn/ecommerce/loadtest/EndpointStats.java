@@ -0,0 +1,112 @@
+package com.blazenn.ecommerce.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts of the requests of a load test, per endpoint.
+ * <p>
+ * Latencies are recorded in microseconds, and only while recording is enabled, so that the warm-up is not reported.
+ */
+public class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private volatile boolean recording;
+
+    private long startNanos;
+
+    private long stopNanos;
+
+    public void start() {
+        endpoints.clear();
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+        stopNanos = System.nanoTime();
+    }
+
+    /**
+     * Record a request.
+     *
+     * @param endpoint the name of the endpoint, such as {@code GET /api/products/{id}}.
+     * @param latencyNanos the latency of the request.
+     * @param success whether the request succeeded.
+     */
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        if (!recording) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_LATENCY));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Print the throughput and the latency percentiles of every endpoint.
+     *
+     * @param out the stream to print to.
+     */
+    public void printSummary(PrintStream out) {
+        double seconds = (stopNanos - startNanos) / 1e9;
+        out.printf("%-40s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+            "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+        long total = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Histogram latencies = entry.getValue().latencies;
+            total += latencies.getTotalCount();
+            out.printf("%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                entry.getKey(), latencies.getTotalCount(), entry.getValue().errors.sum(),
+                latencies.getTotalCount() / seconds,
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+        }
+        out.printf("%-40s %9d %7s %9.1f%n", "Total", total, "", total / seconds);
+    }
+
+    /**
+     * Write the full latency distribution of every endpoint, in milliseconds, as one {@code .hgrm} file per endpoint.
+     * The files can be plotted with the HdrHistogram plotter.
+     *
+     * @param directory the directory to write to.
+     * @throws IOException if a file could not be written.
+     */
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            String fileName = entry.getKey().replaceAll("[^A-Za-z0-9-]+", "_") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(fileName)), false, "UTF-8")) {
+                entry.getValue().latencies.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Endpoint {
+
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_LATENCY, 3);
+
+        private final LongAdder errors = new LongAdder();
+    }
+}
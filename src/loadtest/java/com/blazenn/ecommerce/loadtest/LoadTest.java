@@ -0,0 +1,127 @@
+package com.blazenn.ecommerce.loadtest;
+
+import com.blazenn.ecommerce.EcommApp;
+import com.blazenn.ecommerce.repository.fakedata.FakeDataGenerator;
+
+import io.github.jhipster.config.JHipsterConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the REST API.
+ * <p>
+ * Boots the application with the {@code dev} and {@code loadtest} profiles, on an in-memory H2 database holding the
+ * fake data and {@code loadtest.orders} generated orders, then runs {@code loadtest.threads} virtual users, each logged
+ * in as a generated user and picking its scenarios at random according to {@code loadtest.mix}. Requests are not recorded during the first
+ * {@code loadtest.warmup} seconds; the throughput and the latency histograms of the following
+ * {@code loadtest.duration} seconds are printed, and written to {@code loadtest.report}.
+ */
+public final class LoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.setProperty("http.maxConnections", String.valueOf(settings.getThreads()));
+
+        SpringApplication app = new SpringApplication(EcommApp.class);
+        app.setAdditionalProfiles(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT, "loadtest");
+        try (ConfigurableApplicationContext context = app.run(args)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            awaitLiquibase(jdbcTemplate);
+            new FakeDataGenerator(context.getBean(DataSource.class), 42L)
+                .generate(FakeDataGenerator.Size.ofOrders(settings.getOrders()));
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            run(settings, baseUri, Catalog.read(jdbcTemplate));
+        }
+        System.exit(0);
+    }
+
+    private static void run(LoadTestSettings settings, URI baseUri, Catalog catalog) throws Exception {
+        log.info("Running {}", settings);
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setErrorHandler(new DefaultResponseErrorHandler() {
+            @Override
+            public boolean hasError(ClientHttpResponse response) {
+                return false;
+            }
+        });
+        EndpointStats stats = new EndpointStats();
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getThreads());
+        List<Future<?>> users = new ArrayList<>();
+        for (int i = 0; i < settings.getThreads(); i++) {
+            VirtualUser user = new VirtualUser(restTemplate, baseUri, stats, catalog, catalog.userEmail(i), i);
+            users.add(executor.submit(() -> runUser(user, settings.getMix(), end)));
+        }
+        executor.shutdown();
+        TimeUnit.NANOSECONDS.sleep(warmupEnd - System.nanoTime());
+        stats.start();
+        TimeUnit.NANOSECONDS.sleep(end - System.nanoTime());
+        stats.stop();
+        for (Future<?> user : users) {
+            user.get();
+        }
+
+        stats.printSummary(System.out);
+        stats.writeHistograms(settings.getReportDirectory());
+        log.info("Latency histograms written to {}", settings.getReportDirectory().toAbsolutePath());
+    }
+
+    private static void runUser(VirtualUser user, Map<Scenario, Integer> mix, long end) {
+        if (!user.authenticate()) {
+            throw new IllegalStateException("The virtual user could not authenticate");
+        }
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        while (System.nanoTime() < end) {
+            int draw = user.getRandom().nextInt(totalWeight);
+            for (Map.Entry<Scenario, Integer> scenario : mix.entrySet()) {
+                draw -= scenario.getValue();
+                if (draw < 0) {
+                    scenario.getKey().run(user);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Liquibase runs asynchronously with the {@code dev} profile: wait until it has released its lock.
+     */
+    private static void awaitLiquibase(JdbcTemplate jdbcTemplate) throws InterruptedException {
+        while (true) {
+            try {
+                Integer changeSets = jdbcTemplate.queryForObject("select count(*) from databasechangelog", Integer.class);
+                Boolean locked = jdbcTemplate.queryForObject("select locked from databasechangeloglock where id = 1", Boolean.class);
+                if (changeSets != null && changeSets > 0 && Boolean.FALSE.equals(locked)) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.debug("Liquibase has not started yet: {}", e.getMessage());
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+    }
+}
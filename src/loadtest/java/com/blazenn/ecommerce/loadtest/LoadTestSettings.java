@@ -0,0 +1,105 @@
+package com.blazenn.ecommerce.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test, read from the {@code loadtest.*} system properties.
+ */
+public class LoadTestSettings {
+
+    private final long orders;
+
+    private final int threads;
+
+    private final int warmupSeconds;
+
+    private final int durationSeconds;
+
+    private final Map<Scenario, Integer> mix;
+
+    private final Path reportDirectory;
+
+    public LoadTestSettings(long orders, int threads, int warmupSeconds, int durationSeconds,
+                            Map<Scenario, Integer> mix, Path reportDirectory) {
+        this.orders = orders;
+        this.threads = threads;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+        this.mix = mix;
+        this.reportDirectory = reportDirectory;
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+            Long.getLong("loadtest.orders", 10_000L),
+            Integer.getInteger("loadtest.threads", 8),
+            Integer.getInteger("loadtest.warmup", 10),
+            Integer.getInteger("loadtest.duration", 30),
+            parseMix(System.getProperty("loadtest.mix", "browse=80,authenticate=5,checkout=15")),
+            Paths.get(System.getProperty("loadtest.report", "target/loadtest")));
+    }
+
+    /**
+     * Parse a scenario mix such as {@code browse=80,authenticate=5,checkout=15}.
+     *
+     * @param mix the mix.
+     * @return the weight of every scenario of the mix.
+     * @throws IllegalArgumentException if the mix is invalid.
+     */
+    static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid scenario mix " + mix);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Scenario.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Invalid scenario mix " + mix);
+        }
+        return weights;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public Map<Scenario, Integer> getMix() {
+        return mix;
+    }
+
+    public Path getReportDirectory() {
+        return reportDirectory;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadTestSettings{" +
+            "orders=" + orders +
+            ", threads=" + threads +
+            ", warmupSeconds=" + warmupSeconds +
+            ", durationSeconds=" + durationSeconds +
+            ", mix=" + mix +
+            ", reportDirectory=" + reportDirectory +
+            "}";
+    }
+}
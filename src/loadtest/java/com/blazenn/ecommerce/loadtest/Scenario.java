@@ -0,0 +1,107 @@
+package com.blazenn.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The user journeys of a load test.
+ */
+public enum Scenario {
+
+    /**
+     * Browse a page of products with some {@code ProductCriteria} filters, then open one of the products.
+     */
+    BROWSE {
+        @Override
+        void run(VirtualUser user) {
+            Random random = user.getRandom();
+            Catalog catalog = user.getCatalog();
+            StringBuilder query = new StringBuilder("/api/products?size=20&page=").append(random.nextInt(3));
+            switch (random.nextInt(4)) {
+                case 0:
+                    query.append("&name.contains=").append(encode(catalog.randomNameTerm(random)));
+                    break;
+                case 1:
+                    long min = catalog.randomPrice(random);
+                    query.append("&price.greaterThanOrEqual=").append(min)
+                        .append("&price.lessThanOrEqual=").append(min + catalog.randomPrice(random) / 4);
+                    break;
+                case 2:
+                    query.append("&categoryId.equals=").append(catalog.randomCategoryId(random));
+                    break;
+                default:
+                    break;
+            }
+            if (random.nextBoolean()) {
+                query.append("&sort=price,").append(random.nextBoolean() ? "asc" : "desc");
+            }
+            ResponseEntity<JsonNode> page = user.send("GET /api/products", HttpMethod.GET, query.toString(), null);
+            JsonNode products = page.getBody();
+            if (products != null && products.isArray() && products.size() > 0) {
+                long id = products.get(random.nextInt(products.size())).path("id").asLong();
+                user.send("GET /api/products/{id}", HttpMethod.GET, "/api/products/" + id, null);
+            }
+        }
+    },
+
+    /**
+     * Authenticate again, which hashes the password.
+     */
+    AUTHENTICATE {
+        @Override
+        void run(VirtualUser user) {
+            user.authenticate();
+        }
+    },
+
+    /**
+     * Check out a few products, then read the placed order and its lines.
+     */
+    CHECKOUT {
+        @Override
+        void run(VirtualUser user) {
+            Random random = user.getRandom();
+            List<Map<String, Object>> items = new ArrayList<>();
+            int lines = 1 + random.nextInt(4);
+            for (int i = 0; i < lines; i++) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("productId", user.getCatalog().randomProductId(random));
+                item.put("quantity", 1 + random.nextInt(3));
+                items.add(item);
+            }
+            ResponseEntity<JsonNode> order = user.send("POST /api/orders/checkout", HttpMethod.POST, "/api/orders/checkout",
+                Collections.singletonMap("items", items));
+            if (order.getBody() != null && order.getBody().hasNonNull("id")) {
+                long id = order.getBody().get("id").asLong();
+                user.send("GET /api/orders/{id}", HttpMethod.GET, "/api/orders/" + id, null);
+                user.send("GET /api/order-items", HttpMethod.GET,
+                    "/api/order-items?withProduct=true&orderId.equals=" + id, null);
+            }
+        }
+    };
+
+    /**
+     * Run the scenario once.
+     *
+     * @param user the virtual user running the scenario.
+     */
+    abstract void run(VirtualUser user);
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
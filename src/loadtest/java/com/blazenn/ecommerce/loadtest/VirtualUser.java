@@ -0,0 +1,101 @@
+package com.blazenn.ecommerce.loadtest;
+
+import com.blazenn.ecommerce.repository.fakedata.FakeDataGenerator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A client of the REST API run by one load-test thread, which records the latency of each of its requests.
+ */
+public class VirtualUser {
+
+    private final RestTemplate restTemplate;
+
+    private final URI baseUri;
+
+    private final EndpointStats stats;
+
+    private final Catalog catalog;
+
+    private final String email;
+
+    private final Random random;
+
+    private String token;
+
+    public VirtualUser(RestTemplate restTemplate, URI baseUri, EndpointStats stats, Catalog catalog, String email,
+                       long seed) {
+        this.restTemplate = restTemplate;
+        this.baseUri = baseUri;
+        this.stats = stats;
+        this.catalog = catalog;
+        this.email = email;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Send a request.
+     *
+     * @param endpoint the name of the endpoint, used to group the latencies.
+     * @param method the HTTP method.
+     * @param pathAndQuery the path and the query of the request, already encoded.
+     * @param body the body of the request, or {@code null}.
+     * @return the response, whatever its status.
+     */
+    public ResponseEntity<JsonNode> send(String endpoint, HttpMethod method, String pathAndQuery, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        if (body != null) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            ResponseEntity<JsonNode> response = restTemplate.exchange(baseUri.resolve(pathAndQuery), method,
+                new HttpEntity<>(body, headers), JsonNode.class);
+            success = response.getStatusCode().is2xxSuccessful();
+            return response;
+        } finally {
+            stats.record(endpoint, System.nanoTime() - start, success);
+        }
+    }
+
+    /**
+     * Authenticate, and use the token for the following requests.
+     *
+     * @return whether the authentication succeeded.
+     */
+    public boolean authenticate() {
+        Map<String, String> login = new HashMap<>();
+        login.put("email", email);
+        login.put("password", FakeDataGenerator.PASSWORD);
+        ResponseEntity<JsonNode> response = send("POST /api/authenticate", HttpMethod.POST, "/api/authenticate", login);
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            token = response.getBody().path("id_token").asText(null);
+        }
+        return token != null;
+    }
+
+    public Catalog getCatalog() {
+        return catalog;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+}
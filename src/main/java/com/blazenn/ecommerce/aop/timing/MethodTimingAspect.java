@@ -0,0 +1,149 @@
+package com.blazenn.ecommerce.aop.timing;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect timing the execution of the repositories, services and Web REST endpoints matched by the pointcuts of the
+ * {@link com.blazenn.ecommerce.aop.logging.LoggingAspect}, in every profile.
+ * <p>
+ * The executions are recorded in the {@value #METRIC_NAME} timer, tagged with the layer, the class and the method,
+ * and the exception the method threw, if any. The arguments and results are never read. The timing can be switched
+ * off at runtime by setting the level of the {@code com.blazenn.ecommerce.aop.timing} logger to {@code WARN} or
+ * {@code OFF} through the {@code loggers} management endpoint, and back on with {@code INFO} or a finer level.
+ */
+@Aspect
+public class MethodTimingAspect {
+
+    public static final String METRIC_NAME = "method.timed";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private static final String APPLICATION_PACKAGE = "com.blazenn.ecommerce.";
+
+    private final Logger switchLogger = LoggerFactory.getLogger(MethodTimingAspect.class.getPackage().getName());
+
+    private final Map<Class<?>, Map<Method, Timer>> timers = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Clock clock;
+
+    public MethodTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.clock = meterRegistry.config().clock();
+    }
+
+    /**
+     * Pointcut that matches the Spring Data repositories, whose implementations are outside of the application
+     * packages matched by the {@link com.blazenn.ecommerce.aop.logging.LoggingAspect}.
+     */
+    @Pointcut("this(org.springframework.data.repository.Repository)")
+    public void springDataRepositoryPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times a method, when the timing is switched on.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception of the method.
+     */
+    @Around("(com.blazenn.ecommerce.aop.logging.LoggingAspect.applicationPackagePointcut()" +
+        " && com.blazenn.ecommerce.aop.logging.LoggingAspect.springBeanPointcut())" +
+        " || springDataRepositoryPointcut()")
+    public Object timeAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!switchLogger.isInfoEnabled()) {
+            return joinPoint.proceed();
+        }
+        long start = clock.monotonicTime();
+        try {
+            Object result = joinPoint.proceed();
+            timer(joinPoint).record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            Class<?> type = applicationType(joinPoint.getThis().getClass(), joinPoint.getSignature().getDeclaringType());
+            timer(type, joinPoint.getSignature().getName(), e.getClass().getSimpleName())
+                .record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * The timer of the successful executions of a method, looked up without allocating once it is registered.
+     */
+    private Timer timer(ProceedingJoinPoint joinPoint) {
+        Class<?> proxyType = joinPoint.getThis().getClass();
+        Map<Method, Timer> methodTimers = timers.get(proxyType);
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(proxyType, key -> new ConcurrentHashMap<>());
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer timer = methodTimers.get(method);
+        if (timer == null) {
+            Class<?> type = applicationType(proxyType, method.getDeclaringClass());
+            timer = methodTimers.computeIfAbsent(method, key -> timer(type, key.getName(), NO_EXCEPTION));
+        }
+        return timer;
+    }
+
+    private Timer timer(Class<?> type, String method, String exception) {
+        return Timer.builder(METRIC_NAME)
+            .description("Execution time of the repositories, services and Web REST endpoints")
+            .tag("layer", layer(type))
+            .tag("class", type.getSimpleName())
+            .tag("method", method)
+            .tag("exception", exception)
+            .register(meterRegistry);
+    }
+
+    /**
+     * The class of the application behind a proxy: the proxied class, or the repository interface of a Spring Data
+     * proxy, whose methods are mostly declared by the Spring Data interfaces.
+     */
+    static Class<?> applicationType(Class<?> proxyType, Class<?> declaringType) {
+        Class<?> userType = ClassUtils.getUserClass(proxyType);
+        if (userType.getName().startsWith(APPLICATION_PACKAGE)) {
+            return userType;
+        }
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(proxyType)) {
+            if (type.getName().startsWith(APPLICATION_PACKAGE)) {
+                return type;
+            }
+        }
+        return declaringType;
+    }
+
+    /**
+     * The layer of a class: the package of the application it belongs to.
+     */
+    static String layer(Class<?> type) {
+        String name = type.getName();
+        if (name.startsWith(APPLICATION_PACKAGE + "repository.")) {
+            return "repository";
+        }
+        if (name.startsWith(APPLICATION_PACKAGE + "service.")) {
+            return "service";
+        }
+        if (name.startsWith(APPLICATION_PACKAGE + "web.rest.")) {
+            return "web";
+        }
+        return "other";
+    }
+}
@@ -2,6 +2,9 @@ package com.blazenn.ecommerce.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Properties specific to Ecomm.
  * <p>
@@ -10,4 +13,766 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final ProductIndex productIndex = new ProductIndex();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final Count count = new Count();
+
+    private final HibernateStatistics hibernateStatistics = new HibernateStatistics();
+
+    private final Outbox mailOutbox = new Outbox(5000, 50, 8, 30);
+
+    private final Outbox eventOutbox = new Outbox(1000, 100, 10, 5);
+
+    private final AuditEvents auditEvents = new AuditEvents();
+
+    private final Purge purge = new Purge();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    private final ReadReplicas readReplicas = new ReadReplicas();
+
+    public ProductIndex getProductIndex() {
+        return productIndex;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public Count getCount() {
+        return count;
+    }
+
+    public HibernateStatistics getHibernateStatistics() {
+        return hibernateStatistics;
+    }
+
+    public Outbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public Outbox getEventOutbox() {
+        return eventOutbox;
+    }
+
+    public AuditEvents getAuditEvents() {
+        return auditEvents;
+    }
+
+    public Purge getPurge() {
+        return purge;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public ReadReplicas getReadReplicas() {
+        return readReplicas;
+    }
+
+    public static class ProductIndex {
+
+        /**
+         * Answer the product listings from memory: the products written by another instance, or directly in the
+         * database, are only seen after the next rebuild, so only enable it with a single instance, or when listings
+         * stale for up to the rebuild interval are acceptable.
+         */
+        private boolean enabled = false;
+
+        private long rebuildIntervalMs = 300000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getRebuildIntervalMs() {
+            return rebuildIntervalMs;
+        }
+
+        public void setRebuildIntervalMs(long rebuildIntervalMs) {
+            this.rebuildIntervalMs = rebuildIntervalMs;
+        }
+    }
+
+    public static class JwtCache {
+
+        private boolean enabled = true;
+
+        private int maxSize = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class Count {
+
+        /**
+         * How the total number of entities of a paginated listing is computed.
+         */
+        public enum Strategy {
+            /** A count query on every request. */
+            EXACT,
+            /** A count query, cached per criteria. */
+            CACHED,
+            /** The row estimate of the table for unfiltered listings, the cached count otherwise. */
+            ESTIMATED
+        }
+
+        private Strategy strategy = Strategy.EXACT;
+
+        private long timeToLiveSeconds = 30;
+
+        private long maxEntries = 1000;
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        public void setStrategy(Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public long getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class HibernateStatistics {
+
+        private boolean requestCountersEnabled = true;
+
+        private int requestLogThreshold = 20;
+
+        public boolean isRequestCountersEnabled() {
+            return requestCountersEnabled;
+        }
+
+        public void setRequestCountersEnabled(boolean requestCountersEnabled) {
+            this.requestCountersEnabled = requestCountersEnabled;
+        }
+
+        public int getRequestLogThreshold() {
+            return requestLogThreshold;
+        }
+
+        public void setRequestLogThreshold(int requestLogThreshold) {
+            this.requestLogThreshold = requestLogThreshold;
+        }
+    }
+
+    /**
+     * The worker delivering the entries of an outbox table.
+     */
+    public static class Outbox {
+
+        /**
+         * Whether the worker runs on this instance, the entries being queued either way.
+         */
+        private boolean enabled = true;
+
+        private long pollIntervalMs;
+
+        private int batchSize;
+
+        private int maxAttempts;
+
+        private long backoffSeconds;
+
+        private long maxBackoffSeconds = 3600;
+
+        private long claimSeconds = 300;
+
+        public Outbox(long pollIntervalMs, int batchSize, int maxAttempts, long backoffSeconds) {
+            this.pollIntervalMs = pollIntervalMs;
+            this.batchSize = batchSize;
+            this.maxAttempts = maxAttempts;
+            this.backoffSeconds = backoffSeconds;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getPollIntervalMs() {
+            return pollIntervalMs;
+        }
+
+        public void setPollIntervalMs(long pollIntervalMs) {
+            this.pollIntervalMs = pollIntervalMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getBackoffSeconds() {
+            return backoffSeconds;
+        }
+
+        public void setBackoffSeconds(long backoffSeconds) {
+            this.backoffSeconds = backoffSeconds;
+        }
+
+        public long getMaxBackoffSeconds() {
+            return maxBackoffSeconds;
+        }
+
+        public void setMaxBackoffSeconds(long maxBackoffSeconds) {
+            this.maxBackoffSeconds = maxBackoffSeconds;
+        }
+
+        public long getClaimSeconds() {
+            return claimSeconds;
+        }
+
+        public void setClaimSeconds(long claimSeconds) {
+            this.claimSeconds = claimSeconds;
+        }
+    }
+
+    public static class AuditEvents {
+
+        /**
+         * What is done with an audit event added while the buffer is full.
+         */
+        public enum OverflowPolicy {
+            /** The caller writes the event itself, slowing down until the database keeps up. */
+            CALLER_RUNS,
+            /** The event is dropped. */
+            DROP_NEWEST,
+            /** The oldest buffered event is dropped to make room for the event. */
+            DROP_OLDEST
+        }
+
+        private boolean asyncEnabled = true;
+
+        private int bufferSize = 10000;
+
+        private int batchSize = 100;
+
+        private long flushIntervalMs = 1000;
+
+        private OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+
+        public boolean isAsyncEnabled() {
+            return asyncEnabled;
+        }
+
+        public void setAsyncEnabled(boolean asyncEnabled) {
+            this.asyncEnabled = asyncEnabled;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+    }
+
+    public static class Purge {
+
+        private int chunkSize = 1000;
+
+        private long timeBudgetSeconds = 60;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public long getTimeBudgetSeconds() {
+            return timeBudgetSeconds;
+        }
+
+        public void setTimeBudgetSeconds(long timeBudgetSeconds) {
+            this.timeBudgetSeconds = timeBudgetSeconds;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Threads hashing the passwords, 0 for one per available processor.
+         */
+        private int threads = 0;
+
+        private int queueCapacity = 100;
+
+        private long retryAfterSeconds = 1;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(long retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        private long idleSeconds = 300;
+
+        private long evictionIntervalMs = 60000;
+
+        /**
+         * The addresses or networks, such as {@code 10.0.0.0/8}, of the proxies whose {@code X-Forwarded-For} header is
+         * trusted.
+         */
+        private List<String> trustedProxies = new ArrayList<>();
+
+        /**
+         * The groups of endpoints, the first one with a path prefix matching the request applying.
+         */
+        private List<Group> groups = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getIdleSeconds() {
+            return idleSeconds;
+        }
+
+        public void setIdleSeconds(long idleSeconds) {
+            this.idleSeconds = idleSeconds;
+        }
+
+        public long getEvictionIntervalMs() {
+            return evictionIntervalMs;
+        }
+
+        public void setEvictionIntervalMs(long evictionIntervalMs) {
+            this.evictionIntervalMs = evictionIntervalMs;
+        }
+
+        public List<String> getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(List<String> trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+
+        public List<Group> getGroups() {
+            return groups;
+        }
+
+        public void setGroups(List<Group> groups) {
+            this.groups = groups;
+        }
+
+        public static class Group {
+
+            private String name;
+
+            private List<String> pathPrefixes = new ArrayList<>();
+
+            private int capacity;
+
+            private double refillPerSecond;
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public List<String> getPathPrefixes() {
+                return pathPrefixes;
+            }
+
+            public void setPathPrefixes(List<String> pathPrefixes) {
+                this.pathPrefixes = pathPrefixes;
+            }
+
+            public int getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+
+            public double getRefillPerSecond() {
+                return refillPerSecond;
+            }
+
+            public void setRefillPerSecond(double refillPerSecond) {
+                this.refillPerSecond = refillPerSecond;
+            }
+        }
+    }
+
+    public static class ConcurrencyLimit {
+
+        private boolean enabled = true;
+
+        private int initialLimit = 50;
+
+        private int minLimit = 10;
+
+        private int maxLimit = 500;
+
+        /**
+         * Growth of the latency over its long-term average tolerated before the limit shrinks.
+         */
+        private double rttTolerance = 1.5;
+
+        private double smoothing = 0.2;
+
+        private long windowMs = 1000;
+
+        private int minWindowSamples = 10;
+
+        /**
+         * Share of the limit the low priority requests may use.
+         */
+        private double lowPriorityShare = 0.5;
+
+        /**
+         * Share of the limit the normal priority requests may use.
+         */
+        private double normalPriorityShare = 0.9;
+
+        private List<String> criticalWritePrefixes = new ArrayList<>();
+
+        private List<String> lowPriorityPrefixes = new ArrayList<>();
+
+        private List<String> lowPrioritySuffixes = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getRttTolerance() {
+            return rttTolerance;
+        }
+
+        public void setRttTolerance(double rttTolerance) {
+            this.rttTolerance = rttTolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public long getWindowMs() {
+            return windowMs;
+        }
+
+        public void setWindowMs(long windowMs) {
+            this.windowMs = windowMs;
+        }
+
+        public int getMinWindowSamples() {
+            return minWindowSamples;
+        }
+
+        public void setMinWindowSamples(int minWindowSamples) {
+            this.minWindowSamples = minWindowSamples;
+        }
+
+        public double getLowPriorityShare() {
+            return lowPriorityShare;
+        }
+
+        public void setLowPriorityShare(double lowPriorityShare) {
+            this.lowPriorityShare = lowPriorityShare;
+        }
+
+        public double getNormalPriorityShare() {
+            return normalPriorityShare;
+        }
+
+        public void setNormalPriorityShare(double normalPriorityShare) {
+            this.normalPriorityShare = normalPriorityShare;
+        }
+
+        public List<String> getCriticalWritePrefixes() {
+            return criticalWritePrefixes;
+        }
+
+        public void setCriticalWritePrefixes(List<String> criticalWritePrefixes) {
+            this.criticalWritePrefixes = criticalWritePrefixes;
+        }
+
+        public List<String> getLowPriorityPrefixes() {
+            return lowPriorityPrefixes;
+        }
+
+        public void setLowPriorityPrefixes(List<String> lowPriorityPrefixes) {
+            this.lowPriorityPrefixes = lowPriorityPrefixes;
+        }
+
+        public List<String> getLowPrioritySuffixes() {
+            return lowPrioritySuffixes;
+        }
+
+        public void setLowPrioritySuffixes(List<String> lowPrioritySuffixes) {
+            this.lowPrioritySuffixes = lowPrioritySuffixes;
+        }
+    }
+
+    public static class ReadReplicas {
+
+        private boolean enabled = false;
+
+        /**
+         * Replication lag beyond which a replica is not read from.
+         */
+        private long maxLagSeconds = 5;
+
+        private long lagCheckIntervalMs = 1000;
+
+        /**
+         * Query run on the replicas to measure their replication lag, in seconds, read from the lag column.
+         */
+        private String lagQuery = "SHOW SLAVE STATUS";
+
+        private String lagColumn = "Seconds_Behind_Master";
+
+        /**
+         * Time during which the read-only transactions of a user who has just written are routed to the primary: it
+         * should exceed the lag tolerance plus the lag check interval.
+         */
+        private long stickinessSeconds = 10;
+
+        private List<Replica> replicas = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxLagSeconds() {
+            return maxLagSeconds;
+        }
+
+        public void setMaxLagSeconds(long maxLagSeconds) {
+            this.maxLagSeconds = maxLagSeconds;
+        }
+
+        public long getLagCheckIntervalMs() {
+            return lagCheckIntervalMs;
+        }
+
+        public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+            this.lagCheckIntervalMs = lagCheckIntervalMs;
+        }
+
+        public String getLagQuery() {
+            return lagQuery;
+        }
+
+        public void setLagQuery(String lagQuery) {
+            this.lagQuery = lagQuery;
+        }
+
+        public String getLagColumn() {
+            return lagColumn;
+        }
+
+        public void setLagColumn(String lagColumn) {
+            this.lagColumn = lagColumn;
+        }
+
+        public long getStickinessSeconds() {
+            return stickinessSeconds;
+        }
+
+        public void setStickinessSeconds(long stickinessSeconds) {
+            this.stickinessSeconds = stickinessSeconds;
+        }
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<Replica> replicas) {
+            this.replicas = replicas;
+        }
+
+        public static class Replica {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+    }
 }
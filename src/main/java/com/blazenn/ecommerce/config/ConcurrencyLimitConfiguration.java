@@ -0,0 +1,51 @@
+package com.blazenn.ecommerce.config;
+
+import com.blazenn.ecommerce.management.ConcurrencyLimitFilter;
+import com.blazenn.ecommerce.management.ConcurrencyLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration of the adaptive concurrency limit of the API requests.
+ * <p>
+ * The filter runs before the security filters, so that a rejected request costs neither a JWT verification nor a
+ * database connection.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration {
+
+    @Bean
+    public ConcurrencyLimiter concurrencyLimiter(ApplicationProperties applicationProperties) {
+        ApplicationProperties.ConcurrencyLimit properties = applicationProperties.getConcurrencyLimit();
+        return new ConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+            properties.getRttTolerance(), properties.getSmoothing(), TimeUnit.MILLISECONDS.toNanos(properties.getWindowMs()),
+            properties.getMinWindowSamples(), properties.getLowPriorityShare(), properties.getNormalPriorityShare());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimiter concurrencyLimiter,
+                                                                                 ApplicationProperties applicationProperties,
+                                                                                 MeterRegistry meterRegistry) {
+        ApplicationProperties.ConcurrencyLimit properties = applicationProperties.getConcurrencyLimit();
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+            new ConcurrencyLimitFilter(concurrencyLimiter, trim(properties.getCriticalWritePrefixes()),
+                trim(properties.getLowPriorityPrefixes()), trim(properties.getLowPrioritySuffixes()), meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    private static List<String> trim(List<String> values) {
+        return values.stream().map(String::trim).collect(Collectors.toList());
+    }
+}
@@ -1,5 +1,7 @@
 package com.blazenn.ecommerce.config;
 
+import com.blazenn.ecommerce.repository.ExtendedJpaRepository;
+
 import io.github.jhipster.config.JHipsterConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,7 +14,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 
 @Configuration
-@EnableJpaRepositories("com.blazenn.ecommerce.repository")
+@EnableJpaRepositories(value = "com.blazenn.ecommerce.repository", repositoryBaseClass = ExtendedJpaRepository.class)
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
 public class DatabaseConfiguration {
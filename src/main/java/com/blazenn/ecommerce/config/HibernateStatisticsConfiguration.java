@@ -0,0 +1,53 @@
+package com.blazenn.ecommerce.config;
+
+import com.blazenn.ecommerce.management.HibernateStatisticsEndpoint;
+import com.blazenn.ecommerce.management.RequestStatistics;
+import com.blazenn.ecommerce.management.RequestStatisticsFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Configuration of the Hibernate statistics: the management endpoint, and the counters of the SQL statements and
+ * entity loads of each request.
+ * <p>
+ * The statistics of the session factory are also bound to Micrometer, as the {@code hibernate.*} metrics, by the Spring
+ * Boot metrics auto-configuration.
+ */
+@Configuration
+public class HibernateStatisticsConfiguration {
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public HibernateStatisticsEndpoint hibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        return new HibernateStatisticsEndpoint(entityManagerFactory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.hibernate-statistics", name = "request-counters-enabled", havingValue = "true", matchIfMissing = true)
+    public HibernatePropertiesCustomizer requestStatisticsHibernatePropertiesCustomizer() {
+        RequestStatistics requestStatistics = new RequestStatistics();
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, requestStatistics);
+            hibernateProperties.put(AvailableSettings.INTERCEPTOR, requestStatistics);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.hibernate-statistics", name = "request-counters-enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RequestStatisticsFilter> requestStatisticsFilter(ApplicationProperties applicationProperties,
+                                                                                   MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestStatisticsFilter> registration = new FilterRegistrationBean<>(
+            new RequestStatisticsFilter(meterRegistry, applicationProperties.getHibernateStatistics().getRequestLogThreshold()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
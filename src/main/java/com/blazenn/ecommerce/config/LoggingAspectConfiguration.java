@@ -1,8 +1,10 @@
 package com.blazenn.ecommerce.config;
 
 import com.blazenn.ecommerce.aop.logging.LoggingAspect;
+import com.blazenn.ecommerce.aop.timing.MethodTimingAspect;
 
 import io.github.jhipster.config.JHipsterConstants;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
@@ -16,4 +18,9 @@ public class LoggingAspectConfiguration {
     public LoggingAspect loggingAspect(Environment env) {
         return new LoggingAspect(env);
     }
+
+    @Bean
+    public MethodTimingAspect methodTimingAspect(MeterRegistry meterRegistry) {
+        return new MethodTimingAspect(meterRegistry);
+    }
 }
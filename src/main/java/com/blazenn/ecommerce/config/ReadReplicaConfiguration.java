@@ -0,0 +1,80 @@
+package com.blazenn.ecommerce.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the read replicas, to which the read-only transactions are routed.
+ * <p>
+ * The primary pool is configured as usual with the {@code spring.datasource} properties, and the replica pools copy
+ * its settings, except for their URL and credentials; Liquibase always runs on the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    @LiquibaseDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ApplicationProperties applicationProperties,
+                                                             MeterRegistry meterRegistry) {
+        ApplicationProperties.ReadReplicas properties = applicationProperties.getReadReplicas();
+        List<DataSource> replicas = new ArrayList<>();
+        for (ApplicationProperties.ReadReplicas.Replica replica : properties.getReplicas()) {
+            replicas.add(replicaDataSource(primaryDataSource, replica, replicas.size() + 1, meterRegistry));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties, meterRegistry);
+    }
+
+    /**
+     * The data source of the application, resolving the routing only when the first statement of a transaction runs.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static HikariDataSource replicaDataSource(HikariDataSource primary, ApplicationProperties.ReadReplicas.Replica replica,
+                                                      int index, MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        config.setJdbcUrl(replica.getUrl());
+        if (replica.getUsername() != null) {
+            config.setUsername(replica.getUsername());
+            config.setPassword(replica.getPassword());
+        }
+        config.setPoolName((primary.getPoolName() != null ? primary.getPoolName() + "-" : "") + "replica-" + index);
+        config.setReadOnly(true);
+        config.setMetricRegistry(null);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        // a replica down at startup is only left out of the routing, until it is back
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
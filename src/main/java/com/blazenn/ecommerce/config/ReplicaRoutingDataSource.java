@@ -0,0 +1,211 @@
+package com.blazenn.ecommerce.config;
+
+import com.blazenn.ecommerce.security.SecurityUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link DataSource} routing the read-only transactions to the read replicas, and everything else to the primary.
+ * <p>
+ * The replicas are read from only while their replication lag, checked every {@code lag-check-interval-ms}, stays
+ * within {@code max-lag-seconds}; when none does, the read-only transactions fall back to the primary. After a
+ * transaction of a user commits a write, the read-only transactions of this user are routed to the primary for
+ * {@code stickiness-seconds}, so that they read their own writes.
+ * <p>
+ * The routing key is resolved when the transaction gets its connection: it must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so that the connection is only fetched
+ * once the transaction is flagged read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final long maxLagSeconds;
+
+    private final long stickinessNanos;
+
+    private final String lagQuery;
+
+    private final String lagColumn;
+
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private volatile Replica[] availableReplicas = new Replica[0];
+
+    private final Counter replicaReads;
+
+    private final Counter stickyReads;
+
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    ApplicationProperties.ReadReplicas properties, MeterRegistry meterRegistry) {
+        this.maxLagSeconds = properties.getMaxLagSeconds();
+        this.stickinessNanos = TimeUnit.SECONDS.toNanos(properties.getStickinessSeconds());
+        this.lagQuery = properties.getLagQuery();
+        this.lagColumn = properties.getLagColumn();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + (i + 1), replicaDataSources.get(i));
+            replicas.add(replica);
+            targets.put(replica.name, replica.dataSource);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                .description("Replication lag of the read replica, in seconds, or NaN when it is not available")
+                .tag("replica", replica.name)
+                .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        replicaReads = readsCounter("replica", meterRegistry);
+        stickyReads = readsCounter("sticky", meterRegistry);
+        fallbackReads = readsCounter("fallback", meterRegistry);
+    }
+
+    private static Counter readsCounter(String route, MeterRegistry meterRegistry) {
+        return Counter.builder("datasource.reads")
+            .description("Read-only transactions, by route: to a replica, or to the primary because the user has just "
+                + "written or because no replica is within the lag tolerance")
+            .tag("route", route)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return determineCurrentLookupKey(System.nanoTime());
+    }
+
+    Object determineCurrentLookupKey(long now) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        Optional<String> user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user.isPresent() && TransactionSynchronizationManager.isSynchronizationActive()) {
+                String login = user.get();
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCommit() {
+                        stickyUntil.put(login, System.nanoTime() + stickinessNanos);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (user.isPresent()) {
+            Long until = stickyUntil.get(user.get());
+            if (until != null && now - until < 0) {
+                stickyReads.increment();
+                return PRIMARY;
+            }
+        }
+        Replica[] available = availableReplicas;
+        if (available.length == 0) {
+            fallbackReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return available[Math.floorMod(nextReplica.getAndIncrement(), available.length)].name;
+    }
+
+    private static Optional<String> currentUser() {
+        return SecurityUtils.isAuthenticated() ? SecurityUtils.getCurrentUserLogin() : Optional.empty();
+    }
+
+    /**
+     * Measure the replication lag of the replicas, to only read from those within the lag tolerance, and forget the
+     * users whose writes have had time to replicate.
+     */
+    @Scheduled(fixedDelayString = "${application.read-replicas.lag-check-interval-ms:1000}")
+    public void checkReplicas() {
+        List<Replica> available = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            replica.lagSeconds = measureLag(replica);
+            if (replica.lagSeconds <= maxLagSeconds) {
+                available.add(replica);
+            }
+        }
+        if (available.size() != availableReplicas.length) {
+            log.info("{} of {} read replicas within {}s of lag", available.size(), replicas.size(), maxLagSeconds);
+        }
+        availableReplicas = available.toArray(new Replica[0]);
+
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> now - until >= 0);
+    }
+
+    private double measureLag(Replica replica) {
+        try {
+            Number lag = new JdbcTemplate(replica.dataSource).query(lagQuery,
+                rs -> rs.next() ? (Number) rs.getObject(lagColumn) : null);
+            if (lag == null) {
+                log.warn("Replication of {} is not running", replica.name);
+                return Double.NaN;
+            }
+            return lag.doubleValue();
+        } catch (Exception e) {
+            log.warn("Could not check the replication lag of {}: {}", replica.name, e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable) {
+                ((Closeable) replica.dataSource).close();
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
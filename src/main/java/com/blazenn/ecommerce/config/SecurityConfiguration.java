@@ -3,6 +3,7 @@ package com.blazenn.ecommerce.config;
 import com.blazenn.ecommerce.security.*;
 import com.blazenn.ecommerce.security.jwt.*;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
@@ -26,18 +27,32 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     private final TokenProvider tokenProvider;
 
+    private final JWTAuthenticationCache authenticationCache;
+
+    private final RateLimiter rateLimiter;
+
+    private final ApplicationProperties applicationProperties;
+
     private final CorsFilter corsFilter;
     private final SecurityProblemSupport problemSupport;
 
-    public SecurityConfiguration(TokenProvider tokenProvider, CorsFilter corsFilter, SecurityProblemSupport problemSupport) {
+    public SecurityConfiguration(TokenProvider tokenProvider, JWTAuthenticationCache authenticationCache, RateLimiter rateLimiter,
+                                 ApplicationProperties applicationProperties, CorsFilter corsFilter,
+                                 SecurityProblemSupport problemSupport) {
         this.tokenProvider = tokenProvider;
+        this.authenticationCache = authenticationCache;
+        this.rateLimiter = rateLimiter;
+        this.applicationProperties = applicationProperties;
         this.corsFilter = corsFilter;
         this.problemSupport = problemSupport;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.PasswordHashing passwordHashing = applicationProperties.getPasswordHashing();
+        int threads = passwordHashing.getThreads() > 0 ? passwordHashing.getThreads() : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, passwordHashing.getQueueCapacity(),
+            passwordHashing.getRetryAfterSeconds(), meterRegistry);
     }
 
     @Override
@@ -55,6 +70,7 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
             .csrf()
             .disable()
             .addFilterBefore(corsFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(new RateLimitFilter(rateLimiter, applicationProperties.getRateLimit().getTrustedProxies()), UsernamePasswordAuthenticationFilter.class)
             .exceptionHandling()
                 .authenticationEntryPoint(problemSupport)
                 .accessDeniedHandler(problemSupport)
@@ -91,6 +107,6 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
     }
 
     private JWTConfigurer securityConfigurerAdapter() {
-        return new JWTConfigurer(tokenProvider);
+        return new JWTConfigurer(tokenProvider, authenticationCache);
     }
 }
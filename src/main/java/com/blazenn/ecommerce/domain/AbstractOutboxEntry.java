@@ -0,0 +1,78 @@
+package com.blazenn.ecommerce.domain;
+
+import com.blazenn.ecommerce.domain.enumeration.OutboxStatus;
+
+import javax.persistence.Column;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.MappedSuperclass;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Base abstract class for the entries of an outbox table, which hold the state of their delivery: pending until they
+ * are delivered and deleted, or failed after too many attempts.
+ */
+@MappedSuperclass
+public abstract class AbstractOutboxEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 10, nullable = false)
+    private OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @Column(name = "next_attempt_date", nullable = false)
+    private Instant nextAttemptDate;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    public abstract Long getId();
+
+    public OutboxStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OutboxStatus status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getNextAttemptDate() {
+        return nextAttemptDate;
+    }
+
+    public void setNextAttemptDate(Instant nextAttemptDate) {
+        this.nextAttemptDate = nextAttemptDate;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -1,6 +1,9 @@
 package com.blazenn.ecommerce.domain;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.*;
 
@@ -15,6 +18,7 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "category")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Category implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -31,6 +35,7 @@ public class Category implements Serializable {
     private String description;
 
     @OneToMany(mappedBy = "category")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnore
     private Set<Product> products = new HashSet<>();
 
@@ -0,0 +1,107 @@
+package com.blazenn.ecommerce.domain;
+
+
+import javax.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * The totals of an {@link Order}, computed from its order items.
+ */
+@Entity
+@Table(name = "order_summary")
+public class OrderSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "order_date", nullable = false)
+    private Instant orderDate;
+
+    @Column(name = "item_count", nullable = false)
+    private Long itemCount;
+
+    @Column(name = "total_amount", precision = 21, scale = 2, nullable = false)
+    private BigDecimal totalAmount;
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public OrderSummary orderId(Long orderId) {
+        this.orderId = orderId;
+        return this;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Instant getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(Instant orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public Long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(Long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderSummary)) {
+            return false;
+        }
+        return orderId != null && orderId.equals(((OrderSummary) o).orderId);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderSummary{" +
+            "orderId=" + getOrderId() +
+            ", userId=" + getUserId() +
+            ", orderDate='" + getOrderDate() + "'" +
+            ", itemCount=" + getItemCount() +
+            ", totalAmount=" + getTotalAmount() +
+            "}";
+    }
+}
@@ -0,0 +1,86 @@
+package com.blazenn.ecommerce.domain;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+
+/**
+ * A domain event written in the transaction of the change it describes, until it is relayed to the subscribers.
+ */
+@Entity
+@Table(name = "event_outbox")
+public class OutboxEvent extends AbstractOutboxEntry {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "outboxEventIdGenerator")
+    @GenericGenerator(name = "outboxEventIdGenerator", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = "table_name", value = "id_generator"),
+        @Parameter(name = "segment_value", value = "event_outbox"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
+    private Long id;
+
+    @Column(name = "event_type", length = 50, nullable = false)
+    private String eventType;
+
+    @Column(name = "payload", length = 2000, nullable = false)
+    private String payload;
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OutboxEvent)) {
+            return false;
+        }
+        return id != null && id.equals(((OutboxEvent) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+            "id=" + getId() +
+            ", eventType='" + getEventType() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", attempts=" + getAttempts() +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", nextAttemptDate='" + getNextAttemptDate() + "'" +
+            "}";
+    }
+}
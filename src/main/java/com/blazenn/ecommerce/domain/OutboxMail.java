@@ -0,0 +1,90 @@
+package com.blazenn.ecommerce.domain;
+
+import javax.persistence.*;
+
+/**
+ * A mail queued for delivery to a {@link User}, rendered from a template when it is sent.
+ */
+@Entity
+@Table(name = "mail_outbox")
+public class OutboxMail extends AbstractOutboxEntry {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "template_name", length = 100, nullable = false)
+    private String templateName;
+
+    @Column(name = "title_key", length = 100, nullable = false)
+    private String titleKey;
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    public void setTemplateName(String templateName) {
+        this.templateName = templateName;
+    }
+
+    public String getTitleKey() {
+        return titleKey;
+    }
+
+    public void setTitleKey(String titleKey) {
+        this.titleKey = titleKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OutboxMail)) {
+            return false;
+        }
+        return id != null && id.equals(((OutboxMail) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OutboxMail{" +
+            "id=" + getId() +
+            ", userId=" + getUserId() +
+            ", templateName='" + getTemplateName() + "'" +
+            ", titleKey='" + getTitleKey() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", attempts=" + getAttempts() +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", nextAttemptDate='" + getNextAttemptDate() + "'" +
+            "}";
+    }
+}
@@ -2,6 +2,9 @@ package com.blazenn.ecommerce.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.*;
 
@@ -15,6 +18,7 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "product")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Product implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -0,0 +1,95 @@
+package com.blazenn.ecommerce.domain;
+
+
+import javax.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * The totals of the orders of a {@link User}, maintained from the {@link OrderSummary} of each order.
+ */
+@Entity
+@Table(name = "user_order_summary")
+public class UserOrderSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+
+    @Column(name = "total_spent", precision = 21, scale = 2, nullable = false)
+    private BigDecimal totalSpent = BigDecimal.ZERO;
+
+    @Column(name = "last_order_date")
+    private Instant lastOrderDate;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public UserOrderSummary userId(Long userId) {
+        this.userId = userId;
+        return this;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getTotalSpent() {
+        return totalSpent;
+    }
+
+    public void setTotalSpent(BigDecimal totalSpent) {
+        this.totalSpent = totalSpent;
+    }
+
+    public Instant getLastOrderDate() {
+        return lastOrderDate;
+    }
+
+    public void setLastOrderDate(Instant lastOrderDate) {
+        this.lastOrderDate = lastOrderDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserOrderSummary)) {
+            return false;
+        }
+        return userId != null && userId.equals(((UserOrderSummary) o).userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserOrderSummary{" +
+            "userId=" + getUserId() +
+            ", orderCount=" + getOrderCount() +
+            ", totalSpent=" + getTotalSpent() +
+            ", lastOrderDate='" + getLastOrderDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,8 @@
+package com.blazenn.ecommerce.domain.enumeration;
+
+/**
+ * The OutboxStatus enumeration.
+ */
+public enum OutboxStatus {
+    PENDING, FAILED
+}
@@ -0,0 +1,120 @@
+package com.blazenn.ecommerce.management;
+
+import com.blazenn.ecommerce.management.ConcurrencyLimiter.Priority;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Filter admitting the requests through a {@link ConcurrencyLimiter}, and answering the others with a
+ * {@code 503 Service Unavailable}.
+ * <p>
+ * The writes to a path starting with one of the critical prefixes, such as the checkout, are critical; the requests to
+ * a path starting with one of the low priority prefixes or ending with one of the low priority suffixes, such as the
+ * exports and the counts, have a low priority; the other requests have a normal priority. Only the latencies of the
+ * normal and critical requests adapt the limit.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ConcurrencyLimiter limiter;
+
+    private final String[] criticalWritePrefixes;
+
+    private final String[] lowPriorityPrefixes;
+
+    private final String[] lowPrioritySuffixes;
+
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiter limiter, List<String> criticalWritePrefixes, List<String> lowPriorityPrefixes,
+                                  List<String> lowPrioritySuffixes, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.criticalWritePrefixes = criticalWritePrefixes.toArray(new String[0]);
+        this.lowPriorityPrefixes = lowPriorityPrefixes.toArray(new String[0]);
+        this.lowPrioritySuffixes = lowPrioritySuffixes.toArray(new String[0]);
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("concurrency.limit.rejected")
+                .description("Requests rejected because the requests in flight reached the limit of their priority")
+                .tag("priority", priority.name().toLowerCase(Locale.ENGLISH))
+                .register(meterRegistry));
+        }
+        Gauge.builder("concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+            .description("Adaptive limit of the API requests in flight")
+            .register(meterRegistry);
+        Gauge.builder("concurrency.limit.inflight", limiter, ConcurrencyLimiter::getInFlight)
+            .description("API requests in flight")
+            .register(meterRegistry);
+        Gauge.builder("concurrency.limit.rtt", limiter, ConcurrencyLimiter::getLongRttMillis)
+            .description("Long-term average latency of the API requests, in milliseconds")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        Priority priority = priorityOf(request);
+        if (!limiter.tryAcquire(priority)) {
+            rejected.get(priority).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(priority, System.nanoTime() - start);
+        }
+    }
+
+    Priority priorityOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (isWrite(request.getMethod()) && startsWithAny(path, criticalWritePrefixes)) {
+            return Priority.CRITICAL;
+        }
+        if (startsWithAny(path, lowPriorityPrefixes) || endsWithAny(path, lowPrioritySuffixes)) {
+            return Priority.LOW;
+        }
+        return Priority.NORMAL;
+    }
+
+    private static boolean isWrite(String method) {
+        return HttpMethod.POST.matches(method) || HttpMethod.PUT.matches(method) || HttpMethod.PATCH.matches(method)
+            || HttpMethod.DELETE.matches(method);
+    }
+
+    private static boolean startsWithAny(String path, String[] prefixes) {
+        for (String prefix : prefixes) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean endsWithAny(String path, String[] suffixes) {
+        for (String suffix : suffixes) {
+            if (path.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,183 @@
+package com.blazenn.ecommerce.management;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive limit of the requests in flight, following the gradient of their latency.
+ * <p>
+ * The latencies are averaged over windows of {@code windowNanos}, and compared to their long-term average: while the
+ * latency of a window stays within {@code rttTolerance} times the long-term one, the limit grows by its square root
+ * per window; when the latency grows beyond, for instance because the requests wait for database connections, the
+ * limit shrinks proportionally, down to {@code minLimit}. The limit does not grow while less than half of it is used.
+ * The latencies of the low priority requests, such as the exports, are not sampled: they are long by nature, and a
+ * single one would otherwise be taken for a slowdown and collapse the limit.
+ * <p>
+ * Each {@link Priority} may only use a share of the limit, so that when the requests pile up, the low priority
+ * requests are rejected first and the critical ones last.
+ */
+public class ConcurrencyLimiter {
+
+    /**
+     * The priority of a request.
+     */
+    public enum Priority {
+        LOW, NORMAL, CRITICAL
+    }
+
+    /**
+     * Weight of a window in the long-term average latency.
+     */
+    private static final double LONG_RTT_WEIGHT = 0.05;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double rttTolerance;
+
+    private final double smoothing;
+
+    private final long windowNanos;
+
+    private final int minWindowSamples;
+
+    private final double[] shares;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+
+    private final LongAdder windowRttSum = new LongAdder();
+
+    private final LongAdder windowSamples = new LongAdder();
+
+    private volatile long windowEnd;
+
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+
+    // guarded by this
+    private double longRtt;
+
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance, double smoothing,
+                              long windowNanos, int minWindowSamples, double lowPriorityShare, double normalPriorityShare) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = windowNanos;
+        this.minWindowSamples = minWindowSamples;
+        this.shares = new double[] {lowPriorityShare, normalPriorityShare, 1.0};
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+        this.windowEnd = System.nanoTime() + windowNanos;
+    }
+
+    /**
+     * Admit a request, if the requests in flight leave room for its priority.
+     *
+     * @param priority the priority of the request.
+     * @return {@code true} if the request is admitted, in which case {@link #release(Priority, long)} must be called
+     * once it completes.
+     */
+    public boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * shares[priority.ordinal()]));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                if (current + 1 > windowMaxInFlight.get()) {
+                    windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release an admitted request, and sample its latency unless it has a low priority.
+     *
+     * @param priority the priority of the request.
+     * @param rttNanos the latency of the request.
+     */
+    public void release(Priority priority, long rttNanos) {
+        release(priority, rttNanos, System.nanoTime());
+    }
+
+    void release(Priority priority, long rttNanos, long now) {
+        inFlight.decrementAndGet();
+        if (priority == Priority.LOW) {
+            return;
+        }
+        windowRttSum.add(rttNanos);
+        windowSamples.increment();
+        if (now - windowEnd >= 0) {
+            updateLimit(now);
+        }
+    }
+
+    private synchronized void updateLimit(long now) {
+        if (now - windowEnd < 0) {
+            return;
+        }
+        long samples = windowSamples.sum();
+        if (samples < minWindowSamples) {
+            return;
+        }
+        double shortRtt = (double) windowRttSum.sumThenReset() / windowSamples.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        windowEnd = now + windowNanos;
+
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt = longRtt * (1 - LONG_RTT_WEIGHT) + shortRtt * LONG_RTT_WEIGHT;
+        }
+        if (longRtt / shortRtt > 2) {
+            // the latency went down: forget the slow period faster, so that the limit grows back
+            longRtt *= 0.95;
+        }
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Get the current limit of the requests in flight.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Get the number of requests in flight.
+     *
+     * @return the requests in flight.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Get the long-term average latency, against which the latency of each window is compared.
+     *
+     * @return the latency, in milliseconds.
+     */
+    public synchronized double getLongRttMillis() {
+        return longRtt / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,134 @@
+package com.blazenn.ecommerce.management;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Management endpoint exposing the Hibernate statistics of the session factory: the statements, the entity and
+ * collection loads and fetches, the second-level cache regions and the slowest queries.
+ * <p>
+ * The statistics are collected when {@code hibernate.generate_statistics} is enabled. They can be reset with a
+ * {@code DELETE}, to measure a given workload.
+ */
+@Endpoint(id = "hibernatestatistics")
+public class HibernateStatisticsEndpoint {
+
+    static final int SLOWEST_QUERIES = 10;
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("startTime", statistics.getStartTime());
+        result.put("sessions", sessions());
+        result.put("statements", statements());
+        result.put("entities", entities());
+        result.put("collections", collections());
+        result.put("secondLevelCache", secondLevelCache());
+        result.put("slowestQueries", slowestQueries());
+        return result;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        statistics.clear();
+    }
+
+    private Map<String, Object> sessions() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("opened", statistics.getSessionOpenCount());
+        result.put("closed", statistics.getSessionCloseCount());
+        result.put("transactions", statistics.getTransactionCount());
+        result.put("flushes", statistics.getFlushCount());
+        result.put("optimisticFailures", statistics.getOptimisticFailureCount());
+        return result;
+    }
+
+    private Map<String, Object> statements() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("prepared", statistics.getPrepareStatementCount());
+        result.put("closed", statistics.getCloseStatementCount());
+        result.put("queriesExecuted", statistics.getQueryExecutionCount());
+        result.put("queryMaxTimeMillis", statistics.getQueryExecutionMaxTime());
+        result.put("queryMaxTimeQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        return result;
+    }
+
+    private Map<String, Object> entities() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("loaded", statistics.getEntityLoadCount());
+        result.put("fetched", statistics.getEntityFetchCount());
+        result.put("inserted", statistics.getEntityInsertCount());
+        result.put("updated", statistics.getEntityUpdateCount());
+        result.put("deleted", statistics.getEntityDeleteCount());
+        return result;
+    }
+
+    private Map<String, Object> collections() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("loaded", statistics.getCollectionLoadCount());
+        result.put("fetched", statistics.getCollectionFetchCount());
+        result.put("updated", statistics.getCollectionUpdateCount());
+        result.put("recreated", statistics.getCollectionRecreateCount());
+        result.put("removed", statistics.getCollectionRemoveCount());
+        return result;
+    }
+
+    private Map<String, Object> secondLevelCache() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hits", statistics.getSecondLevelCacheHitCount());
+        result.put("misses", statistics.getSecondLevelCacheMissCount());
+        result.put("puts", statistics.getSecondLevelCachePutCount());
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> regionStatistics = new LinkedHashMap<>();
+            regionStatistics.put("hits", region.getHitCount());
+            regionStatistics.put("misses", region.getMissCount());
+            regionStatistics.put("puts", region.getPutCount());
+            regions.put(regionName, regionStatistics);
+        }
+        result.put("regions", regions);
+        return result;
+    }
+
+    private List<Map<String, Object>> slowestQueries() {
+        return Arrays.stream(statistics.getQueries())
+            .map(query -> toMap(query, statistics.getQueryStatistics(query)))
+            .sorted(Comparator.comparing((Map<String, Object> query) -> (Long) query.get("maxTimeMillis")).reversed())
+            .limit(SLOWEST_QUERIES)
+            .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> toMap(String query, QueryStatistics queryStatistics) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("query", query);
+        result.put("executions", queryStatistics.getExecutionCount());
+        result.put("rows", queryStatistics.getExecutionRowCount());
+        result.put("averageTimeMillis", queryStatistics.getExecutionAvgTime());
+        result.put("maxTimeMillis", queryStatistics.getExecutionMaxTime());
+        return result;
+    }
+}
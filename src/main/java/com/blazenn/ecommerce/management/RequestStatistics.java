@@ -0,0 +1,74 @@
+package com.blazenn.ecommerce.management;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * Hibernate statement inspector and interceptor counting the SQL statements and the entity loads of the current
+ * thread, between {@link #start()} and {@link #stop()}.
+ * <p>
+ * Outside of a counted unit of work, such as an HTTP request, it only costs a thread-local lookup.
+ */
+public class RequestStatistics extends EmptyInterceptor implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<Counters> COUNTERS = new ThreadLocal<>();
+
+    /**
+     * Start counting on the current thread.
+     */
+    public static void start() {
+        COUNTERS.set(new Counters());
+    }
+
+    /**
+     * Stop counting on the current thread.
+     *
+     * @return the counters since {@link #start()}, or {@code null} if the counting was not started.
+     */
+    public static Counters stop() {
+        Counters counters = COUNTERS.get();
+        COUNTERS.remove();
+        return counters;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counters counters = COUNTERS.get();
+        if (counters != null) {
+            counters.statements++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        Counters counters = COUNTERS.get();
+        if (counters != null) {
+            counters.entityLoads++;
+        }
+        return false;
+    }
+
+    /**
+     * The counters of a unit of work, only updated by the thread running it.
+     */
+    public static class Counters {
+
+        private int statements;
+
+        private int entityLoads;
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public int getEntityLoads() {
+            return entityLoads;
+        }
+    }
+}
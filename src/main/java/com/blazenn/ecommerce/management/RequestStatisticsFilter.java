@@ -0,0 +1,72 @@
+package com.blazenn.ecommerce.management;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Filter counting the SQL statements and the entity loads of each request with the {@link RequestStatistics}.
+ * <p>
+ * The counts are recorded in the {@code http.server.requests.statements} and {@code http.server.requests.entity.loads}
+ * summaries, tagged with the method and the URI template of the request, and the requests executing more statements
+ * than the threshold are logged, so that an N+1 select shows up on the dashboards.
+ */
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final Logger log = LoggerFactory.getLogger(RequestStatisticsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final int logThreshold;
+
+    public RequestStatisticsFilter(MeterRegistry meterRegistry, int logThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.logThreshold = logThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        RequestStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatistics.Counters counters = RequestStatistics.stop();
+            if (counters != null) {
+                record(request, counters);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestStatistics.Counters counters) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        DistributionSummary.builder("http.server.requests.statements")
+            .description("SQL statements executed by a request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(counters.getStatements());
+        DistributionSummary.builder("http.server.requests.entity.loads")
+            .description("Entities loaded by a request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(counters.getEntityLoads());
+        if (counters.getStatements() > logThreshold) {
+            log.warn("{} {} executed {} SQL statements and loaded {} entities", request.getMethod(), uri,
+                counters.getStatements(), counters.getEntityLoads());
+        }
+    }
+}
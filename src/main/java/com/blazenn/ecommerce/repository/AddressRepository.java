@@ -15,7 +15,8 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AddressRepository extends JpaRepository<Address, Long>, JpaSpecificationExecutor<Address> {
+public interface AddressRepository extends JpaRepository<Address, Long>, JpaSpecificationExecutor<Address>,
+    SliceSpecificationExecutor<Address> {
 
     // @Override
     // @Query(nativeQuery = true, value = "SELECT a.*, b.first_name, b.last_name, b.email FROM address AS a LEFT JOIN jhi_user AS b ON a.user_id = b.id")
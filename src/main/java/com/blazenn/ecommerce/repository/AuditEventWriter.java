@@ -0,0 +1,201 @@
+package com.blazenn.ecommerce.repository;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+import com.blazenn.ecommerce.domain.PersistentAuditEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writer of the {@link PersistentAuditEvent}s, in JDBC batches.
+ * <p>
+ * The events are added to a bounded buffer, and written by a background thread when a batch is full or every
+ * {@code application.audit-events.flush-interval-ms} milliseconds, so that the requests adding them, such as the
+ * authentications, do not wait for the inserts. When the buffer is full, the
+ * {@link ApplicationProperties.AuditEvents.OverflowPolicy} applies. With {@code application.audit-events.async-enabled}
+ * false, the events are written by the callers.
+ */
+@Component
+public class AuditEventWriter implements SmartLifecycle {
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventWriter.class);
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.AuditEvents properties;
+
+    private final BlockingQueue<PersistentAuditEvent> buffer;
+
+    private final Lock writeLock = new ReentrantLock();
+
+    private final Counter written;
+
+    private final Counter droppedOnOverflow;
+
+    private final Counter droppedOnError;
+
+    private final Timer flushTimer;
+
+    private volatile Thread writerThread;
+
+    private volatile boolean running;
+
+    public AuditEventWriter(PersistenceAuditEventRepository persistenceAuditEventRepository,
+                            PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties,
+                            MeterRegistry meterRegistry) {
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = applicationProperties.getAuditEvents();
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+        this.written = Counter.builder("audit.events.written")
+            .description("Audit events written to the database")
+            .register(meterRegistry);
+        this.droppedOnOverflow = dropped(meterRegistry, "overflow");
+        this.droppedOnError = dropped(meterRegistry, "error");
+        this.flushTimer = Timer.builder("audit.events.flush")
+            .description("Time to write a batch of audit events")
+            .register(meterRegistry);
+        Gauge.builder("audit.events.buffered", buffer, BlockingQueue::size)
+            .description("Audit events waiting to be written")
+            .register(meterRegistry);
+    }
+
+    private static Counter dropped(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("audit.events.dropped")
+            .description("Audit events lost, because the buffer was full or the write failed")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Add an event to be written.
+     *
+     * @param event the event.
+     */
+    public void add(PersistentAuditEvent event) {
+        if (!running) {
+            write(Collections.singletonList(event));
+            return;
+        }
+        if (buffer.offer(event)) {
+            if (buffer.size() >= properties.getBatchSize()) {
+                LockSupport.unpark(writerThread);
+            }
+            return;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case DROP_NEWEST:
+                droppedOnOverflow.increment();
+                break;
+            case DROP_OLDEST:
+                while (!buffer.offer(event)) {
+                    if (buffer.poll() != null) {
+                        droppedOnOverflow.increment();
+                    }
+                }
+                break;
+            default:
+                write(Collections.singletonList(event));
+        }
+    }
+
+    /**
+     * Write the buffered events, after the batch being written if any.
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            List<PersistentAuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+            while (buffer.drainTo(batch, properties.getBatchSize()) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void write(List<PersistentAuditEvent> batch) {
+        try {
+            flushTimer.record(() -> transactionTemplate.execute(status -> persistenceAuditEventRepository.saveAll(batch)));
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.error("Could not write {} audit events", batch.size(), e);
+            droppedOnError.increment(batch.size());
+        }
+    }
+
+    private void run() {
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+        long lastFlush = System.nanoTime();
+        while (running) {
+            long remaining = lastFlush + flushIntervalNanos - System.nanoTime();
+            if (remaining > 0 && buffer.size() < properties.getBatchSize()) {
+                LockSupport.parkNanos(this, remaining);
+                continue;
+            }
+            flush();
+            lastFlush = System.nanoTime();
+        }
+        flush();
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isAsyncEnabled()) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::run, "audit-event-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Stop the background thread, once it wrote the buffered events. The events added afterwards are written by the
+     * callers.
+     */
+    @Override
+    public void stop() {
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
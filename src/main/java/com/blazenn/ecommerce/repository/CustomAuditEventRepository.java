@@ -9,7 +9,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.actuate.audit.AuditEvent;
 import org.springframework.boot.actuate.audit.AuditEventRepository;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
@@ -17,6 +16,9 @@ import java.util.*;
 
 /**
  * An implementation of Spring Boot's {@link AuditEventRepository}.
+ * <p>
+ * The events are written in batches by the {@link AuditEventWriter}, and {@link #find(String, Instant, String)} writes
+ * the buffered events first, so it returns all the events added before.
  */
 @Repository
 public class CustomAuditEventRepository implements AuditEventRepository {
@@ -32,24 +34,32 @@ public class CustomAuditEventRepository implements AuditEventRepository {
 
     private final AuditEventConverter auditEventConverter;
 
+    private final AuditEventWriter auditEventWriter;
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     public CustomAuditEventRepository(PersistenceAuditEventRepository persistenceAuditEventRepository,
-            AuditEventConverter auditEventConverter) {
+            AuditEventConverter auditEventConverter, AuditEventWriter auditEventWriter) {
 
         this.persistenceAuditEventRepository = persistenceAuditEventRepository;
         this.auditEventConverter = auditEventConverter;
+        this.auditEventWriter = auditEventWriter;
     }
 
+    /**
+     * Find the audit events, including those still buffered: not read-only, so that the just flushed events are read
+     * from the primary database, and not from a read replica.
+     */
     @Override
+    @Transactional
     public List<AuditEvent> find(String principal, Instant after, String type) {
+        auditEventWriter.flush();
         Iterable<PersistentAuditEvent> persistentAuditEvents =
             persistenceAuditEventRepository.findByPrincipalAndAuditEventDateAfterAndAuditEventType(principal, after, type);
         return auditEventConverter.convertToAuditEvent(persistentAuditEvents);
     }
 
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void add(AuditEvent event) {
         if (!AUTHORIZATION_FAILURE.equals(event.getType()) &&
             !Constants.ANONYMOUS_USER.equals(event.getPrincipal())) {
@@ -60,7 +70,7 @@ public class CustomAuditEventRepository implements AuditEventRepository {
             persistentAuditEvent.setAuditEventDate(event.getTimestamp());
             Map<String, String> eventData = auditEventConverter.convertDataToStrings(event.getData());
             persistentAuditEvent.setData(truncate(eventData));
-            persistenceAuditEventRepository.save(persistentAuditEvent);
+            auditEventWriter.add(persistentAuditEvent);
         }
     }
 
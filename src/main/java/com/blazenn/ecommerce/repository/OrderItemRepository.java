@@ -5,10 +5,37 @@ import com.blazenn.ecommerce.domain.OrderItem;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 /**
  * Spring Data  repository for the OrderItem entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, JpaSpecificationExecutor<OrderItem> {
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, JpaSpecificationExecutor<OrderItem>,
+    SliceSpecificationExecutor<OrderItem> {
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    @Query("select orderItem.order.id from OrderItem orderItem where orderItem.id = ?1")
+    Optional<Long> findOrderIdById(Long id);
+
+    /**
+     * Stream all the order items, read-only and fetched from the database {@link #EXPORT_FETCH_SIZE} rows at a time.
+     * The stream must be consumed and closed inside a transaction.
+     */
+    @Query("select orderItem from OrderItem orderItem"
+        + " left join fetch orderItem.order jhiOrder left join fetch jhiOrder.user"
+        + " left join fetch orderItem.product product left join fetch product.category"
+        + " order by orderItem.id")
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    Stream<OrderItem> streamAllForExport();
 }
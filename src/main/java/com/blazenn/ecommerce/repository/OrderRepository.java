@@ -5,10 +5,30 @@ import com.blazenn.ecommerce.domain.Order;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 /**
  * Spring Data  repository for the Order entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>,
+    SliceSpecificationExecutor<Order> {
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Stream all the orders, read-only and fetched from the database {@link #EXPORT_FETCH_SIZE} rows at a time.
+     * The stream must be consumed and closed inside a transaction.
+     */
+    @Query("select jhiOrder from Order jhiOrder left join fetch jhiOrder.user order by jhiOrder.id")
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    Stream<Order> streamAllForExport();
 }
@@ -0,0 +1,51 @@
+package com.blazenn.ecommerce.repository;
+
+import com.blazenn.ecommerce.domain.OrderSummary;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Spring Data  repository for the OrderSummary entity.
+ */
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+
+    /**
+     * The totals of an order, as computed from its order items.
+     */
+    interface OrderTotals {
+
+        Long getUserId();
+
+        Instant getOrderDate();
+
+        Long getItemCount();
+
+        BigDecimal getTotalAmount();
+    }
+
+    @Query("select jhiOrder.user.id as userId, jhiOrder.orderDate as orderDate,"
+        + " coalesce(sum(orderItem.quantity), 0) as itemCount,"
+        + " coalesce(sum(orderItem.quantity * orderItem.unitPrice), 0) as totalAmount"
+        + " from Order jhiOrder left join jhiOrder.orderItems orderItem"
+        + " where jhiOrder.id = ?1"
+        + " group by jhiOrder.user.id, jhiOrder.orderDate")
+    Optional<OrderTotals> computeTotals(Long orderId);
+
+    /**
+     * Get the summary of an order, locked until the end of the transaction so that concurrent refreshes of the order
+     * are applied one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select orderSummary from OrderSummary orderSummary where orderSummary.orderId = ?1")
+    Optional<OrderSummary> findOneForUpdate(Long orderId);
+
+    @Query("select max(orderSummary.orderDate) from OrderSummary orderSummary where orderSummary.userId = ?1")
+    Optional<Instant> findLastOrderDateByUserId(Long userId);
+}
@@ -0,0 +1,12 @@
+package com.blazenn.ecommerce.repository;
+
+import com.blazenn.ecommerce.domain.OutboxEvent;
+
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data  repository for the OutboxEvent entity.
+ */
+@Repository
+public interface OutboxEventRepository extends OutboxRepository<OutboxEvent> {
+}
@@ -0,0 +1,12 @@
+package com.blazenn.ecommerce.repository;
+
+import com.blazenn.ecommerce.domain.OutboxMail;
+
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data  repository for the OutboxMail entity.
+ */
+@Repository
+public interface OutboxMailRepository extends OutboxRepository<OutboxMail> {
+}
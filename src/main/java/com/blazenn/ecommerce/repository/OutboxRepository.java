@@ -0,0 +1,35 @@
+package com.blazenn.ecommerce.repository;
+
+import com.blazenn.ecommerce.domain.AbstractOutboxEntry;
+import com.blazenn.ecommerce.domain.enumeration.OutboxStatus;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Spring Data  repository for the entries of an outbox table.
+ *
+ * @param <T> the type of the entries.
+ */
+@NoRepositoryBean
+public interface OutboxRepository<T extends AbstractOutboxEntry> extends JpaRepository<T, Long> {
+
+    List<T> findByStatusAndNextAttemptDateLessThanEqualOrderById(OutboxStatus status, Instant date, Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+
+    /**
+     * Claim a pending entry until a date, if it is still due, that is unless another worker claimed it first.
+     *
+     * @return {@code 1} if the entry was claimed, {@code 0} otherwise.
+     */
+    @Modifying
+    @Query("update #{#entityName} entry set entry.nextAttemptDate = ?3"
+        + " where entry.id = ?1 and entry.status = com.blazenn.ecommerce.domain.enumeration.OutboxStatus.PENDING"
+        + " and entry.nextAttemptDate <= ?2")
+    int claim(Long id, Instant now, Instant claimedUntil);
+}
@@ -0,0 +1,26 @@
+package com.blazenn.ecommerce.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+/**
+ * Specification queries returning a {@link Slice}, without the count query issued for a
+ * {@link org.springframework.data.domain.Page}.
+ * <p>
+ * Implemented for every repository by {@link ExtendedJpaRepository}.
+ *
+ * @param <T> the entity type.
+ */
+public interface SliceSpecificationExecutor<T> {
+
+    /**
+     * Returns a {@link Slice} of entities matching the given {@link Specification}.
+     *
+     * @param spec can be {@literal null}.
+     * @param pageable must not be {@literal null}.
+     * @return never {@literal null}.
+     */
+    Slice<T> findSlice(@Nullable Specification<T> spec, Pageable pageable);
+}
@@ -0,0 +1,24 @@
+package com.blazenn.ecommerce.repository;
+
+import com.blazenn.ecommerce.domain.UserOrderSummary;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+/**
+ * Spring Data  repository for the UserOrderSummary entity.
+ */
+@Repository
+public interface UserOrderSummaryRepository extends JpaRepository<UserOrderSummary, Long> {
+
+    /**
+     * Get the summary of a user, locked until the end of the transaction so that concurrent orders of the user are
+     * applied one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select userOrderSummary from UserOrderSummary userOrderSummary where userOrderSummary.userId = ?1")
+    Optional<UserOrderSummary> findOneForUpdate(Long userId);
+}
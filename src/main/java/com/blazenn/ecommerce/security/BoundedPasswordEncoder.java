@@ -0,0 +1,119 @@
+package com.blazenn.ecommerce.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PasswordEncoder} hashing and verifying the passwords on a dedicated, fixed-size executor.
+ * <p>
+ * Password hashing is deliberately CPU-bound: run on the request threads, a burst of authentications, registrations
+ * or password changes would take the CPU from every other request. Here the hashes are computed by at most
+ * {@code threads} threads, the callers waiting for their result, and at most {@code queueCapacity} hashes wait for a
+ * thread. When the queue is full, the caller gets a {@link PasswordHashingRejectedException} at once, answered with a
+ * {@code 429 Too Many Requests}, so that only the requests hashing passwords are degraded.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long retryAfterSeconds;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Timer queueWaitTimer;
+
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long retryAfterSeconds,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.queueWaitTimer = Timer.builder("password.hashing.queue.wait")
+            .description("Time spent by the password hashes waiting for a thread")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+            .description("Password hashes rejected because the executor was saturated")
+            .register(meterRegistry);
+        Gauge.builder("password.hashing.queued", executor, e -> e.getQueue().size())
+            .description("Password hashes waiting for a thread")
+            .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Password hashes being computed")
+            .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hashing")
+            .description("Time to hash or verify a password, excluding the queue wait")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Timer hashTimer, Callable<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(hash);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Too many password hashes in progress", retryAfterSeconds);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,39 @@
+package com.blazenn.ecommerce.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Spring Security principal which also carries the id of the {@link com.blazenn.ecommerce.domain.User}, so that
+ * writes made on behalf of the current user don't need to load it from the database.
+ * <p>
+ * When loaded by the {@link DomainUserDetailsService}, the activation state of the user is carried as
+ * {@link #isEnabled()}, and the id is read from the same query, so an authentication costs a single lookup.
+ */
+public class DomainUserDetails extends User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    public DomainUserDetails(Long id, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, password, true, authorities);
+    }
+
+    public DomainUserDetails(Long id, String username, String password, boolean activated,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, activated, true, true, true, authorities);
+        this.id = id;
+    }
+
+    /**
+     * Get the id of the user, {@code null} for tokens issued without a {@code user_id} claim.
+     *
+     * @return the id of the user.
+     */
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,26 @@
+package com.blazenn.ecommerce.security;
+
+/**
+ * This exception is thrown when a password cannot be hashed or verified because the password hashing executor is
+ * saturated.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Get the delay after which the client may retry.
+     *
+     * @return the delay, in seconds.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
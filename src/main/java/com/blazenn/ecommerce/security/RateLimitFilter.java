@@ -0,0 +1,105 @@
+package com.blazenn.ecommerce.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.web.filter.GenericFilterBean;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Filters the requests exceeding the rate limit of their client with a {@code 429 Too Many Requests}.
+ * <p>
+ * It runs after the {@link com.blazenn.ecommerce.security.jwt.JWTFilter}, so that the authenticated requests are
+ * limited per user rather than per IP address. The IP address of the anonymous requests is the address of the
+ * connection, unless it is one of the trusted proxies: the {@code X-Forwarded-For} header is then read from the right,
+ * skipping the trusted proxies, so that the address is the one seen by the first of them. The header of any other
+ * client is ignored, so that it cannot pick a new bucket with each request.
+ */
+public class RateLimitFilter extends GenericFilterBean {
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    /**
+     * The IP address literals, which {@link IpAddressMatcher} parses without a DNS lookup.
+     */
+    private static final Pattern IP_ADDRESS = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}|[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private final RateLimiter rateLimiter;
+
+    private final List<IpAddressMatcher> trustedProxies = new ArrayList<>();
+
+    public RateLimitFilter(RateLimiter rateLimiter, List<String> trustedProxies) {
+        this.rateLimiter = rateLimiter;
+        for (String trustedProxy : trustedProxies) {
+            this.trustedProxies.add(new IpAddressMatcher(trustedProxy));
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+        throws IOException, ServletException {
+        HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
+        Optional<Long> userId = SecurityUtils.getCurrentUserId();
+        Object client = userId.isPresent() ? userId.get() : clientAddress(httpServletRequest);
+        long waitNanos = rateLimiter.tryAcquire(httpServletRequest.getRequestURI(), client);
+        if (waitNanos > 0) {
+            HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
+            httpServletResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            httpServletResponse.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+            return;
+        }
+        filterChain.doFilter(servletRequest, servletResponse);
+    }
+
+    String clientAddress(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (!isTrustedProxy(address)) {
+            return address;
+        }
+        List<String> forwardedFor = new ArrayList<>();
+        for (String header : Collections.list(request.getHeaders(X_FORWARDED_FOR))) {
+            for (String hop : header.split(",")) {
+                if (!hop.trim().isEmpty()) {
+                    forwardedFor.add(hop.trim());
+                }
+            }
+        }
+        for (int i = forwardedFor.size() - 1; i >= 0 && isTrustedProxy(address); i--) {
+            address = forwardedFor.get(i);
+        }
+        return address;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (!IP_ADDRESS.matcher(address).matches()) {
+            return false;
+        }
+        try {
+            for (IpAddressMatcher trustedProxy : trustedProxies) {
+                if (trustedProxy.matches(address)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // not an IP address after all
+        }
+        return false;
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
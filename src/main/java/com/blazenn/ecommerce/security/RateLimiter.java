@@ -0,0 +1,142 @@
+package com.blazenn.ecommerce.security;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Per-client token buckets, one set per group of endpoints configured under {@code application.rate-limit.groups}.
+ * <p>
+ * A request belongs to the first group with a path prefix matching its path, and its client is the id of the user
+ * when authenticated, or else the client IP address. Each bucket is a single {@link AtomicLong} holding the time at
+ * which it will be full again (the generic cell rate algorithm), updated with a compare-and-set, and the buckets are
+ * held in a {@link ConcurrentHashMap}, so the requests of different clients never contend on a lock. The buckets that
+ * have been full for {@code application.rate-limit.idle-seconds} are evicted, which loses no state.
+ */
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+
+    private final long idleNanos;
+
+    private final Group[] groups;
+
+    public RateLimiter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.RateLimit properties = applicationProperties.getRateLimit();
+        this.enabled = properties.isEnabled();
+        this.idleNanos = TimeUnit.SECONDS.toNanos(properties.getIdleSeconds());
+        this.groups = properties.getGroups().stream()
+            .map(group -> new Group(group, meterRegistry))
+            .toArray(Group[]::new);
+    }
+
+    /**
+     * Take a token from the bucket of a client for the group of a path.
+     *
+     * @param path the path of the request.
+     * @param client the client: the id of the user, or the client IP address.
+     * @return {@code 0} if the request is allowed, or else the nanoseconds until the bucket holds a token.
+     */
+    public long tryAcquire(String path, Object client) {
+        return tryAcquire(path, client, System.nanoTime());
+    }
+
+    long tryAcquire(String path, Object client, long now) {
+        if (!enabled) {
+            return 0;
+        }
+        Group group = groupOf(path);
+        return group == null ? 0 : group.tryAcquire(client, now);
+    }
+
+    private Group groupOf(String path) {
+        for (Group group : groups) {
+            for (String pathPrefix : group.pathPrefixes) {
+                if (path.startsWith(pathPrefix)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evict the buckets which have been full for {@code application.rate-limit.idle-seconds}.
+     * <p>
+     * This is scheduled to run every {@code application.rate-limit.eviction-interval-ms} milliseconds.
+     */
+    @Scheduled(fixedDelayString = "${application.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        evictIdleBuckets(System.nanoTime());
+    }
+
+    void evictIdleBuckets(long now) {
+        for (Group group : groups) {
+            group.buckets.values().removeIf(fullAt -> fullAt.get() - now < -idleNanos);
+        }
+    }
+
+    private static final class Group {
+
+        private final String[] pathPrefixes;
+
+        /**
+         * Nanoseconds to refill one token.
+         */
+        private final long intervalNanos;
+
+        /**
+         * Nanoseconds to refill an empty bucket.
+         */
+        private final long capacityNanos;
+
+        private final ConcurrentHashMap<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+        private final Counter throttled;
+
+        Group(ApplicationProperties.RateLimit.Group properties, MeterRegistry meterRegistry) {
+            List<String> pathPrefixes = properties.getPathPrefixes().stream().map(String::trim).collect(Collectors.toList());
+            this.pathPrefixes = pathPrefixes.toArray(new String[0]);
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / properties.getRefillPerSecond());
+            this.capacityNanos = intervalNanos * properties.getCapacity();
+            this.throttled = Counter.builder("rate.limit.throttled")
+                .description("Requests rejected because the client exceeded the rate limit of the group")
+                .tag("group", properties.getName())
+                .register(meterRegistry);
+            Gauge.builder("rate.limit.buckets", buckets, ConcurrentHashMap::size)
+                .description("Token buckets of the clients of the group")
+                .tag("group", properties.getName())
+                .register(meterRegistry);
+        }
+
+        long tryAcquire(Object client, long now) {
+            AtomicLong fullAt = buckets.get(client);
+            if (fullAt == null) {
+                fullAt = buckets.computeIfAbsent(client, key -> new AtomicLong(now));
+            }
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current - now, 0) + now + intervalNanos;
+                long overdraft = next - now - capacityNanos;
+                if (overdraft > 0) {
+                    throttled.increment();
+                    return overdraft;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
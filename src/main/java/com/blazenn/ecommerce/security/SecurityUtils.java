@@ -27,6 +27,19 @@ public final class SecurityUtils {
         return Optional.ofNullable(extractPrincipal(securityContext.getAuthentication()));
     }
 
+    /**
+     * Get the id of the current user, when the principal carries it.
+     *
+     * @return the id of the current user.
+     */
+    public static Optional<Long> getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof DomainUserDetails) {
+            return Optional.ofNullable(((DomainUserDetails) authentication.getPrincipal()).getId());
+        }
+        return Optional.empty();
+    }
+
     private static String extractPrincipal(Authentication authentication) {
         if (authentication == null) {
             return null;
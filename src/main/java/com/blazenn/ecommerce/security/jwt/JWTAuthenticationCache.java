@@ -0,0 +1,144 @@
+package com.blazenn.ecommerce.security.jwt;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of the {@link Authentication} resolved from a JWT, so that repeated requests carrying the same token
+ * skip signature verification and claim parsing.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token and are dropped once the token expires.
+ */
+@Component
+public class JWTAuthenticationCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+
+    private final int maxSize;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public JWTAuthenticationCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.enabled = applicationProperties.getJwtCache().isEnabled();
+        this.maxSize = applicationProperties.getJwtCache().getMaxSize();
+        this.hits = Counter.builder("jwt.authentication.cache")
+            .description("Lookups of the JWT authentication cache")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("jwt.authentication.cache")
+            .description("Lookups of the JWT authentication cache")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        Gauge.builder("jwt.authentication.cache.size", entries, Map::size)
+            .description("Number of cached JWT authentications")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the cached authentication of a token.
+     *
+     * @param token the token.
+     * @return the authentication, or {@code null} if the token is not cached or has expired.
+     */
+    public Authentication get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.authentication;
+    }
+
+    /**
+     * Cache the authentication of a token until the token expires.
+     *
+     * @param token the token.
+     * @param authentication the authentication resolved from the token.
+     * @param expiration the expiration of the token, {@code null} if it never expires.
+     */
+    public void put(String token, Authentication authentication, Date expiration) {
+        if (!enabled || maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(digest(token), new Entry(authentication, expiration == null ? Long.MAX_VALUE : expiration.getTime()));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    private static final class Entry {
+
+        private final Authentication authentication;
+
+        private final long expiresAt;
+
+        private Entry(Authentication authentication, long expiresAt) {
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -9,13 +9,16 @@ public class JWTConfigurer extends SecurityConfigurerAdapter<DefaultSecurityFilt
 
     private final TokenProvider tokenProvider;
 
-    public JWTConfigurer(TokenProvider tokenProvider) {
+    private final JWTAuthenticationCache authenticationCache;
+
+    public JWTConfigurer(TokenProvider tokenProvider, JWTAuthenticationCache authenticationCache) {
         this.tokenProvider = tokenProvider;
+        this.authenticationCache = authenticationCache;
     }
 
     @Override
     public void configure(HttpSecurity http) {
-        JWTFilter customFilter = new JWTFilter(tokenProvider);
+        JWTFilter customFilter = new JWTFilter(tokenProvider, authenticationCache);
         http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
     }
 }
@@ -1,5 +1,6 @@
 package com.blazenn.ecommerce.security.jwt;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
@@ -11,6 +12,7 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Filters incoming requests and installs a Spring Security principal if a header corresponding to a valid user is
@@ -22,8 +24,11 @@ public class JWTFilter extends GenericFilterBean {
 
     private final TokenProvider tokenProvider;
 
-    public JWTFilter(TokenProvider tokenProvider) {
+    private final JWTAuthenticationCache authenticationCache;
+
+    public JWTFilter(TokenProvider tokenProvider, JWTAuthenticationCache authenticationCache) {
         this.tokenProvider = tokenProvider;
+        this.authenticationCache = authenticationCache;
     }
 
     @Override
@@ -31,13 +36,29 @@ public class JWTFilter extends GenericFilterBean {
         throws IOException, ServletException {
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
         String jwt = resolveToken(httpServletRequest);
-        if (StringUtils.hasText(jwt) && this.tokenProvider.validateToken(jwt)) {
-            Authentication authentication = this.tokenProvider.getAuthentication(jwt);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (StringUtils.hasText(jwt)) {
+            Authentication authentication = resolveAuthentication(jwt);
+            if (authentication != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(servletRequest, servletResponse);
     }
 
+    private Authentication resolveAuthentication(String jwt) {
+        Authentication authentication = this.authenticationCache.get(jwt);
+        if (authentication != null) {
+            return authentication;
+        }
+        Optional<Claims> claims = this.tokenProvider.parseClaims(jwt);
+        if (!claims.isPresent()) {
+            return null;
+        }
+        authentication = this.tokenProvider.getAuthentication(jwt, claims.get());
+        this.authenticationCache.put(jwt, authentication, claims.get().getExpiration());
+        return authentication;
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -12,10 +12,11 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import com.blazenn.ecommerce.security.DomainUserDetails;
+
 import io.github.jhipster.config.JHipsterProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -28,6 +29,8 @@ public class TokenProvider {
 
     private static final String AUTHORITIES_KEY = "auth";
 
+    private static final String USER_ID_KEY = "user_id";
+
     private Key key;
 
     private long tokenValidityInMilliseconds;
@@ -76,7 +79,7 @@ public class TokenProvider {
         return Jwts.builder()
             .setSubject(authentication.getName())
             .claim(AUTHORITIES_KEY, authorities)
-            .claim("user_id", id)
+            .claim(USER_ID_KEY, id)
             .signWith(key, SignatureAlgorithm.HS512)
             .setExpiration(validity)
             .compact();
@@ -89,24 +92,46 @@ public class TokenProvider {
             .parseClaimsJws(token)
             .getBody();
 
+        return getAuthentication(token, claims);
+    }
+
+    /**
+     * Build the {@link Authentication} of a token whose claims were already verified by {@link #parseClaims(String)}.
+     *
+     * @param token the token.
+     * @param claims the verified claims of the token.
+     * @return the authentication.
+     */
+    public Authentication getAuthentication(String token, Claims claims) {
         Collection<? extends GrantedAuthority> authorities =
             Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toList());
 
-        User principal = new User(claims.getSubject(), "", authorities);
+        Object userId = claims.get(USER_ID_KEY);
+        DomainUserDetails principal = new DomainUserDetails(userId == null ? null : Long.valueOf(userId.toString()),
+            claims.getSubject(), "", authorities);
 
         return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
 
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken).isPresent();
+    }
+
+    /**
+     * Verify the signature of a token and parse its claims in a single pass.
+     *
+     * @param authToken the token.
+     * @return the claims of the token, or empty if the token is invalid.
+     */
+    public Optional<Claims> parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
-            return true;
+            return Optional.of(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken).getBody());
         } catch (JwtException | IllegalArgumentException e) {
             log.info("Invalid JWT token.");
             log.trace("Invalid JWT token trace.", e);
         }
-        return false;
+        return Optional.empty();
     }
 }
@@ -37,9 +37,13 @@ public class AddressQueryService extends QueryService<Address> {
 
     private final AddressMapper addressMapper;
 
-    public AddressQueryService(AddressRepository addressRepository, AddressMapper addressMapper) {
+    private final PageCountService pageCountService;
+
+    public AddressQueryService(AddressRepository addressRepository, AddressMapper addressMapper,
+        PageCountService pageCountService) {
         this.addressRepository = addressRepository;
         this.addressMapper = addressMapper;
+        this.pageCountService = pageCountService;
     }
 
     /**
@@ -64,7 +68,7 @@ public class AddressQueryService extends QueryService<Address> {
     public Page<AddressDTO> findByCriteria(AddressCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Address> specification = createSpecification(criteria);
-        return addressRepository.findAll(specification, page)
+        return pageCountService.findPage(Address.class, addressRepository, criteria, specification, page)
             .map(addressMapper::toDto);
     }
 
@@ -77,7 +81,7 @@ public class AddressQueryService extends QueryService<Address> {
     public long countByCriteria(AddressCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<Address> specification = createSpecification(criteria);
-        return addressRepository.count(specification);
+        return pageCountService.count(Address.class, addressRepository, criteria, specification);
     }
 
     /**
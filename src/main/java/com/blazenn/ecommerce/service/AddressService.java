@@ -3,7 +3,6 @@ package com.blazenn.ecommerce.service;
 import com.blazenn.ecommerce.domain.Address;
 import com.blazenn.ecommerce.repository.AddressRepository;
 import com.blazenn.ecommerce.service.dto.AddressDTO;
-import com.blazenn.ecommerce.service.dto.UserDTO;
 import com.blazenn.ecommerce.service.mapper.AddressMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,12 +27,12 @@ public class AddressService {
 
     private final AddressMapper addressMapper;
 
-    private final UserService userService;
+    private final CurrentUserResolver currentUserResolver;
 
-    public AddressService(AddressRepository addressRepository, AddressMapper addressMapper, UserService userService) {
+    public AddressService(AddressRepository addressRepository, AddressMapper addressMapper, CurrentUserResolver currentUserResolver) {
         this.addressRepository = addressRepository;
         this.addressMapper = addressMapper;
-        this.userService = userService;
+        this.currentUserResolver = currentUserResolver;
     }
 
     private static class AccountResourceException extends RuntimeException {
@@ -50,10 +49,9 @@ public class AddressService {
      */
     public AddressDTO save(AddressDTO addressDTO) {
         log.debug("Request to save Address : {}", addressDTO);
-        UserDTO user = userService.getUserWithAuthorities()
-        .map(UserDTO::new)
-        .orElseThrow(() -> new AccountResourceException("User could not be found"));
-        addressDTO.setUserId(user.getId());
+        Long userId = currentUserResolver.getCurrentUserId()
+            .orElseThrow(() -> new AccountResourceException("User could not be found"));
+        addressDTO.setUserId(userId);
         Address address = addressMapper.toEntity(addressDTO);
         address = addressRepository.save(address);
         return addressMapper.toDto(address);
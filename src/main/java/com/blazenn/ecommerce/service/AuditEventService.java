@@ -1,19 +1,27 @@
 package com.blazenn.ecommerce.service;
 
 import io.github.jhipster.config.JHipsterProperties;
+import com.blazenn.ecommerce.config.ApplicationProperties;
 import com.blazenn.ecommerce.config.audit.AuditEventConverter;
 import com.blazenn.ecommerce.repository.PersistenceAuditEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.actuate.audit.AuditEvent;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,28 +41,48 @@ public class AuditEventService {
 
     private final AuditEventConverter auditEventConverter;
 
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ChunkedPurge auditEventPurge;
+
     public AuditEventService(
         PersistenceAuditEventRepository persistenceAuditEventRepository,
-        AuditEventConverter auditEventConverter, JHipsterProperties jhipsterProperties) {
+        AuditEventConverter auditEventConverter, JHipsterProperties jhipsterProperties,
+        NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
 
         this.persistenceAuditEventRepository = persistenceAuditEventRepository;
         this.auditEventConverter = auditEventConverter;
         this.jHipsterProperties = jhipsterProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditEventPurge = new ChunkedPurge("audit-events", transactionManager, applicationProperties, meterRegistry);
     }
 
     /**
      * Old audit events should be automatically deleted after 30 days.
+     * <p>
+     * They are deleted with their data in chunks, oldest first, see {@link ChunkedPurge}.
      *
      * This is scheduled to get fired at 12:00 (am).
      */
     @Scheduled(cron = "0 0 12 * * ?")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeOldAuditEvents() {
-        persistenceAuditEventRepository
-            .findByAuditEventDateBefore(Instant.now().minus(jHipsterProperties.getAuditEvents().getRetentionPeriod(), ChronoUnit.DAYS))
-            .forEach(auditEvent -> {
-                log.debug("Deleting audit data {}", auditEvent);
-                persistenceAuditEventRepository.delete(auditEvent);
-            });
+        Instant before = Instant.now().minus(jHipsterProperties.getAuditEvents().getRetentionPeriod(), ChronoUnit.DAYS);
+        auditEventPurge.run(chunkSize -> deleteAuditEvents(before, chunkSize));
+    }
+
+    private int deleteAuditEvents(Instant before, int chunkSize) {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "select event_id from jhi_persistent_audit_event where event_date < :before order by event_id limit :limit",
+            new MapSqlParameterSource("before", Timestamp.from(before)).addValue("limit", chunkSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        log.debug("Deleting {} audit events", ids.size());
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update("delete from jhi_persistent_audit_evt_data where event_id in (:ids)", parameters);
+        return jdbcTemplate.update("delete from jhi_persistent_audit_event where event_id in (:ids)", parameters);
     }
 
     @Transactional(readOnly = true)
@@ -37,9 +37,13 @@ public class CategoryQueryService extends QueryService<Category> {
 
     private final CategoryMapper categoryMapper;
 
-    public CategoryQueryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    private final PageCountService pageCountService;
+
+    public CategoryQueryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper,
+        PageCountService pageCountService) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.pageCountService = pageCountService;
     }
 
     /**
@@ -64,7 +68,7 @@ public class CategoryQueryService extends QueryService<Category> {
     public Page<CategoryDTO> findByCriteria(CategoryCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Category> specification = createSpecification(criteria);
-        return categoryRepository.findAll(specification, page)
+        return pageCountService.findPage(Category.class, categoryRepository, criteria, specification, page)
             .map(categoryMapper::toDto);
     }
 
@@ -77,7 +81,7 @@ public class CategoryQueryService extends QueryService<Category> {
     public long countByCriteria(CategoryCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<Category> specification = createSpecification(criteria);
-        return categoryRepository.count(specification);
+        return pageCountService.count(Category.class, categoryRepository, criteria, specification);
     }
 
     /**
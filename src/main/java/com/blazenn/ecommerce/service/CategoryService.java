@@ -27,9 +27,12 @@ public class CategoryService {
 
     private final CategoryMapper categoryMapper;
 
-    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    private final ProductCatalogIndex productCatalogIndex;
+
+    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper, ProductCatalogIndex productCatalogIndex) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.productCatalogIndex = productCatalogIndex;
     }
 
     /**
@@ -42,6 +45,7 @@ public class CategoryService {
         log.debug("Request to save Category : {}", categoryDTO);
         Category category = categoryMapper.toEntity(categoryDTO);
         category = categoryRepository.save(category);
+        productCatalogIndex.updateCategory(category);
         return categoryMapper.toDto(category);
     }
 
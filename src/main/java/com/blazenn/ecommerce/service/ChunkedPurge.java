@@ -0,0 +1,84 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A purge deleting rows in chunks, each in its own transaction, so that the locks are held for one chunk only.
+ * <p>
+ * The purge stops when a chunk is not full, or when the {@code application.purge.time-budget-seconds} are spent, and
+ * the next run goes on from there. The deleted rows and the chunks are counted in the {@code purge.deleted} and
+ * {@code purge.chunk} metrics, and the runs which ran out of time in {@code purge.budget.exhausted}, tagged with the
+ * name of the purge.
+ */
+class ChunkedPurge {
+
+    private final Logger log = LoggerFactory.getLogger(ChunkedPurge.class);
+
+    private final String name;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Purge properties;
+
+    private final Counter deleted;
+
+    private final Timer chunks;
+
+    private final Counter budgetExhausted;
+
+    ChunkedPurge(String name, PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties,
+                 MeterRegistry meterRegistry) {
+        this.name = name;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getPurge();
+        this.deleted = Counter.builder("purge.deleted")
+            .description("Rows deleted by the purge")
+            .tag("purge", name)
+            .register(meterRegistry);
+        this.chunks = Timer.builder("purge.chunk")
+            .description("Time to delete a chunk of the purge")
+            .tag("purge", name)
+            .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("purge.budget.exhausted")
+            .description("Runs of the purge stopped by the time budget")
+            .tag("purge", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Run the purge.
+     *
+     * @param deleteChunk deletes up to the given number of rows, and returns the number of rows deleted.
+     * @return the number of rows deleted.
+     */
+    long run(IntUnaryOperator deleteChunk) {
+        int chunkSize = properties.getChunkSize();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(properties.getTimeBudgetSeconds());
+        long total = 0;
+        int count;
+        do {
+            if (System.nanoTime() - deadline >= 0) {
+                budgetExhausted.increment();
+                log.warn("Purge of {} stopped after {} rows, its time budget is spent", name, total);
+                break;
+            }
+            count = chunks.record(() -> transactionTemplate.execute(status -> deleteChunk.applyAsInt(chunkSize)));
+            deleted.increment(count);
+            total += count;
+        } while (count == chunkSize);
+        log.info("Purged {} {} in {} ms", total, name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return total;
+    }
+}
@@ -0,0 +1,82 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.repository.UserRepository;
+import com.blazenn.ecommerce.security.SecurityUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves the id of the current user without loading the {@link com.blazenn.ecommerce.domain.User} entity.
+ * <p>
+ * The id is taken from the {@code user_id} claim of the JWT when present, otherwise from a bounded
+ * login to id cache, which {@link UserService} evicts when a login is created, changed or deleted.
+ */
+@Service
+public class CurrentUserResolver {
+
+    private static final int MAX_CACHED_LOGINS = 10_000;
+
+    private final Logger log = LoggerFactory.getLogger(CurrentUserResolver.class);
+
+    private final UserRepository userRepository;
+
+    private final Map<String, Long> idsByLogin = Collections.synchronizedMap(
+        new LinkedHashMap<String, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > MAX_CACHED_LOGINS;
+            }
+        });
+
+    public CurrentUserResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Get the id of the current user.
+     *
+     * @return the id of the current user, or empty if there is no authenticated user.
+     */
+    public Optional<Long> getCurrentUserId() {
+        Optional<Long> id = SecurityUtils.getCurrentUserId();
+        if (id.isPresent()) {
+            return id;
+        }
+        return SecurityUtils.getCurrentUserLogin().flatMap(this::getUserIdByLogin);
+    }
+
+    /**
+     * Get the id of a user from its login.
+     *
+     * @param login the login of the user.
+     * @return the id of the user, or empty if there is no such user.
+     */
+    public Optional<Long> getUserIdByLogin(String login) {
+        Long id = idsByLogin.get(login);
+        if (id != null) {
+            return Optional.of(id);
+        }
+        log.debug("Resolving id of user {}", login);
+        Optional<Long> resolved = userRepository.findIdByLogin(login);
+        resolved.ifPresent(value -> idsByLogin.put(login, value));
+        return resolved;
+    }
+
+    /**
+     * Evict a login from the cache.
+     *
+     * @param login the login of the created, updated or deleted user.
+     */
+    public void evict(String login) {
+        if (login != null) {
+            idsByLogin.remove(login);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+import com.blazenn.ecommerce.domain.OutboxEvent;
+import com.blazenn.ecommerce.repository.OutboxEventRepository;
+import com.blazenn.ecommerce.service.event.DomainEvent;
+import com.blazenn.ecommerce.service.event.DomainEventSubscriber;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Service publishing the {@link DomainEvent}s to the {@link OutboxEvent} table, and relaying them to the
+ * {@link DomainEventSubscriber}s.
+ * <p>
+ * The events are written in the transaction of the change they describe, so they are published if and only if it
+ * commits, and the subscribers run outside of the request. The relay is woken up after the commit, and also runs
+ * every {@code application.event-outbox.poll-interval-ms} milliseconds. The batches are claimed and the events that a
+ * subscriber failed to handle are retried by an {@link OutboxWorker}, configured under
+ * {@code application.event-outbox}.
+ * <p>
+ * The delivery is at least once and unordered: the events are claimed by id, but an event being retried is delivered
+ * after the events published after it, and the batches claimed by several instances are delivered concurrently.
+ */
+@Service
+public class EventOutboxService {
+
+    private final Logger log = LoggerFactory.getLogger(EventOutboxService.class);
+
+    private final ObjectProvider<DomainEventSubscriber<?>> subscribers;
+
+    private final ObjectMapper objectMapper;
+
+    private final Executor taskExecutor;
+
+    private final ApplicationProperties.Outbox properties;
+
+    private final OutboxWorker<OutboxEvent> worker;
+
+    private final Lock relayLock = new ReentrantLock();
+
+    private final AtomicBoolean wakeUpQueued = new AtomicBoolean();
+
+    private final Counter delivered;
+
+    public EventOutboxService(OutboxEventRepository outboxEventRepository, ObjectProvider<DomainEventSubscriber<?>> subscribers,
+                              ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                              @Qualifier("taskExecutor") Executor taskExecutor, ApplicationProperties applicationProperties,
+                              MeterRegistry meterRegistry) {
+        this.subscribers = subscribers;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.properties = applicationProperties.getEventOutbox();
+        this.worker = new OutboxWorker<>("event", outboxEventRepository, properties, transactionManager, meterRegistry);
+        this.delivered = worker.deliveries("delivered");
+    }
+
+    /**
+     * Publish an event in the current transaction.
+     *
+     * @param event the event.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        log.debug("Publishing event : {}", event);
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setEventType(event.typeName());
+        outboxEvent.setPayload(serialize(event));
+        worker.queue(outboxEvent);
+        if (properties.isEnabled()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        }
+    }
+
+    private String serialize(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event could not be serialized: " + event, e);
+        }
+    }
+
+    /**
+     * Run the relay on the task executor, unless a run is already queued. Events published while the relay runs are
+     * delivered by the queued run, or by the next poll if the executor is saturated.
+     */
+    private void wakeUp() {
+        if (!wakeUpQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(this::relayDueEvents);
+        } catch (TaskRejectedException e) {
+            wakeUpQueued.set(false);
+            log.debug("Event relay not woken up, the events will be relayed by the next poll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Relay the due events, batch after batch.
+     * <p>
+     * This is scheduled to run every {@code application.event-outbox.poll-interval-ms} milliseconds.
+     */
+    @Scheduled(fixedDelayString = "${application.event-outbox.poll-interval-ms:1000}")
+    public void relayDueEvents() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        relayLock.lock();
+        try {
+            wakeUpQueued.set(false);
+            while (relayBatch() == properties.getBatchSize()) {
+                log.debug("Relaying the next batch of events");
+            }
+            worker.updateDepth();
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    /**
+     * Claim a batch of due events, and deliver it to the subscribers.
+     *
+     * @return the number of events claimed.
+     */
+    public int relayBatch() {
+        List<OutboxEvent> events = worker.claim();
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<DomainEventSubscriber<?>> eventSubscribers = subscribers.orderedStream().collect(Collectors.toList());
+        List<OutboxEvent> done = new ArrayList<>();
+        List<OutboxEvent> failures = new ArrayList<>();
+        for (OutboxEvent outboxEvent : events) {
+            Exception failure = deliver(outboxEvent, eventSubscribers);
+            if (failure == null) {
+                delivered.increment();
+                worker.delivered(outboxEvent, Instant.now());
+                done.add(outboxEvent);
+            } else {
+                worker.retryLater(outboxEvent, failure, Instant.now());
+                failures.add(outboxEvent);
+            }
+        }
+        worker.complete(done, failures);
+        return events.size();
+    }
+
+    /**
+     * Deliver an event to all the subscribers of its type, even if one of them fails.
+     *
+     * @return the first failure, or {@code null} if all the subscribers handled the event.
+     */
+    private Exception deliver(OutboxEvent outboxEvent, List<DomainEventSubscriber<?>> eventSubscribers) {
+        DomainEvent event;
+        try {
+            event = objectMapper.readValue(outboxEvent.getPayload(), DomainEvent.class);
+        } catch (IOException e) {
+            return e;
+        }
+        Exception failure = null;
+        for (DomainEventSubscriber<?> subscriber : eventSubscribers) {
+            try {
+                dispatch(subscriber, event);
+            } catch (RuntimeException e) {
+                log.debug("Subscriber {} failed to handle event {}", subscriber, outboxEvent.getId(), e);
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        return failure;
+    }
+
+    private static <E extends DomainEvent> void dispatch(DomainEventSubscriber<E> subscriber, DomainEvent event) {
+        if (subscriber.getEventType().isInstance(event)) {
+            subscriber.onEvent(subscriber.getEventType().cast(event));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.blazenn.ecommerce.service;
+
+public class InvalidCursorException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+}
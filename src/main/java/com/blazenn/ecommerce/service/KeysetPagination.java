@@ -0,0 +1,192 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.service.dto.KeysetSlice;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination for the entities of a {@link io.github.jhipster.service.QueryService}.
+ * <p>
+ * Slices are sorted by one non-null key and then by id. The {@code after} cursor of a request holds the key and the id
+ * of the last row of the previous slice, and the next slice is selected by a seek predicate on them instead of an
+ * OFFSET. An empty cursor selects the first slice. No count query is issued.
+ *
+ * @param <E> the entity type.
+ * @param <D> the DTO type.
+ */
+public class KeysetPagination<E, D> {
+
+    private static final String SEPARATOR = ",";
+
+    private final Key<D, Long> id;
+
+    private final Map<String, Key<D, ?>> keys = new HashMap<>();
+
+    public KeysetPagination(String idAttribute, Function<D, Long> idGetter) {
+        this.id = new Key<>(idAttribute, Long.class, idGetter);
+        keys.put(idAttribute, id);
+    }
+
+    /**
+     * Allow sorting by a key.
+     *
+     * @param attribute the name of the attribute of the key, which must not be nullable.
+     * @param type the type of the key: {@link String}, {@link Long}, {@link Integer}, {@link BigDecimal} or {@link Instant}.
+     * @param getter the getter of the key on the DTO.
+     * @param <V> the type of the key.
+     * @return this instance.
+     */
+    public <V extends Comparable<? super V>> KeysetPagination<E, D> key(String attribute, Class<V> type, Function<D, V> getter) {
+        keys.put(attribute, new Key<>(attribute, type, getter));
+        return this;
+    }
+
+    /**
+     * Normalize the pagination information of a request: the first page, sorted by the requested key and then by id.
+     *
+     * @param pageable the pagination information of the request.
+     * @return the pagination information of the slice.
+     * @throws InvalidCursorException if the requested sort is not supported.
+     */
+    public Pageable pageable(Pageable pageable) {
+        Sort.Order order = order(pageable.getSort());
+        Sort sort = Sort.by(order.getDirection(), order.getProperty());
+        if (!order.getProperty().equals(id.attribute)) {
+            sort = sort.and(Sort.by(order.getDirection(), id.attribute));
+        }
+        return PageRequest.of(0, pageable.isPaged() ? pageable.getPageSize() : 20, sort);
+    }
+
+    /**
+     * Build the seek predicate of a cursor.
+     *
+     * @param pageable the pagination information returned by {@link #pageable(Pageable)}.
+     * @param after the cursor, empty for the first slice.
+     * @return the predicate, or {@code null} for the first slice.
+     * @throws InvalidCursorException if the cursor cannot be decoded or was built for another sort.
+     */
+    public Specification<E> seek(Pageable pageable, String after) {
+        if (after == null || after.isEmpty()) {
+            return null;
+        }
+        Sort.Order order = order(pageable.getSort());
+        String[] parts = decode(after).split(SEPARATOR, 3);
+        if (parts.length != 3 || !parts[0].equals(order.getProperty())) {
+            throw new InvalidCursorException("Invalid cursor for sort " + order.getProperty());
+        }
+        try {
+            return seek(keys.get(order.getProperty()), order.getDirection(), parts[2], Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor for sort " + order.getProperty());
+        }
+    }
+
+    /**
+     * Attach the cursor of the next slice to a slice.
+     *
+     * @param slice the slice.
+     * @return the slice with its next cursor.
+     */
+    public KeysetSlice<D> slice(Slice<D> slice) {
+        List<D> content = slice.getContent();
+        if (!slice.hasNext() || content.isEmpty()) {
+            return new KeysetSlice<>(content, slice.getPageable(), null);
+        }
+        Sort.Order order = order(slice.getPageable().getSort());
+        D last = content.get(content.size() - 1);
+        String cursor = order.getProperty() + SEPARATOR + id.getter.apply(last) + SEPARATOR
+            + keys.get(order.getProperty()).getter.apply(last);
+        return new KeysetSlice<>(content, slice.getPageable(), encode(cursor));
+    }
+
+    private Sort.Order order(Sort sort) {
+        Iterator<Sort.Order> orders = sort.iterator();
+        if (!orders.hasNext()) {
+            return Sort.Order.asc(id.attribute);
+        }
+        Sort.Order order = orders.next();
+        if (!keys.containsKey(order.getProperty())) {
+            throw new InvalidCursorException("Unsupported sort " + order.getProperty());
+        }
+        if (orders.hasNext()) {
+            Sort.Order tieBreak = orders.next();
+            if (!tieBreak.getProperty().equals(id.attribute) || orders.hasNext()) {
+                throw new InvalidCursorException("Unsupported sort " + sort);
+            }
+        }
+        return order;
+    }
+
+    private <V extends Comparable<? super V>> Specification<E> seek(Key<D, V> key, Sort.Direction direction,
+                                                                    String value, Long lastId) {
+        V lastValue = key.parse(value);
+        return (root, query, cb) -> {
+            Path<Long> idPath = root.get(id.attribute);
+            Predicate afterId = direction.isAscending() ? cb.greaterThan(idPath, lastId) : cb.lessThan(idPath, lastId);
+            if (key == id) {
+                return afterId;
+            }
+            Path<V> keyPath = root.get(key.attribute);
+            Predicate afterKey = direction.isAscending() ? cb.greaterThan(keyPath, lastValue) : cb.lessThan(keyPath, lastValue);
+            return cb.or(afterKey, cb.and(cb.equal(keyPath, lastValue), afterId));
+        };
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    private static final class Key<D, V extends Comparable<? super V>> {
+
+        private final String attribute;
+
+        private final Class<V> type;
+
+        private final Function<D, V> getter;
+
+        private Key(String attribute, Class<V> type, Function<D, V> getter) {
+            this.attribute = attribute;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        private V parse(String value) {
+            if (type == String.class) {
+                return type.cast(value);
+            } else if (type == Long.class) {
+                return type.cast(Long.valueOf(value));
+            } else if (type == Integer.class) {
+                return type.cast(Integer.valueOf(value));
+            } else if (type == BigDecimal.class) {
+                return type.cast(new BigDecimal(value));
+            } else if (type == Instant.class) {
+                return type.cast(Instant.parse(value));
+            }
+            throw new IllegalStateException("Unsupported key type " + type);
+        }
+    }
+}
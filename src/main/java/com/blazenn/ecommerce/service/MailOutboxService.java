@@ -0,0 +1,186 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+import com.blazenn.ecommerce.domain.OutboxMail;
+import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.repository.OutboxMailRepository;
+import com.blazenn.ecommerce.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service queueing the emails to the users in the {@link OutboxMail} table, and delivering them.
+ * <p>
+ * The emails are queued by the {@link UserService}, in the transaction which creates the user or its key, so that an
+ * email is queued if and only if this transaction commits. They are delivered by a scheduled worker, in batches
+ * rendered by the {@link MailService} and sent over a single connection to the mail server. The batches are claimed
+ * and the emails which could not be sent are retried by an {@link OutboxWorker}, configured under
+ * {@code application.mail-outbox}.
+ */
+@Service
+public class MailOutboxService {
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxService.class);
+
+    private final UserRepository userRepository;
+
+    private final MailService mailService;
+
+    private final ApplicationProperties.Outbox properties;
+
+    private final OutboxWorker<OutboxMail> worker;
+
+    private final Counter sent;
+
+    private final Counter dropped;
+
+    public MailOutboxService(OutboxMailRepository outboxMailRepository, UserRepository userRepository, MailService mailService,
+                             PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.mailService = mailService;
+        this.properties = applicationProperties.getMailOutbox();
+        this.worker = new OutboxWorker<>("mail", outboxMailRepository, properties, transactionManager, meterRegistry);
+        this.sent = worker.deliveries("sent");
+        this.dropped = worker.deliveries("dropped");
+    }
+
+    /**
+     * Queue the activation email of a user.
+     * <p>
+     * This requires the transaction of the caller, and the email is only sent if that transaction commits.
+     *
+     * @param user the user.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queueActivationEmail(User user) {
+        queue(user, MailService.ACTIVATION_TEMPLATE, MailService.ACTIVATION_TITLE_KEY);
+    }
+
+    /**
+     * Queue the creation email of a user.
+     * <p>
+     * This requires the transaction of the caller, and the email is only sent if that transaction commits.
+     *
+     * @param user the user.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queueCreationEmail(User user) {
+        queue(user, MailService.CREATION_TEMPLATE, MailService.ACTIVATION_TITLE_KEY);
+    }
+
+    /**
+     * Queue the password reset email of a user.
+     * <p>
+     * This requires the transaction of the caller, and the email is only sent if that transaction commits.
+     *
+     * @param user the user.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queuePasswordResetMail(User user) {
+        queue(user, MailService.PASSWORD_RESET_TEMPLATE, MailService.PASSWORD_RESET_TITLE_KEY);
+    }
+
+    private void queue(User user, String templateName, String titleKey) {
+        log.debug("Queueing email {} to '{}'", templateName, user.getLogin());
+        OutboxMail mail = new OutboxMail();
+        mail.setUserId(user.getId());
+        mail.setTemplateName(templateName);
+        mail.setTitleKey(titleKey);
+        worker.queue(mail);
+    }
+
+    /**
+     * Deliver the due emails, batch after batch.
+     * <p>
+     * This is scheduled to run every {@code application.mail-outbox.poll-interval-ms} milliseconds.
+     */
+    @Scheduled(fixedDelayString = "${application.mail-outbox.poll-interval-ms:5000}")
+    public void deliverDueEmails() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        while (deliverBatch() == properties.getBatchSize()) {
+            log.debug("Delivering the next batch of emails");
+        }
+        worker.updateDepth();
+    }
+
+    /**
+     * Claim a batch of due emails, and deliver it.
+     *
+     * @return the number of emails claimed.
+     */
+    public int deliverBatch() {
+        List<OutboxMail> mails = worker.claim();
+        if (mails.isEmpty()) {
+            return 0;
+        }
+        Set<Long> userIds = mails.stream().map(OutboxMail::getUserId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        Map<MimeMessage, OutboxMail> mailsByMessage = new LinkedHashMap<>();
+        List<OutboxMail> done = new ArrayList<>();
+        Map<OutboxMail, Exception> failures = new HashMap<>();
+        for (OutboxMail mail : mails) {
+            try {
+                Optional<MimeMessage> message = Optional.ofNullable(users.get(mail.getUserId()))
+                    .flatMap(user -> render(user, mail));
+                if (message.isPresent()) {
+                    mailsByMessage.put(message.get(), mail);
+                } else {
+                    dropped.increment();
+                    done.add(mail);
+                }
+            } catch (RuntimeException e) {
+                failures.put(mail, e);
+            }
+        }
+
+        Map<MimeMessage, Exception> sendFailures = mailService.sendEmails(new ArrayList<>(mailsByMessage.keySet()));
+        Instant sentDate = Instant.now();
+        mailsByMessage.forEach((message, mail) -> {
+            Exception failure = sendFailures.get(message);
+            if (failure != null) {
+                failures.put(mail, failure);
+            } else {
+                sent.increment();
+                worker.delivered(mail, sentDate);
+                done.add(mail);
+            }
+        });
+        failures.forEach((mail, failure) -> worker.retryLater(mail, failure, sentDate));
+        worker.complete(done, failures.keySet());
+        return mails.size();
+    }
+
+    private Optional<MimeMessage> render(User user, OutboxMail mail) {
+        try {
+            return mailService.createEmailFromTemplate(user, mail.getTemplateName(), mail.getTitleKey());
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
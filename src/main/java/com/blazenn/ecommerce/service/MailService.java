@@ -5,7 +5,12 @@ import com.blazenn.ecommerce.domain.User;
 import io.github.jhipster.config.JHipsterProperties;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 
@@ -13,9 +18,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
@@ -23,7 +28,8 @@ import org.thymeleaf.spring5.SpringTemplateEngine;
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * The emails to the users are not sent from here: they are queued by the {@link MailOutboxService}, whose worker
+ * renders and sends them with this service.
  */
 @Service
 public class MailService {
@@ -34,6 +40,16 @@ public class MailService {
 
     private static final String BASE_URL = "baseUrl";
 
+    public static final String ACTIVATION_TEMPLATE = "mail/activationEmail";
+
+    public static final String CREATION_TEMPLATE = "mail/creationEmail";
+
+    public static final String PASSWORD_RESET_TEMPLATE = "mail/passwordResetEmail";
+
+    public static final String ACTIVATION_TITLE_KEY = "email.activation.title";
+
+    public static final String PASSWORD_RESET_TITLE_KEY = "email.reset.title";
+
     private final JHipsterProperties jHipsterProperties;
 
     private final JavaMailSender javaMailSender;
@@ -51,31 +67,54 @@ public class MailService {
         this.templateEngine = templateEngine;
     }
 
-    @Async
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         log.debug("Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
             isMultipart, isHtml, to, subject, content);
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
         try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
+            javaMailSender.send(createEmail(to, subject, content, isMultipart, isHtml));
             log.debug("Sent email to User '{}'", to);
         }  catch (MailException | MessagingException e) {
             log.warn("Email could not be sent to user '{}'", to, e);
         }
     }
 
-    @Async
-    public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
+    /**
+     * Prepare an email.
+     *
+     * @param to the recipient.
+     * @param subject the subject.
+     * @param content the content.
+     * @param isMultipart whether the email is multipart.
+     * @param isHtml whether the content is HTML.
+     * @return the email.
+     * @throws MessagingException if the email could not be prepared.
+     */
+    public MimeMessage createEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml)
+        throws MessagingException {
+        // Prepare message using a Spring helper
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
+        message.setTo(to);
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(subject);
+        message.setText(content, isHtml);
+        return mimeMessage;
+    }
+
+    /**
+     * Prepare an email to a user from a template, in the language of the user.
+     *
+     * @param user the user.
+     * @param templateName the name of the template.
+     * @param titleKey the message key of the subject.
+     * @return the email, or empty if the user has no email.
+     * @throws MessagingException if the email could not be prepared.
+     */
+    public Optional<MimeMessage> createEmailFromTemplate(User user, String templateName, String titleKey) throws MessagingException {
         if (user.getEmail() == null) {
             log.debug("Email doesn't exist for user '{}'", user.getLogin());
-            return;
+            return Optional.empty();
         }
         Locale locale = Locale.forLanguageTag(user.getLangKey());
         Context context = new Context(locale);
@@ -83,24 +122,36 @@ public class MailService {
         context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
         String content = templateEngine.process(templateName, context);
         String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(user.getEmail(), subject, content, false, true);
+        return Optional.of(createEmail(user.getEmail(), subject, content, false, true));
     }
 
-    @Async
-    public void sendActivationEmail(User user) {
-        log.debug("Sending activation email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
-    }
-
-    @Async
-    public void sendCreationEmail(User user) {
-        log.debug("Sending creation email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
-    }
-
-    @Async
-    public void sendPasswordResetMail(User user) {
-        log.debug("Sending password reset email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
+    /**
+     * Send emails over a single connection to the mail server.
+     *
+     * @param messages the emails.
+     * @return the emails that could not be sent, with the cause of their failure.
+     */
+    public Map<MimeMessage, Exception> sendEmails(List<MimeMessage> messages) {
+        if (messages.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            javaMailSender.send(messages.toArray(new MimeMessage[0]));
+            log.debug("Sent {} emails", messages.size());
+            return Collections.emptyMap();
+        } catch (MailSendException e) {
+            Map<MimeMessage, Exception> failed = new HashMap<>();
+            e.getFailedMessages().forEach((message, cause) -> failed.put((MimeMessage) message, cause));
+            if (failed.isEmpty()) {
+                messages.forEach(message -> failed.put(message, e));
+            }
+            log.warn("{} of {} emails could not be sent", failed.size(), messages.size());
+            return failed;
+        } catch (MailException e) {
+            log.warn("{} emails could not be sent", messages.size(), e);
+            Map<MimeMessage, Exception> failed = new HashMap<>();
+            messages.forEach(message -> failed.put(message, e));
+            return failed;
+        }
     }
 }
@@ -0,0 +1,168 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.domain.Order;
+import com.blazenn.ecommerce.domain.OrderItem;
+import com.blazenn.ecommerce.repository.OrderItemRepository;
+import com.blazenn.ecommerce.repository.OrderRepository;
+import com.blazenn.ecommerce.service.dto.OrderDTO;
+import com.blazenn.ecommerce.service.dto.OrderItemDTO;
+import com.blazenn.ecommerce.service.mapper.OrderItemMapper;
+import com.blazenn.ecommerce.service.mapper.OrderMapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service streaming {@link Order} and {@link OrderItem} exports.
+ * <p>
+ * Rows are read through a database cursor, mapped and written one at a time, and the persistence context is cleared
+ * after every fetch, so the memory used does not depend on the size of the export.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderExportService {
+
+    /**
+     * The formats of an export.
+     */
+    public enum Format {
+        /** One JSON object per line. */
+        NDJSON,
+        /** Comma-separated values, with a header line. */
+        CSV;
+
+        public static Optional<Format> of(String name) {
+            return Arrays.stream(values()).filter(format -> format.name().equalsIgnoreCase(name)).findFirst();
+        }
+    }
+
+    private static final String[] ORDER_COLUMNS = {"id", "orderDate", "totalAmount"};
+
+    private static final String[] ORDER_ITEM_COLUMNS = {"id", "quantity", "unitPrice", "orderId", "productId"};
+
+    private final Logger log = LoggerFactory.getLogger(OrderExportService.class);
+
+    private final OrderRepository orderRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    private final OrderMapper orderMapper;
+
+    private final OrderItemMapper orderItemMapper;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    public OrderExportService(OrderRepository orderRepository, OrderItemRepository orderItemRepository, OrderMapper orderMapper,
+                              OrderItemMapper orderItemMapper, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderMapper = orderMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write all the orders, without their order items.
+     *
+     * @param format the format of the export.
+     * @param out the stream to write to, which is not closed.
+     * @throws IOException if the export could not be written.
+     */
+    public void exportOrders(Format format, OutputStream out) throws IOException {
+        log.debug("Request to export Orders as {}", format);
+        try (Stream<Order> orders = orderRepository.streamAllForExport()) {
+            export(orders, orderMapper::toDtoWithoutOrderItems, format, ORDER_COLUMNS,
+                order -> new Object[]{order.getId(), order.getOrderDate(), order.getTotalAmount()},
+                OrderRepository.EXPORT_FETCH_SIZE, out);
+        }
+    }
+
+    /**
+     * Write all the order items.
+     *
+     * @param format the format of the export.
+     * @param out the stream to write to, which is not closed.
+     * @throws IOException if the export could not be written.
+     */
+    public void exportOrderItems(Format format, OutputStream out) throws IOException {
+        log.debug("Request to export OrderItems as {}", format);
+        try (Stream<OrderItem> orderItems = orderItemRepository.streamAllForExport()) {
+            export(orderItems, orderItemMapper::toDto, format, ORDER_ITEM_COLUMNS,
+                orderItem -> new Object[]{orderItem.getId(), orderItem.getQuantity(), orderItem.getUnitPrice(),
+                    orderItem.getOrderId(), orderItem.getProductId()},
+                OrderItemRepository.EXPORT_FETCH_SIZE, out);
+        }
+    }
+
+    private <E, D> void export(Stream<E> entities, Function<E, D> mapper, Format format, String[] columns,
+                               Function<D, Object[]> values, int fetchSize, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writeCsvLine(writer, columns);
+        }
+        long count = 0;
+        Iterator<E> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            D dto = mapper.apply(iterator.next());
+            if (format == Format.NDJSON) {
+                writeJsonLine(writer, columns, values.apply(dto));
+            } else {
+                writeCsvLine(writer, values.apply(dto));
+            }
+            if (++count % fetchSize == 0) {
+                // the exported entities are not needed anymore
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+        log.debug("Exported {} rows", count);
+    }
+
+    private void writeJsonLine(Writer writer, String[] columns, Object[] values) throws IOException {
+        ObjectNode line = objectMapper.createObjectNode();
+        for (int i = 0; i < columns.length; i++) {
+            line.putPOJO(columns[i], values[i]);
+        }
+        writer.write(objectMapper.writeValueAsString(line));
+        writer.write('\n');
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
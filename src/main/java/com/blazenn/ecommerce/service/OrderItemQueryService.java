@@ -1,14 +1,29 @@
 package com.blazenn.ecommerce.service;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,13 +34,16 @@ import com.blazenn.ecommerce.domain.*; // for static metamodels
 import com.blazenn.ecommerce.repository.OrderItemRepository;
 import com.blazenn.ecommerce.service.dto.OrderItemCriteria;
 import com.blazenn.ecommerce.service.dto.OrderItemDTO;
-import com.blazenn.ecommerce.service.mapper.OrderItemMapper;
+import com.blazenn.ecommerce.service.dto.KeysetSlice;
 
 /**
  * Service for executing complex queries for {@link OrderItem} entities in the database.
  * The main input is a {@link OrderItemCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
  * It returns a {@link List} of {@link OrderItemDTO} or a {@link Page} of {@link OrderItemDTO} which fulfills the criteria.
+ * <p>
+ * The DTOs are read with a projection of the columns of the order items and the ids of their order and product, so no
+ * entity is loaded.
  */
 @Service
 @Transactional(readOnly = true)
@@ -33,13 +51,21 @@ public class OrderItemQueryService extends QueryService<OrderItem> {
 
     private final Logger log = LoggerFactory.getLogger(OrderItemQueryService.class);
 
+    private static final KeysetPagination<OrderItem, OrderItemDTO> KEYSET =
+        new KeysetPagination<OrderItem, OrderItemDTO>(OrderItem_.ID, OrderItemDTO::getId)
+            .key(OrderItem_.QUANTITY, Integer.class, OrderItemDTO::getQuantity)
+            .key(OrderItem_.UNIT_PRICE, BigDecimal.class, OrderItemDTO::getUnitPrice);
+
     private final OrderItemRepository orderItemRepository;
 
-    private final OrderItemMapper orderItemMapper;
+    private final PageCountService pageCountService;
+
+    private final EntityManager entityManager;
 
-    public OrderItemQueryService(OrderItemRepository orderItemRepository, OrderItemMapper orderItemMapper) {
+    public OrderItemQueryService(OrderItemRepository orderItemRepository, PageCountService pageCountService, EntityManager entityManager) {
         this.orderItemRepository = orderItemRepository;
-        this.orderItemMapper = orderItemMapper;
+        this.pageCountService = pageCountService;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -51,7 +77,7 @@ public class OrderItemQueryService extends QueryService<OrderItem> {
     public List<OrderItemDTO> findByCriteria(OrderItemCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<OrderItem> specification = createSpecification(criteria);
-        return orderItemMapper.toDto(orderItemRepository.findAll(specification));
+        return findProjection(specification, false, Pageable.unpaged()).getContent();
     }
 
     /**
@@ -62,10 +88,39 @@ public class OrderItemQueryService extends QueryService<OrderItem> {
      */
     @Transactional(readOnly = true)
     public Page<OrderItemDTO> findByCriteria(OrderItemCriteria criteria, Pageable page) {
-        log.debug("find by criteria : {}, page: {}", criteria, page);
+        return findByCriteria(criteria, false, page);
+    }
+
+    /**
+     * Return a {@link Page} of {@link OrderItemDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param withProduct Whether the name and the price of the product are read too.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<OrderItemDTO> findByCriteria(OrderItemCriteria criteria, boolean withProduct, Pageable page) {
+        log.debug("find by criteria : {}, with product: {}, page: {}", criteria, withProduct, page);
         final Specification<OrderItem> specification = createSpecification(criteria);
-        return orderItemRepository.findAll(specification, page)
-            .map(orderItemMapper::toDto);
+        return pageCountService.toPage(OrderItem.class, orderItemRepository, criteria, specification,
+            findProjection(specification, withProduct, page));
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of {@link OrderItemDTO} which matches the criteria from the database, using keyset
+     * pagination instead of an offset and without counting the matching entities.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param withProduct Whether the name and the price of the product are read too.
+     * @param after The cursor returned with the previous slice, empty for the first slice.
+     * @param page The size and the sort of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<OrderItemDTO> findByCriteria(OrderItemCriteria criteria, boolean withProduct, String after, Pageable page) {
+        log.debug("find by criteria : {}, with product: {}, after: {}, page: {}", criteria, withProduct, after, page);
+        final Pageable slice = KEYSET.pageable(page);
+        final Specification<OrderItem> specification = createSpecification(criteria).and(KEYSET.seek(slice, after));
+        return KEYSET.slice(findProjection(specification, withProduct, slice));
     }
 
     /**
@@ -77,7 +132,61 @@ public class OrderItemQueryService extends QueryService<OrderItem> {
     public long countByCriteria(OrderItemCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<OrderItem> specification = createSpecification(criteria);
-        return orderItemRepository.count(specification);
+        return pageCountService.count(OrderItem.class, orderItemRepository, criteria, specification);
+    }
+
+    /**
+     * Read the DTOs of the order items matching a specification, with one extra row to know whether there is a next
+     * slice.
+     */
+    private Slice<OrderItemDTO> findProjection(Specification<OrderItem> specification, boolean withProduct, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<OrderItem> root = query.from(OrderItem.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get(OrderItem_.ID));
+        selections.add(root.get(OrderItem_.QUANTITY));
+        selections.add(root.get(OrderItem_.UNIT_PRICE));
+        // the ids of the associations are read from the foreign keys, without a join
+        selections.add(root.get(OrderItem_.ORDER).get(Order_.ID));
+        selections.add(root.get(OrderItem_.PRODUCT).get(Product_.ID));
+        if (withProduct) {
+            Join<OrderItem, Product> product = root.join(OrderItem_.PRODUCT, JoinType.LEFT);
+            selections.add(product.get(Product_.NAME));
+            selections.add(product.get(Product_.PRICE));
+        }
+        query.multiselect(selections);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(toDto(typedQuery.getResultList(), withProduct), pageable, false);
+        }
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        List<OrderItemDTO> content = toDto(typedQuery.getResultList(), withProduct);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private static List<OrderItemDTO> toDto(List<Tuple> tuples, boolean withProduct) {
+        return tuples.stream().map(tuple -> {
+            OrderItemDTO orderItemDTO = new OrderItemDTO();
+            orderItemDTO.setId(tuple.get(0, Long.class));
+            orderItemDTO.setQuantity(tuple.get(1, Integer.class));
+            orderItemDTO.setUnitPrice(tuple.get(2, BigDecimal.class));
+            orderItemDTO.setOrderId(tuple.get(3, Long.class));
+            orderItemDTO.setProductId(tuple.get(4, Long.class));
+            if (withProduct) {
+                orderItemDTO.setProductName(tuple.get(5, String.class));
+                orderItemDTO.setProductPrice(tuple.get(6, BigDecimal.class));
+            }
+            return orderItemDTO;
+        }).collect(Collectors.toList());
     }
 
     /**
@@ -99,11 +208,11 @@ public class OrderItemQueryService extends QueryService<OrderItem> {
             }
             if (criteria.getOrderId() != null) {
                 specification = specification.and(buildSpecification(criteria.getOrderId(),
-                    root -> root.join(OrderItem_.order, JoinType.LEFT).get(Order_.id)));
+                    root -> root.get(OrderItem_.order).get(Order_.id)));
             }
             if (criteria.getProductId() != null) {
                 specification = specification.and(buildSpecification(criteria.getProductId(),
-                    root -> root.join(OrderItem_.product, JoinType.LEFT).get(Product_.id)));
+                    root -> root.get(OrderItem_.product).get(Product_.id)));
             }
         }
         return specification;
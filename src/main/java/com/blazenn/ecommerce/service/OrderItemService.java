@@ -3,6 +3,7 @@ package com.blazenn.ecommerce.service;
 import com.blazenn.ecommerce.domain.OrderItem;
 import com.blazenn.ecommerce.repository.OrderItemRepository;
 import com.blazenn.ecommerce.service.dto.OrderItemDTO;
+import com.blazenn.ecommerce.service.event.OrderItemAdded;
 import com.blazenn.ecommerce.service.mapper.OrderItemMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,21 +28,36 @@ public class OrderItemService {
 
     private final OrderItemMapper orderItemMapper;
 
-    public OrderItemService(OrderItemRepository orderItemRepository, OrderItemMapper orderItemMapper) {
+    private final OrderSummaryService orderSummaryService;
+
+    private final EventOutboxService eventOutboxService;
+
+    public OrderItemService(OrderItemRepository orderItemRepository, OrderItemMapper orderItemMapper, OrderSummaryService orderSummaryService,
+                            EventOutboxService eventOutboxService) {
         this.orderItemRepository = orderItemRepository;
         this.orderItemMapper = orderItemMapper;
+        this.orderSummaryService = orderSummaryService;
+        this.eventOutboxService = eventOutboxService;
     }
 
     /**
-     * Save a orderItem.
+     * Save a orderItem, publishing an {@link OrderItemAdded} event when it is created.
      *
      * @param orderItemDTO the entity to save.
      * @return the persisted entity.
      */
     public OrderItemDTO save(OrderItemDTO orderItemDTO) {
         log.debug("Request to save OrderItem : {}", orderItemDTO);
+        Optional<Long> previousOrderId = orderItemDTO.getId() == null ? Optional.empty()
+            : orderItemRepository.findOrderIdById(orderItemDTO.getId());
         OrderItem orderItem = orderItemMapper.toEntity(orderItemDTO);
         orderItem = orderItemRepository.save(orderItem);
+        previousOrderId.filter(orderId -> !orderId.equals(orderItemDTO.getOrderId())).ifPresent(orderSummaryService::refresh);
+        orderSummaryService.refresh(orderItemDTO.getOrderId());
+        if (orderItemDTO.getId() == null) {
+            eventOutboxService.publish(new OrderItemAdded(orderItem.getId(), orderItemDTO.getOrderId(), orderItemDTO.getProductId(),
+                orderItem.getQuantity(), orderItem.getUnitPrice()));
+        }
         return orderItemMapper.toDto(orderItem);
     }
 
@@ -79,6 +95,8 @@ public class OrderItemService {
      */
     public void delete(Long id) {
         log.debug("Request to delete OrderItem : {}", id);
+        Optional<Long> orderId = orderItemRepository.findOrderIdById(id);
         orderItemRepository.deleteById(id);
+        orderId.ifPresent(orderSummaryService::refresh);
     }
 }
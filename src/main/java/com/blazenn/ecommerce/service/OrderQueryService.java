@@ -1,5 +1,7 @@
 package com.blazenn.ecommerce.service;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 import javax.persistence.criteria.JoinType;
@@ -19,6 +21,7 @@ import com.blazenn.ecommerce.domain.*; // for static metamodels
 import com.blazenn.ecommerce.repository.OrderRepository;
 import com.blazenn.ecommerce.service.dto.OrderCriteria;
 import com.blazenn.ecommerce.service.dto.OrderDTO;
+import com.blazenn.ecommerce.service.dto.KeysetSlice;
 import com.blazenn.ecommerce.service.mapper.OrderMapper;
 
 /**
@@ -33,13 +36,22 @@ public class OrderQueryService extends QueryService<Order> {
 
     private final Logger log = LoggerFactory.getLogger(OrderQueryService.class);
 
+    private static final KeysetPagination<Order, OrderDTO> KEYSET =
+        new KeysetPagination<Order, OrderDTO>(Order_.ID, OrderDTO::getId)
+            .key(Order_.ORDER_DATE, Instant.class, OrderDTO::getOrderDate)
+            .key(Order_.TOTAL_AMOUNT, BigDecimal.class, OrderDTO::getTotalAmount);
+
     private final OrderRepository orderRepository;
 
     private final OrderMapper orderMapper;
 
-    public OrderQueryService(OrderRepository orderRepository, OrderMapper orderMapper) {
+    private final PageCountService pageCountService;
+
+    public OrderQueryService(OrderRepository orderRepository, OrderMapper orderMapper,
+        PageCountService pageCountService) {
         this.orderRepository = orderRepository;
         this.orderMapper = orderMapper;
+        this.pageCountService = pageCountService;
     }
 
     /**
@@ -64,10 +76,27 @@ public class OrderQueryService extends QueryService<Order> {
     public Page<OrderDTO> findByCriteria(OrderCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Order> specification = createSpecification(criteria);
-        return orderRepository.findAll(specification, page)
+        return pageCountService.findPage(Order.class, orderRepository, criteria, specification, page)
             .map(orderMapper::toDto);
     }
 
+    /**
+     * Return a {@link KeysetSlice} of {@link OrderDTO} which matches the criteria from the database, using keyset
+     * pagination instead of an offset and without counting the matching entities.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The cursor returned with the previous slice, empty for the first slice.
+     * @param page The size and the sort of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<OrderDTO> findByCriteria(OrderCriteria criteria, String after, Pageable page) {
+        log.debug("find by criteria : {}, after: {}, page: {}", criteria, after, page);
+        final Pageable slice = KEYSET.pageable(page);
+        final Specification<Order> specification = createSpecification(criteria).and(KEYSET.seek(slice, after));
+        return KEYSET.slice(orderRepository.findSlice(specification, slice)
+            .map(orderMapper::toDto));
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -77,7 +106,7 @@ public class OrderQueryService extends QueryService<Order> {
     public long countByCriteria(OrderCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<Order> specification = createSpecification(criteria);
-        return orderRepository.count(specification);
+        return pageCountService.count(Order.class, orderRepository, criteria, specification);
     }
 
     /**
@@ -101,6 +130,10 @@ public class OrderQueryService extends QueryService<Order> {
                 specification = specification.and(buildSpecification(criteria.getOrderItemsId(),
                     root -> root.join(Order_.orderItems, JoinType.LEFT).get(OrderItem_.id)));
             }
+            if (criteria.getUserId() != null) {
+                specification = specification.and(buildSpecification(criteria.getUserId(),
+                    root -> root.get(Order_.user).get(User_.id)));
+            }
         }
         return specification;
     }
@@ -1,10 +1,17 @@
 package com.blazenn.ecommerce.service;
 
 import com.blazenn.ecommerce.domain.Order;
-import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.domain.OrderItem;
+import com.blazenn.ecommerce.domain.Product;
+import com.blazenn.ecommerce.repository.OrderItemRepository;
 import com.blazenn.ecommerce.repository.OrderRepository;
+import com.blazenn.ecommerce.repository.ProductRepository;
+import com.blazenn.ecommerce.service.dto.CheckoutDTO;
+import com.blazenn.ecommerce.service.dto.CheckoutItemDTO;
 import com.blazenn.ecommerce.service.dto.OrderDTO;
-import com.blazenn.ecommerce.service.dto.UserDTO;
+import com.blazenn.ecommerce.service.event.OrderDeleted;
+import com.blazenn.ecommerce.service.event.OrderItemAdded;
+import com.blazenn.ecommerce.service.event.OrderPlaced;
 import com.blazenn.ecommerce.service.mapper.OrderMapper;
 import com.blazenn.ecommerce.service.mapper.UserMapper;
 
@@ -16,7 +23,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service Implementation for managing {@link Order}.
@@ -29,17 +43,31 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
 
+    private final OrderItemRepository orderItemRepository;
+
+    private final ProductRepository productRepository;
+
     private final OrderMapper orderMapper;
 
     private final UserMapper userMapper;
 
-    private final UserService userService;
+    private final CurrentUserResolver currentUserResolver;
+
+    private final OrderSummaryService orderSummaryService;
+
+    private final EventOutboxService eventOutboxService;
 
-    public OrderService(OrderRepository orderRepository, OrderMapper orderMapper, UserService userService, UserMapper userMapper) {
+    public OrderService(OrderRepository orderRepository, OrderItemRepository orderItemRepository, ProductRepository productRepository,
+                        OrderMapper orderMapper, CurrentUserResolver currentUserResolver, UserMapper userMapper,
+                        OrderSummaryService orderSummaryService, EventOutboxService eventOutboxService) {
         this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.productRepository = productRepository;
         this.orderMapper = orderMapper;
-        this.userService = userService;
+        this.currentUserResolver = currentUserResolver;
         this.userMapper = userMapper;
+        this.orderSummaryService = orderSummaryService;
+        this.eventOutboxService = eventOutboxService;
     }
 
     private static class AccountResourceException extends RuntimeException {
@@ -49,21 +77,75 @@ public class OrderService {
     }
 
     /**
-     * Save a order.
+     * Save a order, publishing an {@link OrderPlaced} event when it is created.
+     * <p>
+     * The total amount sent by the client is ignored: it is computed from the items of the order.
      *
      * @param orderDTO the entity to save.
      * @return the persisted entity.
      */
     public OrderDTO save(OrderDTO orderDTO) {
-        UserDTO user = userService.getUserWithAuthorities()
-        .map(UserDTO::new)
-        .orElseThrow(() -> new AccountResourceException("User could not be found"));
-        log.debug("Dataa of userDTO in orders: {}", user);
-        User userEntity = userMapper.userDTOToUser(user);
         log.debug("Request to save Order : {}", orderDTO);
+        Long userId = currentUserResolver.getCurrentUserId()
+            .orElseThrow(() -> new AccountResourceException("User could not be found"));
         Order order = orderMapper.toEntity(orderDTO);
-        order.setUser(userEntity);
+        order.setUser(userMapper.userFromId(userId));
+        order = orderRepository.save(order);
+        orderSummaryService.refresh(order.getId());
+        if (orderDTO.getId() == null) {
+            eventOutboxService.publish(new OrderPlaced(order.getId(), userId, order.getOrderDate(), order.getTotalAmount()));
+        }
+        return orderMapper.toDto(order);
+    }
+
+    /**
+     * Place an order with all its lines in a single transaction.
+     * <p>
+     * Unit prices are taken from the products and the total amount is computed from them. Order and order item ids
+     * come from pooled generators, so the inserts are sent in JDBC batches when the transaction is flushed, along with
+     * the {@link OrderPlaced} and {@link OrderItemAdded} events.
+     *
+     * @param checkoutDTO the lines of the order.
+     * @return the persisted order.
+     * @throws ProductNotFoundException if a line refers to a product which does not exist.
+     */
+    public OrderDTO checkout(CheckoutDTO checkoutDTO) {
+        log.debug("Request to checkout : {}", checkoutDTO);
+        Long userId = currentUserResolver.getCurrentUserId()
+            .orElseThrow(() -> new AccountResourceException("User could not be found"));
+        List<Long> productIds = checkoutDTO.getItems().stream()
+            .map(CheckoutItemDTO::getProductId)
+            .distinct()
+            .collect(Collectors.toList());
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Order order = new Order().orderDate(Instant.now());
+        order.setUser(userMapper.userFromId(userId));
+        List<OrderItem> orderItems = new ArrayList<>(checkoutDTO.getItems().size());
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (CheckoutItemDTO item : checkoutDTO.getItems()) {
+            Product product = products.get(item.getProductId());
+            if (product == null) {
+                throw new ProductNotFoundException(item.getProductId());
+            }
+            OrderItem orderItem = new OrderItem()
+                .quantity(item.getQuantity())
+                .unitPrice(product.getPrice())
+                .order(order)
+                .product(product);
+            orderItems.add(orderItem);
+            totalAmount = totalAmount.add(product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        order.setTotalAmount(totalAmount);
         order = orderRepository.save(order);
+        orderItemRepository.saveAll(orderItems);
+        orderSummaryService.refresh(order.getId());
+        eventOutboxService.publish(new OrderPlaced(order.getId(), userId, order.getOrderDate(), totalAmount));
+        for (OrderItem orderItem : orderItems) {
+            eventOutboxService.publish(new OrderItemAdded(orderItem.getId(), order.getId(), orderItem.getProduct().getId(),
+                orderItem.getQuantity(), orderItem.getUnitPrice()));
+        }
         return orderMapper.toDto(order);
     }
 
@@ -95,12 +177,14 @@ public class OrderService {
     }
 
     /**
-     * Delete the order by id.
+     * Delete the order by id, publishing an {@link OrderDeleted} event.
      *
      * @param id the id of the entity.
      */
     public void delete(Long id) {
         log.debug("Request to delete Order : {}", id);
         orderRepository.deleteById(id);
+        orderSummaryService.refresh(id);
+        eventOutboxService.publish(new OrderDeleted(id));
     }
 }
@@ -0,0 +1,153 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.domain.OrderSummary;
+import com.blazenn.ecommerce.domain.UserOrderSummary;
+import com.blazenn.ecommerce.repository.OrderRepository;
+import com.blazenn.ecommerce.repository.OrderSummaryRepository;
+import com.blazenn.ecommerce.repository.OrderSummaryRepository.OrderTotals;
+import com.blazenn.ecommerce.repository.UserOrderSummaryRepository;
+import com.blazenn.ecommerce.service.dto.UserOrderSummaryDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Service maintaining the {@link OrderSummary} of each order and the {@link UserOrderSummary} of each user.
+ * <p>
+ * The services writing orders and order items call {@link #refresh(Long)} with the orders they changed. The summary
+ * of the order is recomputed from its items only, and the difference with the previous summary is applied to the
+ * summary of its user, so the cost of a refresh does not depend on the number of orders of the user.
+ * <p>
+ * The summary of the order and the summary of its user are locked until the end of the transaction, so that
+ * concurrent refreshes of an order, and concurrent orders of a user, are applied one after the other. The summary of a
+ * user without one yet is inserted if absent first, so that there is always a row to lock.
+ * <p>
+ * The total amount of the order itself is set to the one computed from its items as well, so that it never holds the
+ * amount sent by a client.
+ */
+@Service
+@Transactional
+public class OrderSummaryService {
+
+    private final Logger log = LoggerFactory.getLogger(OrderSummaryService.class);
+
+    private final OrderRepository orderRepository;
+
+    private final OrderSummaryRepository orderSummaryRepository;
+
+    private final UserOrderSummaryRepository userOrderSummaryRepository;
+
+    private final CurrentUserResolver currentUserResolver;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderSummaryService(OrderRepository orderRepository, OrderSummaryRepository orderSummaryRepository,
+                               UserOrderSummaryRepository userOrderSummaryRepository, CurrentUserResolver currentUserResolver,
+                               JdbcTemplate jdbcTemplate) {
+        this.orderRepository = orderRepository;
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.userOrderSummaryRepository = userOrderSummaryRepository;
+        this.currentUserResolver = currentUserResolver;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Recompute the summary and the total amount of an order, after it or one of its items was created, updated or
+     * deleted, and apply the change to the summary of its user.
+     *
+     * @param orderId the id of the order, {@code null} for none.
+     */
+    public void refresh(Long orderId) {
+        if (orderId == null) {
+            return;
+        }
+        log.debug("Request to refresh OrderSummary : {}", orderId);
+        Optional<OrderSummary> previous = orderSummaryRepository.findOneForUpdate(orderId);
+        Optional<OrderTotals> totals = orderSummaryRepository.computeTotals(orderId);
+        // the previous summary is updated in place below
+        Long previousUserId = previous.map(OrderSummary::getUserId).orElse(null);
+        Instant previousOrderDate = previous.map(OrderSummary::getOrderDate).orElse(null);
+
+        previous.filter(summary -> summary.getUserId() != null).ifPresent(summary -> {
+            UserOrderSummary userSummary = findForUpdate(summary.getUserId());
+            userSummary.setOrderCount(userSummary.getOrderCount() - 1);
+            userSummary.setTotalSpent(userSummary.getTotalSpent().subtract(summary.getTotalAmount()));
+        });
+
+        if (totals.isPresent()) {
+            BigDecimal totalAmount = totals.get().getTotalAmount();
+            orderRepository.findById(orderId).ifPresent(order -> order.setTotalAmount(totalAmount));
+            OrderSummary summary = previous.orElseGet(() -> new OrderSummary().orderId(orderId));
+            summary.setUserId(totals.get().getUserId());
+            summary.setOrderDate(totals.get().getOrderDate());
+            summary.setItemCount(totals.get().getItemCount());
+            summary.setTotalAmount(totalAmount);
+            summary = orderSummaryRepository.save(summary);
+            if (summary.getUserId() != null) {
+                UserOrderSummary userSummary = findForUpdate(summary.getUserId());
+                userSummary.setOrderCount(userSummary.getOrderCount() + 1);
+                userSummary.setTotalSpent(userSummary.getTotalSpent().add(summary.getTotalAmount()));
+                if (userSummary.getLastOrderDate() == null || userSummary.getLastOrderDate().isBefore(summary.getOrderDate())) {
+                    userSummary.setLastOrderDate(summary.getOrderDate());
+                }
+            }
+        } else {
+            previous.ifPresent(orderSummaryRepository::delete);
+        }
+
+        // the previous order date may have been the last one of its user
+        if (previousUserId != null) {
+            UserOrderSummary userSummary = findForUpdate(previousUserId);
+            if (previousOrderDate.equals(userSummary.getLastOrderDate())) {
+                userSummary.setLastOrderDate(orderSummaryRepository.findLastOrderDateByUserId(previousUserId).orElse(null));
+            }
+        }
+    }
+
+    /**
+     * Get the summary of the orders of a user.
+     *
+     * @param userId the id of the user.
+     * @return the summary, empty if the user has no order.
+     */
+    @Transactional(readOnly = true)
+    public UserOrderSummaryDTO findByUserId(Long userId) {
+        log.debug("Request to get UserOrderSummary : {}", userId);
+        return userOrderSummaryRepository.findById(userId)
+            .map(UserOrderSummaryDTO::new)
+            .orElseGet(UserOrderSummaryDTO::new);
+    }
+
+    /**
+     * Get the summary of the orders of the current user.
+     *
+     * @return the summary, empty if there is no authenticated user.
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserOrderSummaryDTO> findForCurrentUser() {
+        return currentUserResolver.getCurrentUserId().map(this::findByUserId);
+    }
+
+    private UserOrderSummary findForUpdate(Long userId) {
+        Optional<UserOrderSummary> userSummary = userOrderSummaryRepository.findOneForUpdate(userId);
+        if (userSummary.isPresent()) {
+            return userSummary.get();
+        }
+        // inserted with plain JDBC: a duplicate key only fails this statement, and leaves the transaction usable
+        try {
+            jdbcTemplate.update("insert into user_order_summary (user_id, order_count, total_spent) values (?, 0, 0)", userId);
+        } catch (DuplicateKeyException e) {
+            log.debug("UserOrderSummary {} inserted by a concurrent transaction", userId);
+        }
+        return userOrderSummaryRepository.findOneForUpdate(userId)
+            .orElseThrow(() -> new IllegalStateException("UserOrderSummary " + userId + " could not be created"));
+    }
+}
@@ -0,0 +1,178 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+import com.blazenn.ecommerce.domain.AbstractOutboxEntry;
+import com.blazenn.ecommerce.domain.enumeration.OutboxStatus;
+import com.blazenn.ecommerce.repository.OutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The claim and retry logic shared by the services delivering the entries of an outbox table.
+ * <p>
+ * The due entries are claimed in batches for {@code claim-seconds}, so that several instances can deliver them. An
+ * entry which could not be delivered is retried with an exponential backoff, up to {@code max-attempts} times, and
+ * then kept as failed. The deliveries are reported in the {@code <name>.outbox.deliveries},
+ * {@code <name>.outbox.latency} and {@code <name>.outbox.depth} metrics.
+ *
+ * @param <T> the type of the entries.
+ */
+class OutboxWorker<T extends AbstractOutboxEntry> {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final Logger log = LoggerFactory.getLogger(OutboxWorker.class);
+
+    private final String name;
+
+    private final OutboxRepository<T> repository;
+
+    private final ApplicationProperties.Outbox properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong depth = new AtomicLong();
+
+    private final Counter retried;
+
+    private final Counter failed;
+
+    private final Timer latency;
+
+    OutboxWorker(String name, OutboxRepository<T> repository, ApplicationProperties.Outbox properties,
+                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.repository = repository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.retried = deliveries("retried");
+        this.failed = deliveries("failed");
+        this.latency = Timer.builder(name + ".outbox.latency")
+            .description("Time from the queueing of an entry of the " + name + " outbox to its delivery")
+            .register(meterRegistry);
+        Gauge.builder(name + ".outbox.depth", depth, AtomicLong::get)
+            .description("Entries of the " + name + " outbox waiting for delivery, as of the last run of its worker")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @param result the result of the delivery attempts.
+     * @return the counter of the delivery attempts with this result.
+     */
+    Counter deliveries(String result) {
+        return Counter.builder(name + ".outbox.deliveries")
+            .description("Delivery attempts of the entries of the " + name + " outbox")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Save a new entry in the current transaction, due now.
+     *
+     * @param entry the entry.
+     */
+    void queue(T entry) {
+        Instant now = Instant.now();
+        entry.setStatus(OutboxStatus.PENDING);
+        entry.setAttempts(0);
+        entry.setCreatedDate(now);
+        entry.setNextAttemptDate(now);
+        repository.save(entry);
+    }
+
+    /**
+     * Claim a batch of due entries, in a transaction of its own.
+     *
+     * @return the entries claimed, which no other worker will claim for {@code claim-seconds}.
+     */
+    List<T> claim() {
+        Instant now = Instant.now();
+        Instant claimedUntil = now.plusSeconds(properties.getClaimSeconds());
+        return transactionTemplate.execute(status -> {
+            List<T> claimed = new ArrayList<>();
+            for (T entry : repository.findByStatusAndNextAttemptDateLessThanEqualOrderById(
+                OutboxStatus.PENDING, now, PageRequest.of(0, properties.getBatchSize()))) {
+                if (repository.claim(entry.getId(), now, claimedUntil) == 1) {
+                    claimed.add(entry);
+                }
+            }
+            return claimed;
+        });
+    }
+
+    /**
+     * Record the delivery of an entry.
+     *
+     * @param entry the entry.
+     * @param date  the date of the delivery.
+     */
+    void delivered(T entry, Instant date) {
+        latency.record(Duration.between(entry.getCreatedDate(), date));
+    }
+
+    /**
+     * Schedule the next attempt to deliver an entry, or mark it as failed after {@code max-attempts} attempts.
+     *
+     * @param entry   the entry.
+     * @param failure the reason why it could not be delivered.
+     * @param now     the date of the attempt.
+     */
+    void retryLater(T entry, Exception failure, Instant now) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(truncate(String.valueOf(failure.getMessage())));
+        if (attempts >= properties.getMaxAttempts()) {
+            log.warn("Entry {} of the {} outbox could not be delivered after {} attempts", entry.getId(), name, attempts, failure);
+            entry.setStatus(OutboxStatus.FAILED);
+            failed.increment();
+        } else {
+            long backoff = Math.min(properties.getBackoffSeconds() << Math.min(attempts - 1, 30), properties.getMaxBackoffSeconds());
+            log.debug("Entry {} of the {} outbox could not be delivered, retrying in {} seconds", entry.getId(), name, backoff);
+            entry.setNextAttemptDate(now.plusSeconds(backoff));
+            retried.increment();
+        }
+    }
+
+    /**
+     * Delete the delivered entries, and save the next attempt of the others, in a transaction of its own.
+     *
+     * @param done     the entries delivered, or dropped.
+     * @param failures the entries which could not be delivered, passed to {@link #retryLater}.
+     */
+    void complete(Collection<T> done, Collection<T> failures) {
+        transactionTemplate.execute(status -> {
+            repository.deleteInBatch(done);
+            repository.saveAll(failures);
+            return null;
+        });
+    }
+
+    /**
+     * Update the {@code <name>.outbox.depth} metric with the number of pending entries.
+     */
+    void updateDepth() {
+        depth.set(repository.countByStatus(OutboxStatus.PENDING));
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
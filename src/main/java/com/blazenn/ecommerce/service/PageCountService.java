@@ -0,0 +1,194 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+import com.blazenn.ecommerce.config.ApplicationProperties.Count.Strategy;
+import com.blazenn.ecommerce.repository.SliceSpecificationExecutor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.jhipster.service.Criteria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.Table;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service computing the pages of the paginated listings, with the total number of matching entities counted according
+ * to the {@code application.count.strategy} setting.
+ * <p>
+ * A page is read with one extra row, and when it is the last page its total is known without a count query. Otherwise
+ * the total is counted on every request ({@link Strategy#EXACT}), counted once per criteria and cached for a few
+ * seconds ({@link Strategy#CACHED}), or read from the table statistics of the database when the listing is unfiltered
+ * ({@link Strategy#ESTIMATED}). Cached and estimated totals may be slightly off.
+ */
+@Service
+public class PageCountService {
+
+    private static final String MYSQL_ESTIMATE_QUERY =
+        "select table_rows from information_schema.tables where table_schema = database() and table_name = ?";
+
+    private static final String H2_ESTIMATE_QUERY =
+        "select row_count_estimate from information_schema.tables where table_schema = schema() and table_name = ?";
+
+    private final Logger log = LoggerFactory.getLogger(PageCountService.class);
+
+    private final Strategy strategy;
+
+    private final Cache<String, Long> counts;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Class<?>, Criteria> emptyCriteria = new ConcurrentHashMap<>();
+
+    private volatile String estimateQuery;
+
+    public PageCountService(ApplicationProperties applicationProperties, JdbcTemplate jdbcTemplate) {
+        ApplicationProperties.Count count = applicationProperties.getCount();
+        this.strategy = count.getStrategy();
+        this.counts = Caffeine.newBuilder()
+            .expireAfterWrite(count.getTimeToLiveSeconds(), TimeUnit.SECONDS)
+            .maximumSize(count.getMaxEntries())
+            .build();
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Read a page of the entities matching a specification.
+     *
+     * @param entityClass the entity type.
+     * @param repository the repository of the entity.
+     * @param criteria the criteria the specification was built from, {@code null} if unfiltered.
+     * @param specification the specification.
+     * @param pageable the page to read.
+     * @param <T> the entity type.
+     * @param <R> the repository type.
+     * @return the page.
+     */
+    public <T, R extends JpaSpecificationExecutor<T> & SliceSpecificationExecutor<T>> Page<T> findPage(
+        Class<T> entityClass, R repository, Criteria criteria, Specification<T> specification, Pageable pageable) {
+        return toPage(entityClass, repository, criteria, specification, repository.findSlice(specification, pageable));
+    }
+
+    /**
+     * Complete a slice read with one extra row, such as a projection, into a page.
+     *
+     * @param entityClass the entity type.
+     * @param repository the repository of the entity.
+     * @param criteria the criteria the specification was built from, {@code null} if unfiltered.
+     * @param specification the specification the slice was read with.
+     * @param slice the slice.
+     * @param <T> the entity type.
+     * @param <D> the type of the slice content.
+     * @return the page.
+     */
+    public <T, D> Page<D> toPage(Class<T> entityClass, JpaSpecificationExecutor<T> repository, Criteria criteria,
+                                 Specification<T> specification, Slice<D> slice) {
+        Pageable pageable = slice.getPageable();
+        List<D> content = slice.getContent();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        if (!slice.hasNext() && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            // the last page, its total is known
+            return new PageImpl<>(content, pageable, pageable.getOffset() + content.size());
+        }
+        long total = count(entityClass, repository, criteria, specification);
+        if (slice.hasNext()) {
+            // a stale total must not hide the next page
+            total = Math.max(total, pageable.getOffset() + content.size() + 1);
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Count the entities matching a specification.
+     *
+     * @param entityClass the entity type.
+     * @param repository the repository of the entity.
+     * @param criteria the criteria the specification was built from, {@code null} if unfiltered.
+     * @param specification the specification.
+     * @param <T> the entity type.
+     * @return the number of matching entities.
+     */
+    public <T> long count(Class<T> entityClass, JpaSpecificationExecutor<T> repository, Criteria criteria,
+                          Specification<T> specification) {
+        if (strategy == Strategy.EXACT) {
+            return repository.count(specification);
+        }
+        if (strategy == Strategy.ESTIMATED && isUnfiltered(criteria)) {
+            Long estimate = counts.get(entityClass.getName(), key -> estimate(entityClass));
+            if (estimate != null) {
+                return estimate;
+            }
+        }
+        return counts.get(entityClass.getName() + ":" + criteria, key -> repository.count(specification));
+    }
+
+    /**
+     * Drop the cached totals.
+     */
+    public void clear() {
+        counts.invalidateAll();
+    }
+
+    private Long estimate(Class<?> entityClass) {
+        Table table = entityClass.getAnnotation(Table.class);
+        String query = estimateQuery();
+        if (table == null || query.isEmpty()) {
+            return null;
+        }
+        String tableName = H2_ESTIMATE_QUERY.equals(query) ? table.name().toUpperCase(Locale.ROOT) : table.name();
+        List<Long> estimates = jdbcTemplate.queryForList(query, Long.class, tableName);
+        if (estimates.isEmpty() || estimates.get(0) == null) {
+            return null;
+        }
+        log.debug("Estimated {} rows in {}", estimates.get(0), tableName);
+        return estimates.get(0);
+    }
+
+    private String estimateQuery() {
+        String query = estimateQuery;
+        if (query == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            if ("MySQL".equalsIgnoreCase(product) || "MariaDB".equalsIgnoreCase(product)) {
+                query = MYSQL_ESTIMATE_QUERY;
+            } else if ("H2".equalsIgnoreCase(product)) {
+                query = H2_ESTIMATE_QUERY;
+            } else {
+                log.warn("Row estimates are not supported on {}, counting instead", product);
+                query = "";
+            }
+            estimateQuery = query;
+        }
+        return query;
+    }
+
+    private boolean isUnfiltered(Criteria criteria) {
+        if (criteria == null) {
+            return true;
+        }
+        Criteria empty = emptyCriteria.computeIfAbsent(criteria.getClass(), type -> {
+            try {
+                return (Criteria) type.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        });
+        return criteria.equals(empty);
+    }
+}
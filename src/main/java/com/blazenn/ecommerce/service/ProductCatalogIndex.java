@@ -0,0 +1,489 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+import com.blazenn.ecommerce.domain.Category;
+import com.blazenn.ecommerce.repository.ProductRepository;
+import com.blazenn.ecommerce.service.dto.ProductCriteria;
+import com.blazenn.ecommerce.service.dto.ProductDTO;
+import com.blazenn.ecommerce.service.mapper.ProductMapper;
+
+import io.github.jhipster.service.filter.Filter;
+import io.github.jhipster.service.filter.RangeFilter;
+import io.github.jhipster.service.filter.StringFilter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of the product catalog, used by {@link ProductQueryService} to answer
+ * {@link ProductCriteria} queries without going to the database.
+ * <p>
+ * Products are kept sorted by price, bucketed by category id and keyed by id. The index is kept in sync by
+ * {@link ProductService} and {@link CategoryService}, and changes are only applied once their transaction commits.
+ * The products written otherwise, by another instance or directly in the database, only appear when the index is
+ * rebuilt, every {@code application.product-index.rebuild-interval-ms} milliseconds.
+ * When a criteria or a sort cannot be evaluated in memory (for example {@code orderItemsId}), an empty
+ * {@link Optional} is returned and the caller falls back to the database.
+ * <p>
+ * String equality is evaluated case-sensitively, and {@code contains} is evaluated case-insensitively, like the
+ * {@link io.github.jhipster.service.QueryService} specifications do.
+ */
+@Service
+public class ProductCatalogIndex {
+
+    private final Logger log = LoggerFactory.getLogger(ProductCatalogIndex.class);
+
+    private static final Set<String> SORTABLE_PROPERTIES = new HashSet<>(Arrays.asList("id", "name", "price"));
+
+    private static final Comparator<ProductDTO> BY_ID = Comparator.comparing(ProductDTO::getId);
+
+    private static final Comparator<ProductDTO> BY_PRICE = Comparator.comparing(ProductDTO::getPrice).thenComparing(BY_ID);
+
+    private final ProductRepository productRepository;
+
+    private final ProductMapper productMapper;
+
+    private final boolean enabled;
+
+    // guarded by this
+    private final Map<Long, ProductDTO> products = new HashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    // guarded by this
+    private boolean loaded;
+
+    /**
+     * Changes committed while the index is rebuilt, replayed on the rebuilt products; guarded by this.
+     */
+    private List<Consumer<Map<Long, ProductDTO>>> changesDuringRebuild;
+
+    public ProductCatalogIndex(ProductRepository productRepository, ProductMapper productMapper, ApplicationProperties applicationProperties) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.enabled = applicationProperties.getProductIndex().isEnabled();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Return a {@link Page} of {@link ProductDTO} which matches the criteria, if the index can evaluate it.
+     *
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities, or an empty {@link Optional} if the database must be used instead.
+     */
+    public Optional<Page<ProductDTO>> findByCriteria(ProductCriteria criteria, Pageable page) {
+        if (!enabled || !supports(criteria) || !supports(page.getSort())) {
+            return Optional.empty();
+        }
+        List<ProductDTO> matches = match(criteria);
+        matches.sort(comparator(page.getSort()));
+        if (page.isUnpaged()) {
+            return Optional.of(new PageImpl<>(matches, page, matches.size()));
+        }
+        int from = (int) Math.min(page.getOffset(), matches.size());
+        int to = Math.min(from + page.getPageSize(), matches.size());
+        return Optional.of(new PageImpl<>(new ArrayList<>(matches.subList(from, to)), page, matches.size()));
+    }
+
+    /**
+     * Return the number of entities matching the criteria, if the index can evaluate it.
+     *
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities, or an empty {@link Optional} if the database must be used instead.
+     */
+    public Optional<Long> countByCriteria(ProductCriteria criteria) {
+        if (!enabled || !supports(criteria)) {
+            return Optional.empty();
+        }
+        return Optional.of((long) match(criteria).size());
+    }
+
+    /**
+     * Add or replace a product, once the current transaction commits.
+     *
+     * @param productDTO the saved product.
+     */
+    public void put(ProductDTO productDTO) {
+        if (enabled) {
+            ProductDTO copy = copy(productDTO);
+            afterCommit(() -> apply(indexed -> indexed.put(copy.getId(), copy)));
+        }
+    }
+
+    /**
+     * Remove a product, once the current transaction commits.
+     *
+     * @param id the id of the deleted product.
+     */
+    public void remove(Long id) {
+        if (enabled) {
+            afterCommit(() -> apply(indexed -> indexed.remove(id)));
+        }
+    }
+
+    /**
+     * Refresh the category attached to the indexed products, once the current transaction commits.
+     *
+     * @param category the saved category.
+     */
+    public void updateCategory(Category category) {
+        if (enabled && category.getId() != null) {
+            afterCommit(() -> apply(indexed -> indexed.values().stream()
+                .filter(product -> category.getId().equals(categoryId(product)))
+                .map(ProductDTO::getId)
+                .collect(Collectors.toList())
+                .forEach(id -> indexed.computeIfPresent(id, (key, product) -> {
+                    ProductDTO copy = copy(product);
+                    copy.setCategory(category);
+                    return copy;
+                }))));
+        }
+    }
+
+    /**
+     * Reload the products from the database, to pick up those not written through {@link ProductService}.
+     * <p>
+     * This is scheduled to run every {@code application.product-index.rebuild-interval-ms} milliseconds, once the
+     * index has been loaded; the queries keep being answered from the previous products meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${application.product-index.rebuild-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            if (!enabled || !loaded || changesDuringRebuild != null) {
+                return;
+            }
+            changesDuringRebuild = new ArrayList<>();
+        }
+        Map<Long, ProductDTO> rebuilt = new HashMap<>();
+        boolean complete = false;
+        try {
+            log.debug("Rebuilding the product catalog index");
+            productRepository.findAll().forEach(product -> rebuilt.put(product.getId(), productMapper.toDto(product)));
+            complete = true;
+        } finally {
+            synchronized (this) {
+                List<Consumer<Map<Long, ProductDTO>>> changes = changesDuringRebuild;
+                changesDuringRebuild = null;
+                if (complete) {
+                    changes.forEach(change -> change.accept(rebuilt));
+                    products.clear();
+                    products.putAll(rebuilt);
+                    version.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private synchronized void apply(Consumer<Map<Long, ProductDTO>> change) {
+        change.accept(products);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+        version.incrementAndGet();
+    }
+
+    private List<ProductDTO> match(ProductCriteria criteria) {
+        return snapshot().candidates(criteria).stream()
+            .filter(product -> matches(criteria, product))
+            .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.version == version.get()) {
+            return current;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                log.debug("Loading the product catalog index");
+                productRepository.findAll().forEach(product -> products.putIfAbsent(product.getId(), productMapper.toDto(product)));
+                loaded = true;
+            }
+            long currentVersion = version.get();
+            current = snapshot;
+            if (current == null || current.version != currentVersion) {
+                current = new Snapshot(currentVersion, products.values());
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static boolean supports(ProductCriteria criteria) {
+        if (criteria == null) {
+            return true;
+        }
+        return criteria.getOrderItemsId() == null &&
+            isPlainText(criteria.getName()) &&
+            isPlainText(criteria.getDescription());
+    }
+
+    /**
+     * {@code contains} filters are turned into {@code LIKE} patterns by the specifications, so wildcards in the value
+     * are only evaluated by the database.
+     */
+    private static boolean isPlainText(StringFilter filter) {
+        return filter == null || (isPlainText(filter.getContains()) && isPlainText(filter.getDoesNotContain()));
+    }
+
+    private static boolean isPlainText(String value) {
+        return value == null || (value.indexOf('%') < 0 && value.indexOf('_') < 0);
+    }
+
+    private static boolean supports(Sort sort) {
+        return sort.stream().allMatch(order -> SORTABLE_PROPERTIES.contains(order.getProperty()));
+    }
+
+    private static Comparator<ProductDTO> comparator(Sort sort) {
+        Comparator<ProductDTO> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<ProductDTO> next;
+            switch (order.getProperty()) {
+                case "name":
+                    next = Comparator.comparing(ProductDTO::getName);
+                    break;
+                case "price":
+                    next = Comparator.comparing(ProductDTO::getPrice);
+                    break;
+                default:
+                    next = BY_ID;
+            }
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator == null ? BY_ID : comparator.thenComparing(BY_ID);
+    }
+
+    private static boolean matches(ProductCriteria criteria, ProductDTO product) {
+        return criteria == null || (
+            matches(criteria.getId(), product.getId()) &&
+            matches(criteria.getName(), product.getName()) &&
+            matches(criteria.getDescription(), product.getDescription()) &&
+            matches(criteria.getPrice(), product.getPrice()) &&
+            matches(criteria.getCategoryId(), categoryId(product)));
+    }
+
+    private static boolean matches(StringFilter filter, String value) {
+        if (filter == null) {
+            return true;
+        }
+        if (filter.getEquals() != null || filter.getIn() != null || filter.getNotIn() != null) {
+            return matchesEquality(filter, value);
+        }
+        if (filter.getContains() != null) {
+            return value != null && upper(value).contains(upper(filter.getContains()));
+        }
+        if (filter.getDoesNotContain() != null) {
+            return value != null && !upper(value).contains(upper(filter.getDoesNotContain()));
+        }
+        return matchesEquality(filter, value);
+    }
+
+    private static <X extends Comparable<? super X>> boolean matches(RangeFilter<X> filter, X value) {
+        if (filter == null) {
+            return true;
+        }
+        if (filter.getEquals() != null || filter.getIn() != null) {
+            return matchesEquality(filter, value);
+        }
+        if (filter.getSpecified() != null && filter.getSpecified() != (value != null)) {
+            return false;
+        }
+        if (value == null) {
+            return filter.getNotEquals() == null && filter.getNotIn() == null &&
+                filter.getGreaterThan() == null && filter.getGreaterThanOrEqual() == null &&
+                filter.getLessThan() == null && filter.getLessThanOrEqual() == null;
+        }
+        return (filter.getNotEquals() == null || value.compareTo(filter.getNotEquals()) != 0) &&
+            (filter.getNotIn() == null || filter.getNotIn().stream().noneMatch(other -> value.compareTo(other) == 0)) &&
+            (filter.getGreaterThan() == null || value.compareTo(filter.getGreaterThan()) > 0) &&
+            (filter.getGreaterThanOrEqual() == null || value.compareTo(filter.getGreaterThanOrEqual()) >= 0) &&
+            (filter.getLessThan() == null || value.compareTo(filter.getLessThan()) < 0) &&
+            (filter.getLessThanOrEqual() == null || value.compareTo(filter.getLessThanOrEqual()) <= 0);
+    }
+
+    private static <X> boolean matchesEquality(Filter<X> filter, X value) {
+        if (filter.getEquals() != null) {
+            return value != null && same(value, filter.getEquals());
+        }
+        if (filter.getIn() != null) {
+            return value != null && filter.getIn().stream().anyMatch(other -> same(value, other));
+        }
+        if (filter.getNotIn() != null) {
+            return value != null && filter.getNotIn().stream().noneMatch(other -> same(value, other));
+        }
+        if (filter.getNotEquals() != null) {
+            return value != null && !same(value, filter.getNotEquals());
+        }
+        if (filter.getSpecified() != null) {
+            return filter.getSpecified() == (value != null);
+        }
+        return true;
+    }
+
+    private static boolean same(Object value, Object other) {
+        if (value instanceof BigDecimal && other instanceof BigDecimal) {
+            return ((BigDecimal) value).compareTo((BigDecimal) other) == 0;
+        }
+        return value.equals(other);
+    }
+
+    private static String upper(String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+
+    private static Long categoryId(ProductDTO product) {
+        return product.getCategory() != null ? product.getCategory().getId() : product.getCategoryId();
+    }
+
+    private static ProductDTO copy(ProductDTO productDTO) {
+        ProductDTO copy = new ProductDTO();
+        copy.setId(productDTO.getId());
+        copy.setName(productDTO.getName());
+        copy.setDescription(productDTO.getDescription());
+        copy.setPrice(productDTO.getPrice());
+        copy.setCategory(productDTO.getCategory());
+        copy.setCategoryId(productDTO.getCategoryId());
+        return copy;
+    }
+
+    /**
+     * Immutable view of the indexed products, rebuilt lazily after each change.
+     */
+    private static final class Snapshot {
+
+        private final long version;
+
+        private final List<ProductDTO> byId;
+
+        private final List<ProductDTO> byPrice;
+
+        private final Map<Long, List<ProductDTO>> byCategory;
+
+        private final Map<Long, ProductDTO> lookup;
+
+        private Snapshot(long version, Collection<ProductDTO> products) {
+            this.version = version;
+            this.byId = products.stream().sorted(BY_ID).collect(Collectors.toList());
+            this.byPrice = products.stream().sorted(BY_PRICE).collect(Collectors.toList());
+            this.byCategory = byId.stream()
+                .filter(product -> categoryId(product) != null)
+                .collect(Collectors.groupingBy(ProductCatalogIndex::categoryId));
+            this.lookup = byId.stream().collect(Collectors.toMap(ProductDTO::getId, product -> product));
+        }
+
+        /**
+         * Use the most selective index available for the criteria; remaining filters are applied by the caller.
+         */
+        private Collection<ProductDTO> candidates(ProductCriteria criteria) {
+            if (criteria == null) {
+                return byId;
+            }
+            if (criteria.getId() != null && (criteria.getId().getEquals() != null || criteria.getId().getIn() != null)) {
+                return lookup(criteria.getId().getEquals() != null ?
+                    Collections.singletonList(criteria.getId().getEquals()) : criteria.getId().getIn(), lookup::get);
+            }
+            if (criteria.getCategoryId() != null && (criteria.getCategoryId().getEquals() != null || criteria.getCategoryId().getIn() != null)) {
+                List<Long> ids = criteria.getCategoryId().getEquals() != null ?
+                    Collections.singletonList(criteria.getCategoryId().getEquals()) : criteria.getCategoryId().getIn();
+                return ids.stream().distinct()
+                    .flatMap(id -> byCategory.getOrDefault(id, Collections.emptyList()).stream())
+                    .collect(Collectors.toList());
+            }
+            if (criteria.getPrice() != null && criteria.getPrice().getIn() == null) {
+                return priceRange(criteria.getPrice());
+            }
+            return byId;
+        }
+
+        private static List<ProductDTO> lookup(List<Long> ids, Function<Long, ProductDTO> finder) {
+            return ids.stream().distinct().map(finder).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+
+        private List<ProductDTO> priceRange(RangeFilter<BigDecimal> filter) {
+            int from = 0;
+            int to = byPrice.size();
+            if (filter.getEquals() != null) {
+                from = lowerBound(filter.getEquals(), true);
+                to = upperBound(filter.getEquals(), true);
+            } else {
+                if (filter.getGreaterThanOrEqual() != null) {
+                    from = Math.max(from, lowerBound(filter.getGreaterThanOrEqual(), true));
+                }
+                if (filter.getGreaterThan() != null) {
+                    from = Math.max(from, lowerBound(filter.getGreaterThan(), false));
+                }
+                if (filter.getLessThanOrEqual() != null) {
+                    to = Math.min(to, upperBound(filter.getLessThanOrEqual(), true));
+                }
+                if (filter.getLessThan() != null) {
+                    to = Math.min(to, upperBound(filter.getLessThan(), false));
+                }
+            }
+            return from < to ? byPrice.subList(from, to) : Collections.emptyList();
+        }
+
+        /**
+         * @return the index of the first product priced above (or at, when inclusive) the bound.
+         */
+        private int lowerBound(BigDecimal bound, boolean inclusive) {
+            int low = 0;
+            int high = byPrice.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = byPrice.get(middle).getPrice().compareTo(bound);
+                if (comparison < 0 || (!inclusive && comparison == 0)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return the index of the first product priced above (or at, when exclusive) the bound.
+         */
+        private int upperBound(BigDecimal bound, boolean inclusive) {
+            return lowerBound(bound, !inclusive);
+        }
+    }
+}
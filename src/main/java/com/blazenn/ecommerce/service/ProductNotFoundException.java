@@ -0,0 +1,11 @@
+package com.blazenn.ecommerce.service;
+
+public class ProductNotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ProductNotFoundException(Long productId) {
+        super("Product " + productId + " could not be found");
+    }
+
+}
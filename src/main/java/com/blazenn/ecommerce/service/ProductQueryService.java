@@ -1,6 +1,8 @@
 package com.blazenn.ecommerce.service;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 import javax.persistence.criteria.JoinType;
 
@@ -19,6 +21,7 @@ import com.blazenn.ecommerce.domain.*; // for static metamodels
 import com.blazenn.ecommerce.repository.ProductRepository;
 import com.blazenn.ecommerce.service.dto.ProductCriteria;
 import com.blazenn.ecommerce.service.dto.ProductDTO;
+import com.blazenn.ecommerce.service.dto.KeysetSlice;
 import com.blazenn.ecommerce.service.mapper.ProductMapper;
 
 /**
@@ -33,29 +36,47 @@ public class ProductQueryService extends QueryService<Product> {
 
     private final Logger log = LoggerFactory.getLogger(ProductQueryService.class);
 
+    private static final KeysetPagination<Product, ProductDTO> KEYSET =
+        new KeysetPagination<Product, ProductDTO>(Product_.ID, ProductDTO::getId)
+            .key(Product_.NAME, String.class, ProductDTO::getName)
+            .key(Product_.PRICE, BigDecimal.class, ProductDTO::getPrice);
+
     private final ProductRepository productRepository;
 
     private final ProductMapper productMapper;
 
-    public ProductQueryService(ProductRepository productRepository, ProductMapper productMapper) {
+    private final ProductCatalogIndex productCatalogIndex;
+
+    private final PageCountService pageCountService;
+
+    public ProductQueryService(ProductRepository productRepository, ProductMapper productMapper, ProductCatalogIndex productCatalogIndex,
+        PageCountService pageCountService) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.productCatalogIndex = productCatalogIndex;
+        this.pageCountService = pageCountService;
     }
 
     /**
-     * Return a {@link List} of {@link ProductDTO} which matches the criteria from the database.
+     * Return a {@link List} of {@link ProductDTO} which matches the criteria from the {@link ProductCatalogIndex},
+     * or from the database when the index cannot evaluate the criteria.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
     public List<ProductDTO> findByCriteria(ProductCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
+        Optional<Page<ProductDTO>> indexed = productCatalogIndex.findByCriteria(criteria, Pageable.unpaged());
+        if (indexed.isPresent()) {
+            return indexed.get().getContent();
+        }
         final Specification<Product> specification = createSpecification(criteria);
         return productMapper.toDto(productRepository.findAll(specification));
     }
 
     /**
-     * Return a {@link Page} of {@link ProductDTO} which matches the criteria from the database.
+     * Return a {@link Page} of {@link ProductDTO} which matches the criteria from the {@link ProductCatalogIndex},
+     * or from the database when the index cannot evaluate the criteria.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
@@ -63,21 +84,43 @@ public class ProductQueryService extends QueryService<Product> {
     @Transactional(readOnly = true)
     public Page<ProductDTO> findByCriteria(ProductCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
-        final Specification<Product> specification = createSpecification(criteria);
-        return productRepository.findAll(specification, page)
-            .map(productMapper::toDto);
+        return productCatalogIndex.findByCriteria(criteria, page).orElseGet(() -> {
+            final Specification<Product> specification = createSpecification(criteria);
+            return pageCountService.findPage(Product.class, productRepository, criteria, specification, page)
+                .map(productMapper::toDto);
+        });
     }
 
     /**
-     * Return the number of matching entities in the database.
+     * Return a {@link KeysetSlice} of {@link ProductDTO} which matches the criteria from the database, using keyset
+     * pagination instead of an offset and without counting the matching entities.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The cursor returned with the previous slice, empty for the first slice.
+     * @param page The size and the sort of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<ProductDTO> findByCriteria(ProductCriteria criteria, String after, Pageable page) {
+        log.debug("find by criteria : {}, after: {}, page: {}", criteria, after, page);
+        final Pageable slice = KEYSET.pageable(page);
+        final Specification<Product> specification = createSpecification(criteria).and(KEYSET.seek(slice, after));
+        return KEYSET.slice(productRepository.findSlice(specification, slice)
+            .map(productMapper::toDto));
+    }
+
+    /**
+     * Return the number of matching entities in the {@link ProductCatalogIndex}, or in the database when the index
+     * cannot evaluate the criteria.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
     @Transactional(readOnly = true)
     public long countByCriteria(ProductCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
-        final Specification<Product> specification = createSpecification(criteria);
-        return productRepository.count(specification);
+        return productCatalogIndex.countByCriteria(criteria).orElseGet(() -> {
+            final Specification<Product> specification = createSpecification(criteria);
+            return pageCountService.count(Product.class, productRepository, criteria, specification);
+        });
     }
 
     /**
@@ -106,7 +149,7 @@ public class ProductQueryService extends QueryService<Product> {
             }
             if (criteria.getCategoryId() != null) {
                 specification = specification.and(buildSpecification(criteria.getCategoryId(),
-                    root -> root.join(Product_.category, JoinType.LEFT).get(Category_.id)));
+                    root -> root.get(Product_.category).get(Category_.id)));
             }
         }
         return specification;
@@ -34,12 +34,15 @@ public class ProductService {
 
     private final CategoryMapper categoryMapper;
 
+    private final ProductCatalogIndex productCatalogIndex;
 
-    public ProductService(ProductRepository productRepository, ProductMapper productMapper, CategoryService categoryService, CategoryMapper categoryMapper) {
+
+    public ProductService(ProductRepository productRepository, ProductMapper productMapper, CategoryService categoryService, CategoryMapper categoryMapper, ProductCatalogIndex productCatalogIndex) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
         this.categoryService = categoryService;
         this.categoryMapper = categoryMapper;
+        this.productCatalogIndex = productCatalogIndex;
     }
 
     private static class CategoryResourceException extends RuntimeException {
@@ -63,7 +66,9 @@ public class ProductService {
         }
         Product product = productMapper.toEntity(productDTO);
         product = productRepository.save(product);
-        return productMapper.toDto(product);
+        ProductDTO result = productMapper.toDto(product);
+        productCatalogIndex.put(result);
+        return result;
     }
 
     /**
@@ -101,5 +106,6 @@ public class ProductService {
     public void delete(Long id) {
         log.debug("Request to delete Product : {}", id);
         productRepository.deleteById(id);
+        productCatalogIndex.remove(id);
     }
 }
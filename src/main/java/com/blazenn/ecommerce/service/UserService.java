@@ -1,9 +1,12 @@
 package com.blazenn.ecommerce.service;
 
+import com.blazenn.ecommerce.config.ApplicationProperties;
 import com.blazenn.ecommerce.config.Constants;
 import com.blazenn.ecommerce.domain.Authority;
 import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.domain.UserOrderSummary;
 import com.blazenn.ecommerce.repository.AuthorityRepository;
+import com.blazenn.ecommerce.repository.UserOrderSummaryRepository;
 import com.blazenn.ecommerce.repository.UserRepository;
 import com.blazenn.ecommerce.security.AuthoritiesConstants;
 import com.blazenn.ecommerce.security.SecurityUtils;
@@ -11,15 +14,24 @@ import com.blazenn.ecommerce.service.dto.UserDTO;
 
 import io.github.jhipster.security.RandomUtil;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Cache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -40,10 +52,32 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final CurrentUserResolver currentUserResolver;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ChunkedPurge notActivatedUserPurge;
+
+    private final UserOrderSummaryRepository userOrderSummaryRepository;
+
+    private final MailOutboxService mailOutboxService;
+
+    private final Cache secondLevelCache;
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository, CurrentUserResolver currentUserResolver,
+                       NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       ApplicationProperties applicationProperties, MeterRegistry meterRegistry,
+                       UserOrderSummaryRepository userOrderSummaryRepository, MailOutboxService mailOutboxService,
+                       EntityManagerFactory entityManagerFactory) {
         this.userRepository = userRepository;
+        this.userOrderSummaryRepository = userOrderSummaryRepository;
+        this.mailOutboxService = mailOutboxService;
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(Cache.class);
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.currentUserResolver = currentUserResolver;
+        this.jdbcTemplate = jdbcTemplate;
+        this.notActivatedUserPurge = new ChunkedPurge("not-activated-users", transactionManager, applicationProperties, meterRegistry);
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -76,6 +110,7 @@ public class UserService {
             .map(user -> {
                 user.setResetKey(RandomUtil.generateResetKey());
                 user.setResetDate(Instant.now());
+                mailOutboxService.queuePasswordResetMail(user);
                 return user;
             });
     }
@@ -113,6 +148,8 @@ public class UserService {
         authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(authorities::add);
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
+        currentUserResolver.evict(newUser.getLogin());
+        mailOutboxService.queueActivationEmail(newUser);
         log.debug("Created Information for User: {}", newUser);
         return newUser;
     }
@@ -123,6 +160,7 @@ public class UserService {
         }
         userRepository.delete(existingUser);
         userRepository.flush();
+        currentUserResolver.evict(existingUser.getLogin());
         return true;
     }
 
@@ -154,6 +192,8 @@ public class UserService {
             user.setAuthorities(authorities);
         }
         userRepository.save(user);
+        currentUserResolver.evict(user.getLogin());
+        mailOutboxService.queueCreationEmail(user);
         log.debug("Created Information for User: {}", user);
         return user;
     }
@@ -170,6 +210,7 @@ public class UserService {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
+                currentUserResolver.evict(user.getLogin());
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -189,12 +230,14 @@ public class UserService {
                 log.debug("Changed Information for User: {}", user);
                 return user;
             })
-            .map(UserDTO::new);
+            .map(UserDTO::new)
+            .map(this::withTotalSpending);
     }
 
     public void deleteUser(String login) {
         userRepository.findOneByLogin(login).ifPresent(user -> {
             userRepository.delete(user);
+            currentUserResolver.evict(user.getLogin());
             log.debug("Deleted User: {}", user);
         });
     }
@@ -241,12 +284,31 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllManagedUsers(Pageable pageable) {
-        return userRepository.findAllByLoginNot(pageable, Constants.ANONYMOUS_USER).map(UserDTO::new);
+        Page<UserDTO> users = userRepository.findAllByLoginNot(pageable, Constants.ANONYMOUS_USER).map(UserDTO::new);
+        setTotalSpending(users.getContent());
+        return users;
     }
 
     @Transactional(readOnly = true)
-    public Optional<User> getUserWithAuthoritiesByLogin(String login) {
-        return userRepository.findOneWithAuthoritiesByLogin(login);
+    public Optional<UserDTO> getUserWithAuthoritiesByLogin(String login) {
+        return userRepository.findOneWithAuthoritiesByLogin(login)
+            .map(UserDTO::new)
+            .map(this::withTotalSpending);
+    }
+
+    private UserDTO withTotalSpending(UserDTO user) {
+        setTotalSpending(Collections.singletonList(user));
+        return user;
+    }
+
+    /**
+     * Set the total spent by each user, from the order summaries of all the users, looked up at once.
+     */
+    private void setTotalSpending(List<UserDTO> users) {
+        List<Long> ids = users.stream().map(UserDTO::getId).collect(Collectors.toList());
+        Map<Long, BigDecimal> totalSpent = userOrderSummaryRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(UserOrderSummary::getUserId, UserOrderSummary::getTotalSpent));
+        users.forEach(user -> user.setTotalSpending(totalSpent.getOrDefault(user.getId(), BigDecimal.ZERO)));
     }
 
     @Transactional(readOnly = true)
@@ -257,16 +319,36 @@ public class UserService {
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
+     * They are deleted with their authorities in chunks, oldest first, see {@link ChunkedPurge}, and their cached
+     * authorities are evicted with each chunk. Their queued mails are deleted by the database.
+     * <p>
      * This is scheduled to get fired everyday, at 01:00 (am).
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                log.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
-            });
+        Instant before = Instant.now().minus(3, ChronoUnit.DAYS);
+        notActivatedUserPurge.run(chunkSize -> deleteNotActivatedUsers(before, chunkSize));
+    }
+
+    private int deleteNotActivatedUsers(Instant before, int chunkSize) {
+        List<Map<String, Object>> users = jdbcTemplate.queryForList(
+            "select id, login from jhi_user where activated = false and activation_key is not null and created_date < :before"
+                + " order by id limit :limit",
+            new MapSqlParameterSource("before", Timestamp.from(before)).addValue("limit", chunkSize));
+        if (users.isEmpty()) {
+            return 0;
+        }
+        List<Object> ids = users.stream().map(user -> user.get("id")).collect(Collectors.toList());
+        log.debug("Deleting {} not activated users", ids.size());
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update("delete from jhi_user_authority where user_id in (:ids)", parameters);
+        int count = jdbcTemplate.update("delete from jhi_user where id in (:ids)", parameters);
+        users.forEach(user -> {
+            currentUserResolver.evict((String) user.get("login"));
+            secondLevelCache.evictCollectionData(User.class.getName() + ".authorities", ((Number) user.get("id")).longValue());
+        });
+        return count;
     }
 
     /**
@@ -0,0 +1,32 @@
+package com.blazenn.ecommerce.service.dto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.*;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO for placing an {@link com.blazenn.ecommerce.domain.Order} together with all its lines.
+ */
+public class CheckoutDTO implements Serializable {
+
+    @NotEmpty
+    @Valid
+    private List<CheckoutItemDTO> items;
+
+    public List<CheckoutItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CheckoutItemDTO> items) {
+        this.items = items;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CheckoutDTO{" +
+            "items=" + getItems() +
+            "}";
+    }
+}
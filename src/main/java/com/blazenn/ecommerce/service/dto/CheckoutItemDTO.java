@@ -0,0 +1,42 @@
+package com.blazenn.ecommerce.service.dto;
+
+import javax.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * A DTO for one line of a checkout, priced on the server from its product.
+ */
+public class CheckoutItemDTO implements Serializable {
+
+    @NotNull
+    private Long productId;
+
+    @NotNull
+    @Min(value = 1)
+    private Integer quantity;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CheckoutItemDTO{" +
+            "productId=" + getProductId() +
+            ", quantity=" + getQuantity() +
+            "}";
+    }
+}
@@ -0,0 +1,28 @@
+package com.blazenn.ecommerce.service.dto;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+/**
+ * A {@link org.springframework.data.domain.Slice} of a keyset pagination, with the cursor of the next slice.
+ */
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String nextCursor;
+
+    public KeysetSlice(List<T> content, Pageable pageable, String nextCursor) {
+        super(content, pageable, nextCursor != null);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return the cursor selecting the next slice, or {@code null} if this is the last slice.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
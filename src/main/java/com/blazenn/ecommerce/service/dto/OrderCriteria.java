@@ -34,6 +34,8 @@ public class OrderCriteria implements Serializable, Criteria {
 
     private LongFilter orderItemsId;
 
+    private LongFilter userId;
+
     public OrderCriteria() {
     }
 
@@ -42,6 +44,7 @@ public class OrderCriteria implements Serializable, Criteria {
         this.orderDate = other.orderDate == null ? null : other.orderDate.copy();
         this.totalAmount = other.totalAmount == null ? null : other.totalAmount.copy();
         this.orderItemsId = other.orderItemsId == null ? null : other.orderItemsId.copy();
+        this.userId = other.userId == null ? null : other.userId.copy();
     }
 
     @Override
@@ -81,6 +84,14 @@ public class OrderCriteria implements Serializable, Criteria {
         this.orderItemsId = orderItemsId;
     }
 
+    public LongFilter getUserId() {
+        return userId;
+    }
+
+    public void setUserId(LongFilter userId) {
+        this.userId = userId;
+    }
+
 
     @Override
     public boolean equals(Object o) {
@@ -95,7 +106,8 @@ public class OrderCriteria implements Serializable, Criteria {
             Objects.equals(id, that.id) &&
             Objects.equals(orderDate, that.orderDate) &&
             Objects.equals(totalAmount, that.totalAmount) &&
-            Objects.equals(orderItemsId, that.orderItemsId);
+            Objects.equals(orderItemsId, that.orderItemsId) &&
+            Objects.equals(userId, that.userId);
     }
 
     @Override
@@ -104,7 +116,8 @@ public class OrderCriteria implements Serializable, Criteria {
         id,
         orderDate,
         totalAmount,
-        orderItemsId
+        orderItemsId,
+        userId
         );
     }
 
@@ -116,6 +129,7 @@ public class OrderCriteria implements Serializable, Criteria {
                 (orderDate != null ? "orderDate=" + orderDate + ", " : "") +
                 (totalAmount != null ? "totalAmount=" + totalAmount + ", " : "") +
                 (orderItemsId != null ? "orderItemsId=" + orderItemsId + ", " : "") +
+                (userId != null ? "userId=" + userId + ", " : "") +
             "}";
     }
 
@@ -1,5 +1,7 @@
 package com.blazenn.ecommerce.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import javax.validation.constraints.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -21,7 +23,13 @@ public class OrderItemDTO implements Serializable {
     private Long orderId;
 
     private Long productId;
-    
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String productName;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal productPrice;
+
     public Long getId() {
         return id;
     }
@@ -62,6 +70,22 @@ public class OrderItemDTO implements Serializable {
         this.productId = productId;
     }
 
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public BigDecimal getProductPrice() {
+        return productPrice;
+    }
+
+    public void setProductPrice(BigDecimal productPrice) {
+        this.productPrice = productPrice;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -88,6 +112,8 @@ public class OrderItemDTO implements Serializable {
             ", unitPrice=" + getUnitPrice() +
             ", orderId=" + getOrderId() +
             ", productId=" + getProductId() +
+            ", productName='" + getProductName() + "'" +
+            ", productPrice=" + getProductPrice() +
             "}";
     }
 }
@@ -3,7 +3,6 @@ package com.blazenn.ecommerce.service.dto;
 import com.blazenn.ecommerce.config.Constants;
 import com.blazenn.ecommerce.domain.Address;
 import com.blazenn.ecommerce.domain.Authority;
-import com.blazenn.ecommerce.domain.Order;
 import com.blazenn.ecommerce.domain.User;
 
 import javax.validation.constraints.*;
@@ -56,9 +55,7 @@ public class UserDTO {
 
     private Set<Address> addresses = new HashSet<Address>();
 
-    private Set<Order> orders = new HashSet<>();
-
-        private BigDecimal totalSpending;
+    private BigDecimal totalSpending;
 
     public UserDTO() {
         // Empty constructor needed for Jackson.
@@ -81,8 +78,6 @@ public class UserDTO {
         this.authorities = user.getAuthorities().stream()
                 .map(Authority::getName)
                 .collect(Collectors.toSet());
-        this.orders = user.getOrders().stream().collect(Collectors.toSet());
-        this.totalSpending = this.orders.stream().map(val -> val.getTotalAmount()).reduce(BigDecimal.ZERO, (sum, num) -> sum.add(num));;
     }
 
     public Long getId() {
@@ -197,14 +192,6 @@ public class UserDTO {
         this.addresses = addresses;
     }
 
-    public Set<Order> getOrders() {
-        return this.orders;
-    }
-
-    public void setOrders(Set<Order> orders) {
-        this.orders = orders;
-    }
-
 
     public BigDecimal getTotalSpending() {
         return this.totalSpending;
@@ -0,0 +1,63 @@
+package com.blazenn.ecommerce.service.dto;
+
+import com.blazenn.ecommerce.domain.UserOrderSummary;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A DTO for the {@link UserOrderSummary} entity.
+ */
+public class UserOrderSummaryDTO implements Serializable {
+
+    private long orderCount;
+
+    private BigDecimal totalSpent = BigDecimal.ZERO;
+
+    private Instant lastOrderDate;
+
+    public UserOrderSummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public UserOrderSummaryDTO(UserOrderSummary userOrderSummary) {
+        this.orderCount = userOrderSummary.getOrderCount();
+        this.totalSpent = userOrderSummary.getTotalSpent();
+        this.lastOrderDate = userOrderSummary.getLastOrderDate();
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getTotalSpent() {
+        return totalSpent;
+    }
+
+    public void setTotalSpent(BigDecimal totalSpent) {
+        this.totalSpent = totalSpent;
+    }
+
+    public Instant getLastOrderDate() {
+        return lastOrderDate;
+    }
+
+    public void setLastOrderDate(Instant lastOrderDate) {
+        this.lastOrderDate = lastOrderDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserOrderSummaryDTO{" +
+            "orderCount=" + getOrderCount() +
+            ", totalSpent=" + getTotalSpent() +
+            ", lastOrderDate='" + getLastOrderDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,27 @@
+package com.blazenn.ecommerce.service.event;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.io.Serializable;
+
+/**
+ * A domain event, stored as JSON in the event outbox with its type name.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+    @JsonSubTypes.Type(OrderPlaced.class),
+    @JsonSubTypes.Type(OrderItemAdded.class),
+    @JsonSubTypes.Type(OrderDeleted.class)
+})
+public abstract class DomainEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @return the name of the type of the event, stored with it.
+     */
+    public String typeName() {
+        return getClass().getSimpleName();
+    }
+}
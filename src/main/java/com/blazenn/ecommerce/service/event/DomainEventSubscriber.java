@@ -0,0 +1,26 @@
+package com.blazenn.ecommerce.service.event;
+
+/**
+ * A subscriber to the domain events of a type, and of its subtypes.
+ * <p>
+ * The beans implementing this interface are called by the relay of the event outbox, after the transaction which
+ * published the event committed. An event is delivered at least once: when a subscriber fails, the event is delivered
+ * again to all the subscribers later, so they should be idempotent. The events are not delivered in order, since an
+ * event delivered again comes after the events published since, so the subscribers should not depend on it either.
+ *
+ * @param <E> the type of the events.
+ */
+public interface DomainEventSubscriber<E extends DomainEvent> {
+
+    /**
+     * @return the type of the events of this subscriber.
+     */
+    Class<E> getEventType();
+
+    /**
+     * Handle an event.
+     *
+     * @param event the event.
+     */
+    void onEvent(E event);
+}
@@ -0,0 +1,34 @@
+package com.blazenn.ecommerce.service.event;
+
+/**
+ * An order was deleted, with its items.
+ */
+public class OrderDeleted extends DomainEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long orderId;
+
+    public OrderDeleted() {
+    }
+
+    public OrderDeleted(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderDeleted{" +
+            "orderId=" + getOrderId() +
+            "}";
+    }
+}
@@ -0,0 +1,84 @@
+package com.blazenn.ecommerce.service.event;
+
+import java.math.BigDecimal;
+
+/**
+ * An item was added to an order, by a checkout or by creating it.
+ */
+public class OrderItemAdded extends DomainEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long orderItemId;
+
+    private Long orderId;
+
+    private Long productId;
+
+    private Integer quantity;
+
+    private BigDecimal unitPrice;
+
+    public OrderItemAdded() {
+    }
+
+    public OrderItemAdded(Long orderItemId, Long orderId, Long productId, Integer quantity, BigDecimal unitPrice) {
+        this.orderItemId = orderItemId;
+        this.orderId = orderId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+    }
+
+    public Long getOrderItemId() {
+        return orderItemId;
+    }
+
+    public void setOrderItemId(Long orderItemId) {
+        this.orderItemId = orderItemId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderItemAdded{" +
+            "orderItemId=" + getOrderItemId() +
+            ", orderId=" + getOrderId() +
+            ", productId=" + getProductId() +
+            ", quantity=" + getQuantity() +
+            ", unitPrice=" + getUnitPrice() +
+            "}";
+    }
+}
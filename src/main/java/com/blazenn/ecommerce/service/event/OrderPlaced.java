@@ -0,0 +1,73 @@
+package com.blazenn.ecommerce.service.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * An order was placed, by a checkout or by creating it.
+ */
+public class OrderPlaced extends DomainEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long orderId;
+
+    private Long userId;
+
+    private Instant orderDate;
+
+    private BigDecimal totalAmount;
+
+    public OrderPlaced() {
+    }
+
+    public OrderPlaced(Long orderId, Long userId, Instant orderDate, BigDecimal totalAmount) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.orderDate = orderDate;
+        this.totalAmount = totalAmount;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Instant getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(Instant orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderPlaced{" +
+            "orderId=" + getOrderId() +
+            ", userId=" + getUserId() +
+            ", orderDate='" + getOrderDate() + "'" +
+            ", totalAmount=" + getTotalAmount() +
+            "}";
+    }
+}
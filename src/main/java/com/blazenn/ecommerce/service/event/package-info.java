@@ -0,0 +1,4 @@
+/**
+ * Domain events, relayed to the in-process subscribers through the event outbox.
+ */
+package com.blazenn.ecommerce.service.event;
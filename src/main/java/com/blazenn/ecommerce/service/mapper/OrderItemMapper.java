@@ -14,6 +14,8 @@ public interface OrderItemMapper extends EntityMapper<OrderItemDTO, OrderItem> {
 
     @Mapping(source = "order.id", target = "orderId")
     @Mapping(source = "product.id", target = "productId")
+    @Mapping(target = "productName", ignore = true)
+    @Mapping(target = "productPrice", ignore = true)
     OrderItemDTO toDto(OrderItem orderItem);
 
     @Mapping(source = "orderId", target = "order")
@@ -17,6 +17,10 @@ public interface OrderMapper extends EntityMapper<OrderDTO, Order> {
     @Mapping(target = "removeOrderItems", ignore = true)
     Order toEntity(OrderDTO orderDTO);
 
+    @Named("toDtoWithoutOrderItems")
+    @Mapping(target = "orderItems", ignore = true)
+    OrderDTO toDtoWithoutOrderItems(Order order);
+
     default Order fromId(Long id) {
         if (id == null) {
             return null;
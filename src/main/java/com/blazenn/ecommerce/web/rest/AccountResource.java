@@ -3,10 +3,11 @@ package com.blazenn.ecommerce.web.rest;
 import com.blazenn.ecommerce.domain.User;
 import com.blazenn.ecommerce.repository.UserRepository;
 import com.blazenn.ecommerce.security.SecurityUtils;
-import com.blazenn.ecommerce.service.MailService;
+import com.blazenn.ecommerce.service.OrderSummaryService;
 import com.blazenn.ecommerce.service.UserService;
 import com.blazenn.ecommerce.service.dto.PasswordChangeDTO;
 import com.blazenn.ecommerce.service.dto.UserDTO;
+import com.blazenn.ecommerce.service.dto.UserOrderSummaryDTO;
 import com.blazenn.ecommerce.web.rest.errors.*;
 import com.blazenn.ecommerce.web.rest.vm.KeyAndPasswordVM;
 import com.blazenn.ecommerce.web.rest.vm.ManagedUserVM;
@@ -40,13 +41,13 @@ public class AccountResource {
 
     private final UserService userService;
 
-    private final MailService mailService;
+    private final OrderSummaryService orderSummaryService;
 
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    public AccountResource(UserRepository userRepository, UserService userService, OrderSummaryService orderSummaryService) {
 
         this.userRepository = userRepository;
         this.userService = userService;
-        this.mailService = mailService;
+        this.orderSummaryService = orderSummaryService;
     }
 
     /**
@@ -63,8 +64,7 @@ public class AccountResource {
         if (!checkPasswordLength(managedUserVM.getPassword())) {
             throw new InvalidPasswordException();
         }
-        User user = userService.registerUser(managedUserVM, managedUserVM.getPassword());
-        mailService.sendActivationEmail(user);
+        userService.registerUser(managedUserVM, managedUserVM.getPassword());
     }
 
     /**
@@ -101,9 +101,23 @@ public class AccountResource {
      */
     @GetMapping("/account")
     public UserDTO getAccount() {
-        return userService.getUserWithAuthorities()
+        UserDTO userDTO = userService.getUserWithAuthorities()
             .map(UserDTO::new)
             .orElseThrow(() -> new AccountResourceException("User could not be found"));
+        userDTO.setTotalSpending(orderSummaryService.findByUserId(userDTO.getId()).getTotalSpent());
+        return userDTO;
+    }
+
+    /**
+     * {@code GET  /account/order-summary} : get the summary of the orders of the current user.
+     *
+     * @return the order count, the total spent and the last order date of the current user.
+     * @throws RuntimeException {@code 500 (Internal Server Error)} if the user couldn't be returned.
+     */
+    @GetMapping("/account/order-summary")
+    public UserOrderSummaryDTO getAccountOrderSummary() {
+        return orderSummaryService.findForCurrentUser()
+            .orElseThrow(() -> new AccountResourceException("User could not be found"));
     }
 
     /**
@@ -150,9 +164,7 @@ public class AccountResource {
     @PostMapping(path = "/account/reset-password/init")
     public void requestPasswordReset(@RequestBody String mail) {
         Optional<User> user = userService.requestPasswordReset(mail);
-        if (user.isPresent()) {
-            mailService.sendPasswordResetMail(user.get());
-        } else {
+        if (!user.isPresent()) {
             // Pretend the request has been successful to prevent checking which emails really exist
             // but log that an invalid attempt has been made
             log.warn("Password reset requested for non existing mail");
@@ -1,7 +1,11 @@
 package com.blazenn.ecommerce.web.rest;
 
+import com.blazenn.ecommerce.security.AuthoritiesConstants;
+import com.blazenn.ecommerce.service.OrderExportService;
 import com.blazenn.ecommerce.service.OrderItemService;
 import com.blazenn.ecommerce.web.rest.errors.BadRequestAlertException;
+import com.blazenn.ecommerce.web.rest.util.KeysetPaginationUtil;
+import com.blazenn.ecommerce.service.dto.KeysetSlice;
 import com.blazenn.ecommerce.service.dto.OrderItemDTO;
 import com.blazenn.ecommerce.service.dto.OrderItemCriteria;
 import com.blazenn.ecommerce.service.OrderItemQueryService;
@@ -18,12 +22,17 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -44,9 +53,12 @@ public class OrderItemResource {
 
     private final OrderItemQueryService orderItemQueryService;
 
-    public OrderItemResource(OrderItemService orderItemService, OrderItemQueryService orderItemQueryService) {
+    private final OrderExportService orderExportService;
+
+    public OrderItemResource(OrderItemService orderItemService, OrderItemQueryService orderItemQueryService, OrderExportService orderExportService) {
         this.orderItemService = orderItemService;
         this.orderItemQueryService = orderItemQueryService;
+        this.orderExportService = orderExportService;
     }
 
     /**
@@ -94,16 +106,46 @@ public class OrderItemResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the keyset pagination, empty for the first slice; when present, the page number is ignored and no count is made.
+     * @param withProduct whether the name and the price of the product of each orderItem are returned too.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orderItems in body.
      */
     @GetMapping("/order-items")
-    public ResponseEntity<List<OrderItemDTO>> getAllOrderItems(OrderItemCriteria criteria, Pageable pageable) {
+    public ResponseEntity<List<OrderItemDTO>> getAllOrderItems(OrderItemCriteria criteria, Pageable pageable,
+                                                               @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+                                                               @RequestParam(defaultValue = "false") boolean withProduct) {
         log.debug("REST request to get OrderItems by criteria: {}", criteria);
-        Page<OrderItemDTO> page = orderItemQueryService.findByCriteria(criteria, pageable);
+        if (after != null) {
+            KeysetSlice<OrderItemDTO> slice = orderItemQueryService.findByCriteria(criteria, withProduct, after, pageable);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        Page<OrderItemDTO> page = orderItemQueryService.findByCriteria(criteria, withProduct, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /order-items/export} : stream all the order items.
+     * <p>
+     * This is only allowed to the administrators.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param response the response the export is written to, with status {@code 200 (OK)}, or with status {@code 400 (Bad Request)} if the format is not supported.
+     * @throws IOException if the export could not be written.
+     */
+    @GetMapping("/order-items/export")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public void exportOrderItems(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        log.debug("REST request to export OrderItems as {}", format);
+        OrderExportService.Format exportFormat = OrderExportService.Format.of(format)
+            .orElseThrow(() -> new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid"));
+        response.setContentType(exportFormat == OrderExportService.Format.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"order-items." + exportFormat.name().toLowerCase(Locale.ROOT) + "\"");
+        orderExportService.exportOrderItems(exportFormat, response.getOutputStream());
+    }
+
     /**
      * {@code GET  /order-items/count} : count all the orderItems.
      *
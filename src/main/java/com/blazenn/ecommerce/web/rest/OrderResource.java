@@ -1,7 +1,12 @@
 package com.blazenn.ecommerce.web.rest;
 
+import com.blazenn.ecommerce.security.AuthoritiesConstants;
+import com.blazenn.ecommerce.service.OrderExportService;
 import com.blazenn.ecommerce.service.OrderService;
 import com.blazenn.ecommerce.web.rest.errors.BadRequestAlertException;
+import com.blazenn.ecommerce.web.rest.util.KeysetPaginationUtil;
+import com.blazenn.ecommerce.service.dto.CheckoutDTO;
+import com.blazenn.ecommerce.service.dto.KeysetSlice;
 import com.blazenn.ecommerce.service.dto.OrderDTO;
 import com.blazenn.ecommerce.service.dto.OrderCriteria;
 import com.blazenn.ecommerce.service.OrderQueryService;
@@ -18,12 +23,17 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -44,9 +54,12 @@ public class OrderResource {
 
     private final OrderQueryService orderQueryService;
 
-    public OrderResource(OrderService orderService, OrderQueryService orderQueryService) {
+    private final OrderExportService orderExportService;
+
+    public OrderResource(OrderService orderService, OrderQueryService orderQueryService, OrderExportService orderExportService) {
         this.orderService = orderService;
         this.orderQueryService = orderQueryService;
+        this.orderExportService = orderExportService;
     }
 
     /**
@@ -68,6 +81,22 @@ public class OrderResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /orders/checkout} : Place a new order with all its lines.
+     *
+     * @param checkoutDTO the lines of the order to place.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new orderDTO, or with status {@code 400 (Bad Request)} if a product does not exist.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/orders/checkout")
+    public ResponseEntity<OrderDTO> checkout(@Valid @RequestBody CheckoutDTO checkoutDTO) throws URISyntaxException {
+        log.debug("REST request to checkout : {}", checkoutDTO);
+        OrderDTO result = orderService.checkout(checkoutDTO);
+        return ResponseEntity.created(new URI("/api/orders/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
     /**
      * {@code PUT  /orders} : Updates an existing order.
      *
@@ -94,16 +123,44 @@ public class OrderResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the keyset pagination, empty for the first slice; when present, the page number is ignored and no count is made.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orders in body.
      */
     @GetMapping("/orders")
-    public ResponseEntity<List<OrderDTO>> getAllOrders(OrderCriteria criteria, Pageable pageable) {
+    public ResponseEntity<List<OrderDTO>> getAllOrders(OrderCriteria criteria, Pageable pageable,
+                                                       @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after) {
         log.debug("REST request to get Orders by criteria: {}", criteria);
+        if (after != null) {
+            KeysetSlice<OrderDTO> slice = orderQueryService.findByCriteria(criteria, after, pageable);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         Page<OrderDTO> page = orderQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /orders/export} : stream all the orders.
+     * <p>
+     * This is only allowed to the administrators.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param response the response the export is written to, with status {@code 200 (OK)}, or with status {@code 400 (Bad Request)} if the format is not supported.
+     * @throws IOException if the export could not be written.
+     */
+    @GetMapping("/orders/export")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public void exportOrders(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        log.debug("REST request to export Orders as {}", format);
+        OrderExportService.Format exportFormat = OrderExportService.Format.of(format)
+            .orElseThrow(() -> new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid"));
+        response.setContentType(exportFormat == OrderExportService.Format.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + exportFormat.name().toLowerCase(Locale.ROOT) + "\"");
+        orderExportService.exportOrders(exportFormat, response.getOutputStream());
+    }
+
     /**
      * {@code GET  /orders/count} : count all the orders.
      *
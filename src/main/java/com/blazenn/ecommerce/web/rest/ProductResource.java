@@ -2,6 +2,8 @@ package com.blazenn.ecommerce.web.rest;
 
 import com.blazenn.ecommerce.service.ProductService;
 import com.blazenn.ecommerce.web.rest.errors.BadRequestAlertException;
+import com.blazenn.ecommerce.web.rest.util.KeysetPaginationUtil;
+import com.blazenn.ecommerce.service.dto.KeysetSlice;
 import com.blazenn.ecommerce.service.dto.ProductDTO;
 import com.blazenn.ecommerce.service.dto.ProductCriteria;
 import com.blazenn.ecommerce.service.ProductQueryService;
@@ -94,11 +96,18 @@ public class ProductResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the keyset pagination, empty for the first slice; when present, the page number is ignored and no count is made.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
      */
     @GetMapping("/products")
-    public ResponseEntity<List<ProductDTO>> getAllProducts(ProductCriteria criteria, Pageable pageable) {
+    public ResponseEntity<List<ProductDTO>> getAllProducts(ProductCriteria criteria, Pageable pageable,
+                                                           @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after) {
         log.debug("REST request to get Products by criteria: {}", criteria);
+        if (after != null) {
+            KeysetSlice<ProductDTO> slice = productQueryService.findByCriteria(criteria, after, pageable);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         Page<ProductDTO> page = productQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
@@ -1,7 +1,6 @@
 package com.blazenn.ecommerce.web.rest;
 
-import com.blazenn.ecommerce.domain.User;
-import com.blazenn.ecommerce.repository.UserRepository;
+import com.blazenn.ecommerce.security.DomainUserDetails;
 import com.blazenn.ecommerce.security.jwt.JWTFilter;
 import com.blazenn.ecommerce.security.jwt.TokenProvider;
 import com.blazenn.ecommerce.web.rest.vm.LoginVM;
@@ -17,8 +16,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Optional;
-
 import javax.validation.Valid;
 
 /**
@@ -30,14 +27,11 @@ public class UserJWTController {
 
     private final TokenProvider tokenProvider;
 
-    private final UserRepository userRepository;
-
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    public UserJWTController(TokenProvider tokenProvider, AuthenticationManagerBuilder authenticationManagerBuilder, UserRepository userRepository) {
+    public UserJWTController(TokenProvider tokenProvider, AuthenticationManagerBuilder authenticationManagerBuilder) {
         this.tokenProvider = tokenProvider;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
-        this.userRepository = userRepository;
     }
 
     @PostMapping("/authenticate")
@@ -47,10 +41,11 @@ public class UserJWTController {
             new UsernamePasswordAuthenticationToken(loginVM.getEmail(), loginVM.getPassword());
 
         Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
-        Optional<User> existingUser = userRepository.findOneByEmailIgnoreCase(loginVM.getEmail());
+        // the principal was loaded with its id by the DomainUserDetailsService
+        Long userId = ((DomainUserDetails) authentication.getPrincipal()).getId();
         SecurityContextHolder.getContext().setAuthentication(authentication);
         boolean rememberMe = (loginVM.isRememberMe() == null) ? false : loginVM.isRememberMe();
-        String jwt = tokenProvider.createToken(authentication, rememberMe, existingUser.get().getId().toString());
+        String jwt = tokenProvider.createToken(authentication, rememberMe, userId.toString());
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
         return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
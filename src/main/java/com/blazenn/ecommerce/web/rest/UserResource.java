@@ -4,7 +4,6 @@ import com.blazenn.ecommerce.config.Constants;
 import com.blazenn.ecommerce.domain.User;
 import com.blazenn.ecommerce.repository.UserRepository;
 import com.blazenn.ecommerce.security.AuthoritiesConstants;
-import com.blazenn.ecommerce.service.MailService;
 import com.blazenn.ecommerce.service.UserService;
 import com.blazenn.ecommerce.service.dto.UserDTO;
 import com.blazenn.ecommerce.web.rest.errors.BadRequestAlertException;
@@ -69,12 +68,9 @@ public class UserResource {
 
     private final UserRepository userRepository;
 
-    private final MailService mailService;
-
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    public UserResource(UserService userService, UserRepository userRepository) {
         this.userService = userService;
         this.userRepository = userRepository;
-        this.mailService = mailService;
     }
 
     /**
@@ -103,7 +99,6 @@ public class UserResource {
             throw new EmailAlreadyUsedException();
         } else {
             User newUser = userService.createUser(userDTO);
-            mailService.sendCreationEmail(newUser);
             return ResponseEntity.created(new URI("/api/users/" + newUser.getLogin()))
                 .headers(HeaderUtil.createAlert(applicationName,  "A user is created with identifier " + newUser.getLogin(), newUser.getLogin()))
                 .body(newUser);
@@ -168,9 +163,7 @@ public class UserResource {
     @GetMapping("/users/{login:" + Constants.LOGIN_REGEX + "}")
     public ResponseEntity<UserDTO> getUser(@PathVariable String login) {
         log.debug("REST request to get User : {}", login);
-        return ResponseUtil.wrapOrNotFound(
-            userService.getUserWithAuthoritiesByLogin(login)
-                .map(UserDTO::new));
+        return ResponseUtil.wrapOrNotFound(userService.getUserWithAuthoritiesByLogin(login));
     }
 
     /**
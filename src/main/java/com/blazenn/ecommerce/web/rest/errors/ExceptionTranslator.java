@@ -4,6 +4,7 @@ import io.github.jhipster.web.util.HeaderUtil;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -108,6 +109,29 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(new InvalidPasswordException(), request);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleProductNotFoundException(com.blazenn.ecommerce.service.ProductNotFoundException ex, NativeWebRequest request) {
+        BadRequestAlertException problem = new BadRequestAlertException(ex.getMessage(), "order", "productnotfound");
+        return create(problem, request, HeaderUtil.createFailureAlert(applicationName,  false, problem.getEntityName(), problem.getErrorKey(), problem.getMessage()));
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleInvalidCursorException(com.blazenn.ecommerce.service.InvalidCursorException ex, NativeWebRequest request) {
+        BadRequestAlertException problem = new BadRequestAlertException(ex.getMessage(), "pagination", "invalidcursor");
+        return create(problem, request, HeaderUtil.createFailureAlert(applicationName,  false, problem.getEntityName(), problem.getErrorKey(), problem.getMessage()));
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handlePasswordHashingRejectedException(com.blazenn.ecommerce.security.PasswordHashingRejectedException ex, NativeWebRequest request) {
+        Problem problem = Problem.builder()
+            .withStatus(Status.TOO_MANY_REQUESTS)
+            .withDetail(ex.getMessage())
+            .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return create(ex, problem, request, headers);
+    }
+
     @ExceptionHandler
     public ResponseEntity<Problem> handleBadRequestAlertException(BadRequestAlertException ex, NativeWebRequest request) {
         return create(ex, request, HeaderUtil.createFailureAlert(applicationName, false, ex.getEntityName(), ex.getErrorKey(), ex.getMessage()));
@@ -0,0 +1,42 @@
+package com.blazenn.ecommerce.web.rest.util;
+
+import com.blazenn.ecommerce.service.dto.KeysetSlice;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset pagination.
+ * <p>
+ * The cursor of the next slice is returned in the {@code X-Next-Cursor} header and in a {@code next} link.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String CURSOR_PARAMETER = "after";
+
+    private static final String HEADER_X_NEXT_CURSOR = "X-Next-Cursor";
+
+    private KeysetPaginationUtil() {
+    }
+
+    /**
+     * Generate keyset pagination headers for a Spring Data {@link KeysetSlice} object.
+     *
+     * @param uriBuilder The URI builder.
+     * @param slice The slice.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, KeysetSlice<T> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.getNextCursor() != null) {
+            headers.add(HEADER_X_NEXT_CURSOR, slice.getNextCursor());
+            String next = uriBuilder
+                .replaceQueryParam("page")
+                .replaceQueryParam(CURSOR_PARAMETER, slice.getNextCursor())
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
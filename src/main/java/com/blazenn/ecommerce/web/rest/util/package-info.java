@@ -0,0 +1,4 @@
+/**
+ * Utilities for the Spring MVC REST controllers.
+ */
+package com.blazenn.ecommerce.web.rest.util;
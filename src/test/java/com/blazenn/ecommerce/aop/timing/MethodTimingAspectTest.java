@@ -0,0 +1,102 @@
+package com.blazenn.ecommerce.aop.timing;
+
+import com.blazenn.ecommerce.repository.UserRepository;
+import com.blazenn.ecommerce.service.CurrentUserResolver;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the {@link MethodTimingAspect}.
+ */
+public class MethodTimingAspectTest {
+
+    private final ch.qos.logback.classic.Logger switchLogger =
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("com.blazenn.ecommerce.aop.timing");
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CurrentUserResolver currentUserResolver;
+
+    private Level level;
+
+    @BeforeEach
+    public void setUp() {
+        level = switchLogger.getLevel();
+        switchLogger.setLevel(Level.INFO);
+        meterRegistry = new SimpleMeterRegistry();
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findIdByLogin("user")).thenReturn(Optional.of(2L));
+        when(userRepository.findIdByLogin("broken")).thenThrow(new IllegalStateException());
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new CurrentUserResolver(userRepository));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new MethodTimingAspect(meterRegistry));
+        currentUserResolver = proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        switchLogger.setLevel(level);
+    }
+
+    @Test
+    public void timesTheMethodsWithBoundedTags() {
+        currentUserResolver.getUserIdByLogin("user");
+        currentUserResolver.getUserIdByLogin("user");
+
+        Timer timer = meterRegistry.get(MethodTimingAspect.METRIC_NAME)
+            .tag("layer", "service")
+            .tag("class", "CurrentUserResolver")
+            .tag("method", "getUserIdByLogin")
+            .tag("exception", "none")
+            .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(meterRegistry.getMeters()).hasSize(1);
+    }
+
+    @Test
+    public void tagsTheException() {
+        assertThatThrownBy(() -> currentUserResolver.getUserIdByLogin("broken")).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(MethodTimingAspect.METRIC_NAME)
+            .tag("method", "getUserIdByLogin")
+            .tag("exception", "IllegalStateException")
+            .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void isSwitchedOffByTheLoggerLevel() {
+        switchLogger.setLevel(Level.WARN);
+
+        assertThat(currentUserResolver.getUserIdByLogin("user")).contains(2L);
+
+        assertThat(meterRegistry.find(MethodTimingAspect.METRIC_NAME).timer()).isNull();
+    }
+
+    @Test
+    public void resolvesTheRepositoryInterfaceOfAProxy() {
+        Class<?> proxyType = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{UserRepository.class},
+            (proxy, method, args) -> null).getClass();
+
+        Class<?> type = MethodTimingAspect.applicationType(proxyType, Object.class);
+
+        assertThat(type).isEqualTo(UserRepository.class);
+        assertThat(MethodTimingAspect.layer(type)).isEqualTo("repository");
+    }
+}
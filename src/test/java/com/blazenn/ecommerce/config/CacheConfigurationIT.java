@@ -0,0 +1,44 @@
+package com.blazenn.ecommerce.config;
+
+import com.blazenn.ecommerce.EcommApp;
+import com.blazenn.ecommerce.domain.Category;
+import com.blazenn.ecommerce.domain.Product;
+import com.blazenn.ecommerce.domain.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the second-level cache regions of {@link CacheConfiguration}.
+ */
+@SpringBootTest(classes = EcommApp.class)
+public class CacheConfigurationIT {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void createsEntityAndCollectionRegions() {
+        assertThat(cacheManager.getCacheNames()).contains(
+            Product.class.getName(),
+            Category.class.getName(),
+            Category.class.getName() + ".products",
+            User.class.getName() + ".authorities"
+        );
+    }
+
+    @Test
+    public void exposesRegionStatistics() {
+        assertThat(meterRegistry.find("cache.gets").tag("cache", Product.class.getName()).meters()).isNotEmpty();
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", Category.class.getName()).meters()).isNotEmpty();
+    }
+}
@@ -4,8 +4,6 @@ import com.blazenn.ecommerce.service.MailService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 
 @Configuration
@@ -14,7 +12,6 @@ public class NoOpMailConfiguration {
 
     public NoOpMailConfiguration() {
         mockMailService = mock(MailService.class);
-        doNothing().when(mockMailService).sendActivationEmail(any());
     }
 
     @Bean
@@ -0,0 +1,74 @@
+package com.blazenn.ecommerce.config;
+
+import com.blazenn.ecommerce.EcommApp;
+import com.blazenn.ecommerce.service.CategoryService;
+import com.blazenn.ecommerce.service.dto.CategoryDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@link ReadReplicaConfiguration}, with a replica pool on the test database.
+ */
+@SpringBootTest(classes = EcommApp.class, properties = {
+    "application.read-replicas.enabled=true",
+    "application.read-replicas.lag-query=select 0 as seconds_behind",
+    "application.read-replicas.lag-column=seconds_behind",
+    "application.read-replicas.replicas[0].url=jdbc:h2:mem:ecomm;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+public class ReadReplicaConfigurationIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void routesTheReadOnlyTransactionsThroughTheReplicas() throws Exception {
+        assertThat(dataSource.unwrap(ReplicaRoutingDataSource.class)).isNotNull();
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value()).isZero();
+    }
+
+    @Test
+    @WithMockUser("replica-reader")
+    public void readsFromTheReplica() {
+        double replicaReads = reads("replica");
+
+        categoryService.findAll(PageRequest.of(0, 10));
+
+        assertThat(reads("replica")).isGreaterThan(replicaReads);
+    }
+
+    @Test
+    @WithMockUser("replica-writer")
+    public void readsItsOwnWritesFromThePrimary() {
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Replicated");
+        category = categoryService.save(category);
+        try {
+            double stickyReads = reads("sticky");
+
+            categoryService.findAll(PageRequest.of(0, 10));
+
+            assertThat(reads("sticky")).isGreaterThan(stickyReads);
+        } finally {
+            categoryService.delete(category.getId());
+        }
+    }
+
+    private double reads(String route) {
+        return meterRegistry.get("datasource.reads").tag("route", route).counter().count();
+    }
+}
@@ -0,0 +1,158 @@
+package com.blazenn.ecommerce.config;
+
+import com.blazenn.ecommerce.security.AuthoritiesConstants;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link ReplicaRoutingDataSource}, with two H2 databases standing for the primary and the replica.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void setup() {
+        primary = new JdbcTemplate(database("primary"));
+        replica = new JdbcTemplate(database("replica"));
+        replica.execute("create table replication (seconds_behind bigint)");
+        replica.execute("insert into replication values (0)");
+
+        ApplicationProperties.ReadReplicas properties = new ApplicationProperties.ReadReplicas();
+        properties.setMaxLagSeconds(5);
+        properties.setStickinessSeconds(10);
+        properties.setLagQuery("select seconds_behind from replication");
+        properties.setLagColumn("seconds_behind");
+        meterRegistry = new SimpleMeterRegistry();
+        routingDataSource = new ReplicaRoutingDataSource(primary.getDataSource(),
+            Collections.singletonList(replica.getDataSource()), properties, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        primary.execute("drop all objects");
+        replica.execute("drop all objects");
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testRoutesTheReadOnlyTransactionsToTheReplica() {
+        assertThat(readOnlyDatabase()).isEqualTo("replica");
+        assertThat(readWriteDatabase()).isEqualTo("primary");
+        assertThat(database()).isEqualTo("primary");
+
+        assertThat(meterRegistry.get("datasource.reads").tag("route", "replica").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value()).isZero();
+    }
+
+    @Test
+    public void testFallsBackToThePrimaryBeyondTheLagTolerance() {
+        replica.update("update replication set seconds_behind = 6");
+        routingDataSource.checkReplicas();
+        assertThat(readOnlyDatabase()).isEqualTo("primary");
+
+        replica.update("update replication set seconds_behind = null");
+        routingDataSource.checkReplicas();
+        assertThat(readOnlyDatabase()).isEqualTo("primary");
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value()).isNaN();
+
+        replica.update("update replication set seconds_behind = 5");
+        routingDataSource.checkReplicas();
+        assertThat(readOnlyDatabase()).isEqualTo("replica");
+
+        assertThat(meterRegistry.get("datasource.reads").tag("route", "fallback").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRoutesTheReadsOfAUserWhoHasJustWrittenToThePrimary() {
+        authenticate("writer");
+        readWrite.execute(status -> jdbcTemplate.update("update marker set name = name"));
+        assertThat(readOnlyDatabase()).isEqualTo("primary");
+        long later = System.nanoTime() + TimeUnit.SECONDS.toNanos(11);
+        Object lookupKey = readOnly.execute(status -> routingDataSource.determineCurrentLookupKey(later));
+        assertThat(lookupKey).isEqualTo("replica-1");
+
+        authenticate("reader");
+        assertThat(readOnlyDatabase()).isEqualTo("replica");
+
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+            Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS))));
+        readWrite.execute(status -> jdbcTemplate.update("update marker set name = name"));
+        assertThat(readOnlyDatabase()).isEqualTo("replica");
+
+        authenticate("rolledBack");
+        readWrite.execute(status -> {
+            jdbcTemplate.update("update marker set name = name");
+            status.setRollbackOnly();
+            return null;
+        });
+        assertThat(readOnlyDatabase()).isEqualTo("replica");
+
+        assertThat(meterRegistry.get("datasource.reads").tag("route", "sticky").counter().count()).isEqualTo(1);
+    }
+
+    private String readOnlyDatabase() {
+        return readOnly.execute(status -> database());
+    }
+
+    private String readWriteDatabase() {
+        return readWrite.execute(status -> database());
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-routing;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table marker (name varchar(10))");
+        jdbcTemplate.update("insert into marker values (?)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(String login) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(login, "password",
+            Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))));
+    }
+}
@@ -0,0 +1,69 @@
+package com.blazenn.ecommerce.management;
+
+import com.blazenn.ecommerce.management.ConcurrencyLimiter.Priority;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link ConcurrencyLimitFilter}.
+ */
+public class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConcurrencyLimiter limiter;
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new ConcurrencyLimiter(2, 1, 10, 1.5, 0.2, TimeUnit.SECONDS.toNanos(1), 10, 0.5, 1.0);
+        filter = new ConcurrencyLimitFilter(limiter, Arrays.asList("/api/orders", "/api/order-items"),
+            Collections.singletonList("/api/users"), Arrays.asList("/count", "/export"), meterRegistry);
+    }
+
+    @Test
+    public void classifiesTheRequests() {
+        assertThat(filter.priorityOf(request("POST", "/api/orders/checkout"))).isEqualTo(Priority.CRITICAL);
+        assertThat(filter.priorityOf(request("DELETE", "/api/order-items/1"))).isEqualTo(Priority.CRITICAL);
+        assertThat(filter.priorityOf(request("GET", "/api/orders/1"))).isEqualTo(Priority.NORMAL);
+        assertThat(filter.priorityOf(request("GET", "/api/orders/export"))).isEqualTo(Priority.LOW);
+        assertThat(filter.priorityOf(request("GET", "/api/products/count"))).isEqualTo(Priority.LOW);
+        assertThat(filter.priorityOf(request("GET", "/api/users"))).isEqualTo(Priority.LOW);
+        assertThat(filter.priorityOf(request("GET", "/api/products"))).isEqualTo(Priority.NORMAL);
+    }
+
+    @Test
+    public void rejectsTheRequestsOverTheLimitOfTheirPriority() throws Exception {
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/products/count"), rejected, new MockFilterChain());
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/orders/checkout"), admitted, new MockFilterChain());
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(admitted.getStatus()).isEqualTo(200);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(meterRegistry.get("concurrency.limit.rejected").tag("priority", "low").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("concurrency.limit.rejected").tag("priority", "critical").counter().count()).isZero();
+        assertThat(meterRegistry.get("concurrency.limit").gauge().value()).isEqualTo(2);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        return new MockHttpServletRequest(method, path);
+    }
+}
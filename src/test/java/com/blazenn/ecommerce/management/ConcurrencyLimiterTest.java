@@ -0,0 +1,120 @@
+package com.blazenn.ecommerce.management;
+
+import com.blazenn.ecommerce.management.ConcurrencyLimiter.Priority;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link ConcurrencyLimiter}.
+ */
+public class ConcurrencyLimiterTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    private ConcurrencyLimiter limiter;
+
+    private long now;
+
+    @BeforeEach
+    public void setUp() {
+        limiter = new ConcurrencyLimiter(10, 2, 100, 1.5, 1.0, WINDOW, 1, 0.5, 0.9);
+        now = System.nanoTime();
+    }
+
+    @Test
+    public void shedsTheLowPriorityRequestsFirst() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(Priority.LOW)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(Priority.LOW)).isFalse();
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isFalse();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+
+        limiter.release(Priority.CRITICAL, 1);
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+    }
+
+    @Test
+    public void shrinksTheLimitWhenTheLatencyGrows() {
+        window(10);
+        int limit = limiter.getLimit();
+        assertThat(limit).isGreaterThan(10);
+
+        for (int i = 0; i < 5; i++) {
+            window(200);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(limit / 2).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    public void growsTheLimitBackWhenTheLatencyRecovers() {
+        window(10);
+        for (int i = 0; i < 5; i++) {
+            window(200);
+        }
+        int limit = limiter.getLimit();
+
+        for (int i = 0; i < 30; i++) {
+            window(10);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(limit * 2);
+    }
+
+    @Test
+    public void doesNotGrowTheLimitWhileMostOfItIsUnused() {
+        for (int i = 0; i < 5; i++) {
+            now += WINDOW;
+            assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+            limiter.release(Priority.NORMAL, TimeUnit.MILLISECONDS.toNanos(10), now);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    public void doesNotShrinkTheLimitForALongLowPriorityRequest() {
+        window(10);
+        int limit = limiter.getLimit();
+
+        now += WINDOW;
+        assertThat(limiter.tryAcquire(Priority.LOW)).isTrue();
+        int requests = 0;
+        while (limiter.tryAcquire(Priority.CRITICAL)) {
+            requests++;
+        }
+        for (int i = 0; i < requests; i++) {
+            limiter.release(Priority.CRITICAL, TimeUnit.MILLISECONDS.toNanos(10), now);
+        }
+        limiter.release(Priority.LOW, TimeUnit.MINUTES.toNanos(1), now);
+        window(10);
+
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(limit);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    /**
+     * Run a window of as many requests as the limit allows, all taking {@code rttMillis}.
+     */
+    private void window(long rttMillis) {
+        now += WINDOW;
+        int requests = 0;
+        while (limiter.tryAcquire(Priority.CRITICAL)) {
+            requests++;
+        }
+        for (int i = 0; i < requests; i++) {
+            limiter.release(Priority.CRITICAL, TimeUnit.MILLISECONDS.toNanos(rttMillis), now);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.blazenn.ecommerce.management;
+
+import com.blazenn.ecommerce.EcommApp;
+import com.blazenn.ecommerce.domain.Product;
+import com.blazenn.ecommerce.repository.ProductRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@link HibernateStatisticsEndpoint} and the {@link RequestStatistics}.
+ */
+@SpringBootTest(classes = EcommApp.class)
+@Transactional
+public class HibernateStatisticsEndpointIT {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private HibernateStatisticsEndpoint endpoint;
+
+    @BeforeEach
+    public void setUp() {
+        endpoint = new HibernateStatisticsEndpoint(entityManagerFactory);
+        endpoint.clear();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void exposesTheStatisticsOfTheSessionFactory() {
+        Product product = productRepository.saveAndFlush(new Product().name("product").price(BigDecimal.ONE));
+        em.clear();
+        productRepository.findById(product.getId());
+        em.createQuery("select p from Product p where p.price >= :price", Product.class)
+            .setParameter("price", BigDecimal.ONE).getResultList();
+
+        Map<String, Object> statistics = endpoint.statistics();
+
+        assertThat(statistics).containsEntry("enabled", true);
+        assertThat((Map<String, Object>) statistics.get("entities")).containsEntry("inserted", 1L);
+        assertThat((Long) ((Map<String, Object>) statistics.get("statements")).get("prepared")).isGreaterThanOrEqualTo(3L);
+        assertThat((List<Map<String, Object>>) statistics.get("slowestQueries"))
+            .extracting(query -> query.get("query"))
+            .contains("select p from Product p where p.price >= :price");
+    }
+
+    @Test
+    public void bindsTheStatisticsToMicrometer() {
+        assertThat(meterRegistry.find("hibernate.statements").tag("status", "prepared").meter()).isNotNull();
+        assertThat(meterRegistry.find("hibernate.entities.fetches").meter()).isNotNull();
+    }
+
+    @Test
+    public void countsTheStatementsAndEntityLoadsOfTheCurrentThread() {
+        productRepository.saveAndFlush(new Product().name("product").price(BigDecimal.ONE));
+        em.clear();
+
+        RequestStatistics.start();
+        productRepository.findAll();
+        RequestStatistics.Counters counters = RequestStatistics.stop();
+
+        assertThat(counters.getStatements()).isEqualTo(1);
+        assertThat(counters.getEntityLoads()).isGreaterThanOrEqualTo(1);
+        assertThat(RequestStatistics.stop()).isNull();
+    }
+}
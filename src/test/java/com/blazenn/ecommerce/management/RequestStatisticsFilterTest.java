@@ -0,0 +1,62 @@
+package com.blazenn.ecommerce.management;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link RequestStatisticsFilter}.
+ */
+public class RequestStatisticsFilterTest {
+
+    private final RequestStatistics requestStatistics = new RequestStatistics();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RequestStatisticsFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestStatisticsFilter(meterRegistry, 2);
+    }
+
+    @Test
+    public void recordsTheStatementsOfTheRequestByUriTemplate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/products/{id}");
+            requestStatistics.inspect("select 1");
+            requestStatistics.inspect("select 2");
+            requestStatistics.onLoad(new Object(), 1L, null, null, null);
+        });
+
+        assertThat(meterRegistry.get("http.server.requests.statements")
+            .tag("method", "GET").tag("uri", "/api/products/{id}").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("http.server.requests.entity.loads")
+            .tag("uri", "/api/products/{id}").summary().totalAmount()).isEqualTo(1);
+        assertThat(RequestStatistics.stop()).isNull();
+    }
+
+    @Test
+    public void tagsTheUnmatchedRequests() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/unknown"), new MockHttpServletResponse(), (req, res) -> {
+        });
+
+        assertThat(meterRegistry.get("http.server.requests.statements").tag("uri", "UNKNOWN").summary().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void doesNotCountOutsideOfARequest() {
+        assertThat(requestStatistics.inspect("select 1")).isEqualTo("select 1");
+
+        assertThat(RequestStatistics.stop()).isNull();
+    }
+}
@@ -0,0 +1,177 @@
+package com.blazenn.ecommerce.repository;
+
+import com.blazenn.ecommerce.EcommApp;
+import com.blazenn.ecommerce.config.ApplicationProperties;
+import com.blazenn.ecommerce.config.ApplicationProperties.AuditEvents.OverflowPolicy;
+import com.blazenn.ecommerce.config.audit.AuditEventConverter;
+import com.blazenn.ecommerce.domain.PersistentAuditEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link AuditEventWriter}, writing in the background.
+ */
+@SpringBootTest(classes = EcommApp.class)
+public class AuditEventWriterIT {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private AuditEventConverter auditEventConverter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuditEventWriter auditEventWriter;
+
+    @BeforeEach
+    public void setup() {
+        persistenceAuditEventRepository.deleteAll();
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties.getAuditEvents().setAsyncEnabled(true);
+        applicationProperties.getAuditEvents().setBatchSize(10);
+        applicationProperties.getAuditEvents().setFlushIntervalMs(60000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        auditEventWriter.stop();
+        persistenceAuditEventRepository.deleteAll();
+    }
+
+    @Test
+    public void writesTheEventsWhenABatchIsFull() throws Exception {
+        startWriter();
+        for (int i = 0; i < 10; i++) {
+            auditEventWriter.add(event("user-" + i));
+        }
+
+        awaitWrittenEvents(10);
+        assertThat(meterRegistry.get("audit.events.written").counter().count()).isEqualTo(10);
+        assertThat(meterRegistry.get("audit.events.flush").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.events.buffered").gauge().value()).isZero();
+    }
+
+    @Test
+    public void writesTheEventsEveryFlushInterval() throws Exception {
+        applicationProperties.getAuditEvents().setFlushIntervalMs(100);
+        startWriter();
+        auditEventWriter.add(event("user"));
+
+        awaitWrittenEvents(1);
+    }
+
+    @Test
+    public void writesTheBufferedEventsWhenStopped() {
+        startWriter();
+        auditEventWriter.add(event("user"));
+        assertThat(persistenceAuditEventRepository.count()).isZero();
+
+        auditEventWriter.stop();
+
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(1);
+        auditEventWriter.add(event("other-user"));
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    public void callerWritesTheEventWhenTheBufferIsFull() {
+        fillBuffer(OverflowPolicy.CALLER_RUNS);
+
+        assertThat(principals()).containsExactly("user-3");
+
+        auditEventWriter.stop();
+        assertThat(principals()).containsExactlyInAnyOrder("user-1", "user-2", "user-3");
+        assertThat(meterRegistry.get("audit.events.dropped").tag("reason", "overflow").counter().count()).isZero();
+    }
+
+    @Test
+    public void dropsTheNewestEventWhenTheBufferIsFull() {
+        fillBuffer(OverflowPolicy.DROP_NEWEST);
+
+        auditEventWriter.stop();
+        assertThat(principals()).containsExactlyInAnyOrder("user-1", "user-2");
+        assertThat(meterRegistry.get("audit.events.dropped").tag("reason", "overflow").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void dropsTheOldestEventWhenTheBufferIsFull() {
+        fillBuffer(OverflowPolicy.DROP_OLDEST);
+
+        auditEventWriter.stop();
+        assertThat(principals()).containsExactlyInAnyOrder("user-2", "user-3");
+        assertThat(meterRegistry.get("audit.events.dropped").tag("reason", "overflow").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void findReturnsTheBufferedEvents() {
+        startWriter();
+        CustomAuditEventRepository customAuditEventRepository =
+            new CustomAuditEventRepository(persistenceAuditEventRepository, auditEventConverter, auditEventWriter);
+        Instant before = Instant.now().minusSeconds(1);
+
+        customAuditEventRepository.add(new AuditEvent("user", "test-type", Collections.emptyMap()));
+
+        List<AuditEvent> events = new TransactionTemplate(transactionManager)
+            .execute(status -> customAuditEventRepository.find("user", before, "test-type"));
+        assertThat(events).hasSize(1);
+    }
+
+    private void startWriter() {
+        auditEventWriter = new AuditEventWriter(persistenceAuditEventRepository, transactionManager, applicationProperties, meterRegistry);
+        auditEventWriter.start();
+    }
+
+    private void fillBuffer(OverflowPolicy overflowPolicy) {
+        applicationProperties.getAuditEvents().setBufferSize(2);
+        applicationProperties.getAuditEvents().setOverflowPolicy(overflowPolicy);
+        startWriter();
+        auditEventWriter.add(event("user-1"));
+        auditEventWriter.add(event("user-2"));
+        auditEventWriter.add(event("user-3"));
+    }
+
+    private void awaitWrittenEvents(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (meterRegistry.get("audit.events.written").counter().count() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(count);
+    }
+
+    private List<String> principals() {
+        return persistenceAuditEventRepository.findAll().stream()
+            .map(PersistentAuditEvent::getPrincipal)
+            .collect(Collectors.toList());
+    }
+
+    private static PersistentAuditEvent event(String principal) {
+        PersistentAuditEvent event = new PersistentAuditEvent();
+        event.setPrincipal(principal);
+        event.setAuditEventType("test-type");
+        event.setAuditEventDate(Instant.now());
+        return event;
+    }
+}
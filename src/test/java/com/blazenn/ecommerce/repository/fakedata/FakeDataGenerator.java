@@ -0,0 +1,407 @@
+package com.blazenn.ecommerce.repository.fakedata;
+
+import com.blazenn.ecommerce.security.AuthoritiesConstants;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+/**
+ * Generator of a consistent synthetic data set: categories, products, users with their addresses, orders with their
+ * items, and the order summaries, on top of the existing rows.
+ * <p>
+ * The data is skewed like a real shop: a few categories hold most products, a few products are in most orders, a few
+ * users place most orders, prices are log-normal, most lines have a quantity of 1 and recent orders are more frequent.
+ * The same seed generates the same data. Rows are written with multi-row inserts; when no transaction is bound to the
+ * current thread, they are committed every {@link #COMMIT_INTERVAL} statements or so, otherwise they belong to that
+ * transaction. The generated users are activated and their password is {@link #PASSWORD}.
+ */
+public class FakeDataGenerator {
+
+    /**
+     * The password of the generated users.
+     */
+    public static final String PASSWORD = "user";
+
+    /**
+     * The prefix of the login of the generated users, which is followed by their id.
+     */
+    public static final String LOGIN_PREFIX = "fake-";
+
+    private static final String PASSWORD_HASH = "$2a$10$VEjxo0jq2YG9Rbk2HmX9S.k1uZBGYUHdUcid3g/vfiEl7lwWgOH/K";
+
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    private static final int COMMIT_INTERVAL = 20;
+
+    private static final String[] ADJECTIVES = {"Ergonomic", "Rustic", "Sleek", "Handcrafted", "Generic", "Practical",
+        "Refined", "Gorgeous", "Intelligent", "Tasty", "Licensed", "Unbranded", "Small", "Fantastic", "Incredible"};
+
+    private static final String[] MATERIALS = {"Steel", "Wooden", "Concrete", "Plastic", "Cotton", "Granite", "Rubber",
+        "Metal", "Soft", "Fresh", "Frozen", "Leather", "Bronze", "Silk", "Wool"};
+
+    private static final String[] NOUNS = {"Chair", "Car", "Computer", "Keyboard", "Mouse", "Bike", "Ball", "Gloves",
+        "Pants", "Shirt", "Table", "Shoes", "Hat", "Towels", "Soap", "Tuna", "Chicken", "Fish", "Cheese", "Bacon",
+        "Pizza", "Salad", "Sausages", "Chips", "Lamp", "Watch", "Backpack", "Mug", "Pillow", "Blanket"};
+
+    private static final String[] DEPARTMENTS = {"Books", "Movies", "Music", "Games", "Electronics", "Computers",
+        "Home", "Garden", "Tools", "Grocery", "Health", "Beauty", "Toys", "Kids", "Baby", "Clothing", "Shoes",
+        "Jewelry", "Sports", "Outdoors", "Automotive", "Industrial"};
+
+    private static final String[] FIRST_NAMES = {"Emma", "Liam", "Olivia", "Noah", "Ava", "Lucas", "Mia", "Ethan",
+        "Sophia", "Mason", "Amelia", "Logan", "Harper", "Elijah", "Ella", "James", "Aria", "Benjamin", "Chloe", "Leo"};
+
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+        "Davis", "Martin", "Lopez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Lee", "Walker"};
+
+    private static final String[] CITIES = {"New York", "Los Angeles", "Chicago", "Houston", "Phoenix", "Philadelphia",
+        "San Antonio", "San Diego", "Dallas", "Austin", "Seattle", "Denver", "Boston", "Portland", "Miami", "Atlanta"};
+
+    private static final String[] STATES = {"NY", "CA", "IL", "TX", "AZ", "PA", "TX", "CA", "TX", "TX", "WA", "CO",
+        "MA", "OR", "FL", "GA"};
+
+    private static final String[] STREETS = {"Main", "Oak", "Pine", "Maple", "Cedar", "Elm", "Washington", "Lake",
+        "Hill", "Park", "Sunset", "Ridge", "River", "Church", "Mill"};
+
+    private final Logger log = LoggerFactory.getLogger(FakeDataGenerator.class);
+
+    private final DataSource dataSource;
+
+    private final Random random;
+
+    public FakeDataGenerator(DataSource dataSource, long seed) {
+        this.dataSource = dataSource;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * The number of rows to generate.
+     */
+    public static final class Size {
+
+        private final int categories;
+
+        private final int products;
+
+        private final int users;
+
+        private final long orders;
+
+        public Size(int categories, int products, int users, long orders) {
+            if (categories < 1 || products < 1 || users < 1 || orders < 0) {
+                throw new IllegalArgumentException("Invalid fake data size");
+            }
+            this.categories = categories;
+            this.products = products;
+            this.users = users;
+            this.orders = orders;
+        }
+
+        /**
+         * A data set of a given number of orders, with one product for 20 orders, one user for 10 orders and one
+         * category for 100 products. Orders have 2 items on average, and users 1.5 addresses.
+         *
+         * @param orders the number of orders.
+         * @return the size of the data set.
+         */
+        public static Size ofOrders(long orders) {
+            int products = (int) Math.max(10, orders / 20);
+            return new Size(Math.max(5, products / 100), products, (int) Math.max(10, orders / 10), orders);
+        }
+
+        public int getCategories() {
+            return categories;
+        }
+
+        public int getProducts() {
+            return products;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public long getOrders() {
+            return orders;
+        }
+
+        @Override
+        public String toString() {
+            return "Size{" +
+                "categories=" + categories +
+                ", products=" + products +
+                ", users=" + users +
+                ", orders=" + orders +
+                "}";
+        }
+    }
+
+    /**
+     * Generate a data set.
+     *
+     * @param size the number of rows to generate.
+     * @throws SQLException if the rows could not be written.
+     */
+    public void generate(Size size) throws SQLException {
+        log.info("Generating fake data: {}", size);
+        long start = System.nanoTime();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        boolean transactional = DataSourceUtils.isConnectionTransactional(connection, dataSource);
+        boolean autoCommit = connection.getAutoCommit();
+        try {
+            if (!transactional) {
+                connection.setAutoCommit(false);
+            }
+            Committer committer = new Committer(connection, transactional);
+            long firstCategoryId = nextId(connection, "category", null);
+            long firstProductId = nextId(connection, "product", null);
+            long firstUserId = nextId(connection, "jhi_user", null);
+            long firstAddressId = nextId(connection, "address", null);
+            long firstOrderId = nextId(connection, "jhi_order", "jhi_order");
+            long firstOrderItemId = nextId(connection, "order_item", "order_item");
+
+            generateCategories(connection, committer, size, firstCategoryId);
+            long[] prices = generateProducts(connection, committer, size, firstProductId, firstCategoryId);
+            generateUsers(connection, committer, size, firstUserId, firstAddressId);
+            long[] lastOrderIds = generateOrders(connection, committer, size, prices, firstProductId, firstUserId,
+                firstOrderId, firstOrderItemId);
+
+            updateIdGenerator(connection, "jhi_order", lastOrderIds[0] + 1);
+            updateIdGenerator(connection, "order_item", lastOrderIds[1] + 1);
+            committer.commit();
+        } catch (SQLException | RuntimeException e) {
+            if (!transactional) {
+                connection.rollback();
+            }
+            throw e;
+        } finally {
+            if (!transactional) {
+                connection.setAutoCommit(autoCommit);
+            }
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        log.info("Generated fake data in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void generateCategories(Connection connection, Committer committer, Size size, long firstId) throws SQLException {
+        try (MultiRowInserter categories = new MultiRowInserter(connection, "category",
+            new String[]{"id", "name", "description"}, ROWS_PER_STATEMENT)) {
+            for (int i = 0; i < size.getCategories(); i++) {
+                String department = DEPARTMENTS[i % DEPARTMENTS.length];
+                String name = i < DEPARTMENTS.length ? department : department + " " + (i / DEPARTMENTS.length + 1);
+                categories.add(firstId + i, name, "All about " + department.toLowerCase());
+                committer.rowAdded();
+            }
+        }
+    }
+
+    private long[] generateProducts(Connection connection, Committer committer, Size size, long firstId,
+                                    long firstCategoryId) throws SQLException {
+        ZipfDistribution categoryPopularity = new ZipfDistribution(size.getCategories(), 1.0);
+        long[] prices = new long[size.getProducts()];
+        try (MultiRowInserter products = new MultiRowInserter(connection, "product",
+            new String[]{"id", "name", "description", "price", "category_id"}, ROWS_PER_STATEMENT)) {
+            for (int i = 0; i < size.getProducts(); i++) {
+                // log-normal prices, with a median around 33.00
+                prices[i] = Math.max(99, Math.min(500_000, Math.round(Math.exp(3.5 + random.nextGaussian()) * 100)));
+                String name = pick(ADJECTIVES) + " " + pick(MATERIALS) + " " + pick(NOUNS);
+                products.add(firstId + i, name, name + " number " + (i + 1), BigDecimal.valueOf(prices[i], 2),
+                    firstCategoryId + categoryPopularity.sample(random));
+                committer.rowAdded();
+            }
+        }
+        return prices;
+    }
+
+    private void generateUsers(Connection connection, Committer committer, Size size, long firstId,
+                               long firstAddressId) throws SQLException {
+        Instant now = Instant.now();
+        ZipfDistribution cityPopularity = new ZipfDistribution(CITIES.length, 0.8);
+        try (MultiRowInserter users = new MultiRowInserter(connection, "jhi_user",
+            new String[]{"id", "login", "password_hash", "first_name", "last_name", "email", "activated", "lang_key",
+                "created_by", "created_date", "last_modified_by", "last_modified_date"}, ROWS_PER_STATEMENT);
+             MultiRowInserter authorities = new MultiRowInserter(connection, "jhi_user_authority",
+                 new String[]{"user_id", "authority_name"}, ROWS_PER_STATEMENT, users);
+             MultiRowInserter addresses = new MultiRowInserter(connection, "address",
+                 new String[]{"id", "street", "city", "state", "postal_code", "user_id"}, ROWS_PER_STATEMENT, users)) {
+            long addressId = firstAddressId;
+            for (int i = 0; i < size.getUsers(); i++) {
+                long userId = firstId + i;
+                Instant createdDate = now.minus(random.nextInt(3 * 365), ChronoUnit.DAYS);
+                users.add(userId, LOGIN_PREFIX + userId, PASSWORD_HASH, pick(FIRST_NAMES), pick(LAST_NAMES),
+                    LOGIN_PREFIX + userId + "@localhost", true, "en", "system", createdDate, "system", createdDate);
+                authorities.add(userId, AuthoritiesConstants.USER);
+                int addressCount = 1 + random.nextInt(2);
+                for (int j = 0; j < addressCount; j++) {
+                    int city = cityPopularity.sample(random);
+                    addresses.add(addressId++, (1 + random.nextInt(9999)) + " " + pick(STREETS) + " Street",
+                        CITIES[city], STATES[city], String.format("%05d", random.nextInt(100_000)), userId);
+                }
+                committer.rowAdded();
+            }
+        }
+    }
+
+    private long[] generateOrders(Connection connection, Committer committer, Size size, long[] prices,
+                                  long firstProductId, long firstUserId, long firstOrderId, long firstOrderItemId)
+        throws SQLException {
+        ZipfDistribution productPopularity = new ZipfDistribution(prices.length, 0.9);
+        ZipfDistribution userActivity = new ZipfDistribution(size.getUsers(), 0.7);
+        int[] popularProducts = shuffledIndexes(prices.length);
+        int[] activeUsers = shuffledIndexes(size.getUsers());
+        long[] orderCounts = new long[size.getUsers()];
+        long[] totalSpent = new long[size.getUsers()];
+        Instant[] lastOrderDates = new Instant[size.getUsers()];
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        long orderItemId = firstOrderItemId;
+        try (MultiRowInserter orders = new MultiRowInserter(connection, "jhi_order",
+            new String[]{"id", "order_date", "total_amount", "user_id"}, ROWS_PER_STATEMENT);
+             MultiRowInserter orderItems = new MultiRowInserter(connection, "order_item",
+                 new String[]{"id", "quantity", "unit_price", "order_id", "product_id"}, ROWS_PER_STATEMENT, orders);
+             MultiRowInserter orderSummaries = new MultiRowInserter(connection, "order_summary",
+                 new String[]{"order_id", "user_id", "order_date", "item_count", "total_amount"}, ROWS_PER_STATEMENT, orders)) {
+            for (long i = 0; i < size.getOrders(); i++) {
+                long orderId = firstOrderId + i;
+                int user = activeUsers[userActivity.sample(random)];
+                // two years of orders, more of them recent
+                double age = random.nextDouble();
+                Instant orderDate = now.minusSeconds((long) (age * age * 2 * 365 * 24 * 3600));
+                int lines = 1;
+                while (lines < 10 && random.nextInt(2) == 0) {
+                    lines++;
+                }
+                long itemCount = 0;
+                long total = 0;
+                Object[][] items = new Object[lines][];
+                for (int j = 0; j < lines; j++) {
+                    int product = popularProducts[productPopularity.sample(random)];
+                    int quantity = 1;
+                    while (quantity < 10 && random.nextInt(10) < 3) {
+                        quantity++;
+                    }
+                    itemCount += quantity;
+                    total += quantity * prices[product];
+                    items[j] = new Object[]{orderItemId++, quantity, BigDecimal.valueOf(prices[product], 2), orderId,
+                        firstProductId + product};
+                }
+                orders.add(orderId, orderDate, BigDecimal.valueOf(total, 2), firstUserId + user);
+                for (Object[] item : items) {
+                    orderItems.add(item);
+                }
+                orderSummaries.add(orderId, firstUserId + user, orderDate, itemCount, BigDecimal.valueOf(total, 2));
+                orderCounts[user]++;
+                totalSpent[user] += total;
+                if (lastOrderDates[user] == null || orderDate.isAfter(lastOrderDates[user])) {
+                    lastOrderDates[user] = orderDate;
+                }
+                committer.rowAdded();
+            }
+        }
+        try (MultiRowInserter userOrderSummaries = new MultiRowInserter(connection, "user_order_summary",
+            new String[]{"user_id", "order_count", "total_spent", "last_order_date"}, ROWS_PER_STATEMENT)) {
+            for (int user = 0; user < orderCounts.length; user++) {
+                if (orderCounts[user] > 0) {
+                    userOrderSummaries.add(firstUserId + user, orderCounts[user], BigDecimal.valueOf(totalSpent[user], 2),
+                        lastOrderDates[user]);
+                    committer.rowAdded();
+                }
+            }
+        }
+        return new long[]{firstOrderId + size.getOrders() - 1, orderItemId - 1};
+    }
+
+    private int[] shuffledIndexes(int n) {
+        int[] indexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexes[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int index = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = index;
+        }
+        return indexes;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * The first free id of a table, also above the ids reserved by its table generator if any.
+     */
+    private static long nextId(Connection connection, String table, String sequenceName) throws SQLException {
+        long next = queryForLong(connection, "select coalesce(max(id), 0) + 1 from " + table);
+        if (sequenceName != null) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                "select next_val from id_generator where sequence_name = ?")) {
+                statement.setString(1, sequenceName);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        next = Math.max(next, resultSet.getLong(1));
+                    }
+                }
+            }
+        }
+        return next;
+    }
+
+    private static void updateIdGenerator(Connection connection, String sequenceName, long nextValue) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+            "update id_generator set next_val = ? where sequence_name = ? and next_val < ?")) {
+            statement.setLong(1, nextValue);
+            statement.setString(2, sequenceName);
+            statement.setLong(3, nextValue);
+            statement.executeUpdate();
+        }
+    }
+
+    private static long queryForLong(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Commits every {@link #COMMIT_INTERVAL} full statements, unless a transaction is bound to the thread.
+     */
+    private static final class Committer {
+
+        private final Connection connection;
+
+        private final boolean transactional;
+
+        private long uncommittedRows;
+
+        private Committer(Connection connection, boolean transactional) {
+            this.connection = connection;
+            this.transactional = transactional;
+        }
+
+        void rowAdded() throws SQLException {
+            if (++uncommittedRows >= (long) COMMIT_INTERVAL * ROWS_PER_STATEMENT) {
+                commit();
+            }
+        }
+
+        void commit() throws SQLException {
+            if (!transactional) {
+                connection.commit();
+            }
+            uncommittedRows = 0;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.blazenn.ecommerce.repository.fakedata;
+
+import com.blazenn.ecommerce.EcommApp;
+import com.blazenn.ecommerce.domain.Product;
+import com.blazenn.ecommerce.repository.ProductRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link FakeDataGenerator}.
+ */
+@SpringBootTest(classes = EcommApp.class)
+@Transactional
+public class FakeDataGeneratorIT {
+
+    private static final FakeDataGenerator.Size SIZE = FakeDataGenerator.Size.ofOrders(2_000);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private long ordersBefore;
+
+    private long usersBefore;
+
+    @BeforeEach
+    public void generate() throws Exception {
+        ordersBefore = count("jhi_order");
+        usersBefore = count("jhi_user");
+        new FakeDataGenerator(dataSource, 42L).generate(SIZE);
+    }
+
+    @Test
+    public void generatesTheRequestedRows() {
+        assertThat(count("jhi_order") - ordersBefore).isEqualTo(SIZE.getOrders());
+        assertThat(count("jhi_user") - usersBefore).isEqualTo(SIZE.getUsers());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_user_authority where user_id in "
+            + "(select id from jhi_user where login like 'fake-%')", Long.class)).isEqualTo(SIZE.getUsers());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from address where user_id in "
+            + "(select id from jhi_user where login like 'fake-%')", Long.class))
+            .isBetween((long) SIZE.getUsers(), 2L * SIZE.getUsers());
+    }
+
+    @Test
+    public void generatesConsistentOrdersAndSummaries() {
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_order o where o.total_amount <> "
+            + "(select sum(i.quantity * i.unit_price) from order_item i where i.order_id = o.id)", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from order_item i join product p on p.id = i.product_id "
+            + "where i.unit_price <> p.price", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_order o join order_summary s on s.order_id = o.id "
+            + "where s.total_amount = o.total_amount and s.item_count = "
+            + "(select sum(i.quantity) from order_item i where i.order_id = o.id)", Long.class))
+            .isEqualTo(count("jhi_order"));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from user_order_summary u where u.order_count <> "
+            + "(select count(*) from jhi_order o where o.user_id = u.user_id)", Long.class)).isZero();
+    }
+
+    @Test
+    public void generatesSkewedOrders() {
+        List<Long> itemsPerProduct = jdbcTemplate.queryForList("select count(*) from order_item group by product_id "
+            + "order by count(*) desc", Long.class);
+        long items = itemsPerProduct.stream().mapToLong(Long::longValue).sum();
+        long topTenPercent = itemsPerProduct.stream().limit(SIZE.getProducts() / 10).mapToLong(Long::longValue).sum();
+
+        assertThat(topTenPercent).isGreaterThan(items / 3);
+    }
+
+    @Test
+    public void generatedIdsDoNotCollideWithNewEntities() {
+        Product product = productRepository.saveAndFlush(new Product().name("new product").price(BigDecimal.ONE));
+
+        assertThat(product.getId()).isGreaterThan(jdbcTemplate.queryForObject(
+            "select max(id) from product where id <> ?", Long.class, product.getId()));
+        // the table generator allocates its ids in a separate transaction, which would wait for the test one
+        assertThat(jdbcTemplate.queryForObject("select next_val from id_generator where sequence_name = 'jhi_order'", Long.class))
+            .isGreaterThan(jdbcTemplate.queryForObject("select max(id) from jhi_order", Long.class));
+        assertThat(jdbcTemplate.queryForObject("select next_val from id_generator where sequence_name = 'order_item'", Long.class))
+            .isGreaterThan(jdbcTemplate.queryForObject("select max(id) from order_item", Long.class));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+}
@@ -0,0 +1,134 @@
+package com.blazenn.ecommerce.repository.fakedata;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Inserts rows into a table with multi-row {@code insert ... values (...), (...)} statements.
+ * <p>
+ * Rows are buffered and written {@code rowsPerStatement} at a time through one reused prepared statement. An inserter
+ * may depend on the inserter of the table its rows reference, which is then flushed first.
+ */
+class MultiRowInserter implements AutoCloseable {
+
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+    private final Connection connection;
+
+    private final String table;
+
+    private final String[] columns;
+
+    private final int rowsPerStatement;
+
+    private final List<MultiRowInserter> dependencies;
+
+    private final List<Object[]> rows;
+
+    private PreparedStatement fullStatement;
+
+    private long count;
+
+    MultiRowInserter(Connection connection, String table, String[] columns, int rowsPerStatement,
+                     MultiRowInserter... dependencies) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.rowsPerStatement = rowsPerStatement;
+        this.dependencies = new ArrayList<>();
+        Collections.addAll(this.dependencies, dependencies);
+        this.rows = new ArrayList<>(rowsPerStatement);
+    }
+
+    void add(Object... values) throws SQLException {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " values for " + table);
+        }
+        rows.add(values);
+        if (rows.size() == rowsPerStatement) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        for (MultiRowInserter dependency : dependencies) {
+            dependency.flush();
+        }
+        if (rows.size() == rowsPerStatement) {
+            if (fullStatement == null) {
+                fullStatement = connection.prepareStatement(sql(rowsPerStatement));
+            }
+            execute(fullStatement);
+        } else {
+            try (PreparedStatement statement = connection.prepareStatement(sql(rows.size()))) {
+                execute(statement);
+            }
+        }
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            if (fullStatement != null) {
+                fullStatement.close();
+            }
+        }
+    }
+
+    private void execute(PreparedStatement statement) throws SQLException {
+        int index = 1;
+        for (Object[] row : rows) {
+            for (Object value : row) {
+                bind(statement, index++, value);
+            }
+        }
+        statement.executeUpdate();
+        count += rows.size();
+        rows.clear();
+    }
+
+    private static void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.NULL);
+        } else if (value instanceof Instant) {
+            statement.setTimestamp(index, Timestamp.from((Instant) value), UTC);
+        } else if (value instanceof BigDecimal) {
+            statement.setBigDecimal(index, (BigDecimal) value);
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+
+    private String sql(int rowCount) {
+        StringBuilder row = new StringBuilder("(");
+        for (int i = 0; i < columns.length; i++) {
+            row.append(i == 0 ? "?" : ", ?");
+        }
+        row.append(')');
+        StringBuilder sql = new StringBuilder("insert into ").append(table)
+            .append(" (").append(String.join(", ", columns)).append(") values ");
+        for (int i = 0; i < rowCount; i++) {
+            sql.append(i == 0 ? "" : ", ").append(row);
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.blazenn.ecommerce.repository.fakedata;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A Zipf distribution over the ranks {@code 0} to {@code n - 1}: the rank {@code k} is drawn with a probability
+ * proportional to {@code 1 / (k + 1)^exponent}, so that a few ranks are drawn most of the time.
+ */
+class ZipfDistribution {
+
+    private final double[] cumulativeProbabilities;
+
+    ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("A Zipf distribution needs at least one rank");
+        }
+        cumulativeProbabilities = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulativeProbabilities[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulativeProbabilities[k] /= sum;
+        }
+    }
+
+    int sample(Random random) {
+        int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulativeProbabilities.length - 1);
+    }
+}
@@ -0,0 +1,100 @@
+package com.blazenn.ecommerce.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Test class for the {@link BoundedPasswordEncoder}.
+ */
+public class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, 2, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    public void testHashesOnTheExecutor() {
+        release.countDown();
+
+        assertThat(passwordEncoder.encode("password")).isEqualTo("{hashed}password");
+        assertThat(passwordEncoder.matches("password", "{hashed}password")).isTrue();
+        assertThat(passwordEncoder.matches("other", "{hashed}password")).isFalse();
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "matches").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("password.hashing.queue.wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    public void testRejectsWhenSaturated() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("running"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("queued"));
+        while (meterRegistry.get("password.hashing.queued").gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+
+        assertThatExceptionOfType(PasswordHashingRejectedException.class)
+            .isThrownBy(() -> passwordEncoder.matches("rejected", "{hashed}rejected"))
+            .satisfies(e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(2));
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("{hashed}running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("{hashed}queued");
+    }
+
+    @Test
+    public void testPropagatesTheFailures() {
+        release.countDown();
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> passwordEncoder.encode(null));
+    }
+
+    private class BlockingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (rawPassword == null) {
+                throw new IllegalArgumentException("rawPassword cannot be null");
+            }
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "{hashed}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.blazenn.ecommerce.security;
 
 import com.blazenn.ecommerce.EcommApp;
 import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.management.RequestStatistics;
 import com.blazenn.ecommerce.repository.UserRepository;
 
 import org.apache.commons.lang3.RandomStringUtils;
@@ -106,6 +107,21 @@ public class DomainUserDetailsServiceIT {
         assertThat(userDetails.getUsername()).isEqualTo(USER_ONE_LOGIN);
     }
 
+    @Test
+    public void assertThatUserIsLoadedWithItsIdInOneQuery() {
+        userRepository.flush();
+        Long id = userRepository.findOneByLogin(USER_ONE_LOGIN).get().getId();
+
+        RequestStatistics.start();
+        UserDetails userDetails = domainUserDetailsService.loadUserByUsername(USER_ONE_EMAIL);
+        RequestStatistics.Counters counters = RequestStatistics.stop();
+
+        assertThat(userDetails).isInstanceOf(DomainUserDetails.class);
+        assertThat(((DomainUserDetails) userDetails).getId()).isEqualTo(id);
+        assertThat(userDetails.isEnabled()).isTrue();
+        assertThat(counters.getStatements()).isEqualTo(1);
+    }
+
     @Test
     public void assertThatUserNotActivatedExceptionIsThrownForNotActivatedUsers() {
         assertThatExceptionOfType(UserNotActivatedException.class).isThrownBy(
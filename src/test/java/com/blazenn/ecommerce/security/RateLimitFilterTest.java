@@ -0,0 +1,116 @@
+package com.blazenn.ecommerce.security;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link RateLimitFilter}.
+ */
+public class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties.RateLimit.Group group = new ApplicationProperties.RateLimit.Group();
+        group.setName("api");
+        group.setCapacity(1);
+        group.setRefillPerSecond(0.5);
+        group.setPathPrefixes(Collections.singletonList("/api/"));
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getRateLimit().setGroups(Collections.singletonList(group));
+        filter = new RateLimitFilter(new RateLimiter(applicationProperties, new SimpleMeterRegistry()),
+            Arrays.asList("10.1.0.0/16", "::1"));
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testRejectsTheClientsOverTheirLimit() throws Exception {
+        assertThat(filter("10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        MockHttpServletResponse rejected = filter("10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+
+        assertThat(filter("10.0.0.2").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    public void testLimitsTheAuthenticatedRequestsPerUser() throws Exception {
+        authenticate(1L);
+        assertThat(filter("10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filter("10.0.0.2").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        authenticate(2L);
+        assertThat(filter("10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    public void testIgnoresTheForwardedForHeaderOfAnUntrustedPeer() throws Exception {
+        assertThat(filter.clientAddress(request("203.0.113.7", "198.51.100.1"))).isEqualTo("203.0.113.7");
+        assertThat(filter.clientAddress(request("10.0.0.1", "198.51.100.1"))).isEqualTo("10.0.0.1");
+
+        assertThat(filter("203.0.113.7", "198.51.100.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filter("203.0.113.7", "198.51.100.2").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    public void testTakesTheClientAddressFromTheForwardedForHeaderOfTheTrustedProxies() throws Exception {
+        assertThat(filter.clientAddress(request("10.1.0.1", "198.51.100.1"))).isEqualTo("198.51.100.1");
+        assertThat(filter.clientAddress(request("0:0:0:0:0:0:0:1", "198.51.100.1"))).isEqualTo("198.51.100.1");
+        assertThat(filter.clientAddress(request("10.1.0.1", "1.2.3.4, 198.51.100.1, 10.1.0.2"))).isEqualTo("198.51.100.1");
+        assertThat(filter.clientAddress(request("10.1.0.1", "evil, 10.1.0.2"))).isEqualTo("evil");
+        assertThat(filter.clientAddress(request("10.1.0.1", null))).isEqualTo("10.1.0.1");
+
+        assertThat(filter("10.1.0.1", "198.51.100.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filter("10.1.0.1", "198.51.100.2").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filter("10.1.0.2", "198.51.100.1").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private MockHttpServletResponse filter(String remoteAddr) throws Exception {
+        return filter(remoteAddr, null);
+    }
+
+    private MockHttpServletResponse filter(String remoteAddr, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = request(remoteAddr, forwardedFor);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+
+    private static void authenticate(Long userId) {
+        DomainUserDetails principal = new DomainUserDetails(userId, "user-" + userId, "", new ArrayList<>());
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, "token", principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.blazenn.ecommerce.security;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link RateLimiter}.
+ */
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties.getRateLimit().setIdleSeconds(60);
+        applicationProperties.getRateLimit().setGroups(Arrays.asList(
+            group("authentication", 2, 1, "/api/authenticate"),
+            group("api", 3, 10, "/api/")));
+        rateLimiter = new RateLimiter(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    public void testAllowsABurstOfTheCapacityThenTheRefillRate() {
+        long now = 1000 * SECOND;
+
+        assertThat(rateLimiter.tryAcquire("/api/authenticate", "10.0.0.1", now)).isZero();
+        assertThat(rateLimiter.tryAcquire("/api/authenticate", "10.0.0.1", now)).isZero();
+        assertThat(rateLimiter.tryAcquire("/api/authenticate", "10.0.0.1", now)).isEqualTo(SECOND);
+        assertThat(rateLimiter.tryAcquire("/api/authenticate", "10.0.0.1", now + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(rateLimiter.tryAcquire("/api/authenticate", "10.0.0.1", now + SECOND)).isZero();
+        assertThat(rateLimiter.tryAcquire("/api/authenticate", "10.0.0.1", now + SECOND)).isPositive();
+
+        assertThat(meterRegistry.get("rate.limit.throttled").tag("group", "authentication").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("rate.limit.throttled").tag("group", "api").counter().count()).isZero();
+    }
+
+    @Test
+    public void testLimitsEachClientAndGroupSeparately() {
+        long now = 1000 * SECOND;
+        for (int i = 0; i < 2; i++) {
+            rateLimiter.tryAcquire("/api/authenticate", "10.0.0.1", now);
+        }
+
+        assertThat(rateLimiter.tryAcquire("/api/authenticate", "10.0.0.1", now)).isPositive();
+        assertThat(rateLimiter.tryAcquire("/api/authenticate", "10.0.0.2", now)).isZero();
+        assertThat(rateLimiter.tryAcquire("/api/authenticate", 7L, now)).isZero();
+        assertThat(rateLimiter.tryAcquire("/api/products", "10.0.0.1", now)).isZero();
+        assertThat(rateLimiter.tryAcquire("/management/health", "10.0.0.1", now)).isZero();
+    }
+
+    @Test
+    public void testEvictsTheIdleBuckets() {
+        long now = 1000 * SECOND;
+        rateLimiter.tryAcquire("/api/products", "10.0.0.1", now);
+        rateLimiter.tryAcquire("/api/products", "10.0.0.2", now + 30 * SECOND);
+
+        rateLimiter.evictIdleBuckets(now + 61 * SECOND);
+
+        assertThat(meterRegistry.get("rate.limit.buckets").tag("group", "api").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAllowsEverythingWhenDisabled() {
+        applicationProperties.getRateLimit().setEnabled(false);
+        rateLimiter = new RateLimiter(applicationProperties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire("/api/authenticate", "10.0.0.1", 0)).isZero();
+        }
+    }
+
+    private static ApplicationProperties.RateLimit.Group group(String name, int capacity, double refillPerSecond, String pathPrefix) {
+        ApplicationProperties.RateLimit.Group group = new ApplicationProperties.RateLimit.Group();
+        group.setName(name);
+        group.setCapacity(capacity);
+        group.setRefillPerSecond(refillPerSecond);
+        group.setPathPrefixes(Collections.singletonList(pathPrefix));
+        return group;
+    }
+}
@@ -1,9 +1,11 @@
 package com.blazenn.ecommerce.security.jwt;
 
+import com.blazenn.ecommerce.config.ApplicationProperties;
 import com.blazenn.ecommerce.security.AuthoritiesConstants;
 import io.github.jhipster.config.JHipsterProperties;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +26,10 @@ public class JWTFilterTest {
 
     private TokenProvider tokenProvider;
 
+    private JWTAuthenticationCache authenticationCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private JWTFilter jwtFilter;
 
     @BeforeEach
@@ -35,7 +41,9 @@ public class JWTFilterTest {
                 .decode("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8")));
 
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 60000);
-        jwtFilter = new JWTFilter(tokenProvider);
+        meterRegistry = new SimpleMeterRegistry();
+        authenticationCache = new JWTAuthenticationCache(new ApplicationProperties(), meterRegistry);
+        jwtFilter = new JWTFilter(tokenProvider, authenticationCache);
         SecurityContextHolder.getContext().setAuthentication(null);
     }
 
@@ -46,7 +54,7 @@ public class JWTFilterTest {
             "test-password",
             Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
         );
-        String jwt = tokenProvider.createToken(authentication, false);
+        String jwt = tokenProvider.createToken(authentication, false, "1");
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
         request.setRequestURI("/api/test");
@@ -101,7 +109,7 @@ public class JWTFilterTest {
             "test-password",
             Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
         );
-        String jwt = tokenProvider.createToken(authentication, false);
+        String jwt = tokenProvider.createToken(authentication, false, "1");
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Basic " + jwt);
         request.setRequestURI("/api/test");
@@ -112,4 +120,35 @@ public class JWTFilterTest {
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
 
+
+    @Test
+    public void testJWTFilterReusesCachedAuthentication() throws Exception {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            "test-user",
+            "test-password",
+            Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+        );
+        String jwt = tokenProvider.createToken(authentication, false, "1");
+        for (int i = 0; i < 2; i++) {
+            SecurityContextHolder.getContext().setAuthentication(null);
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+            request.setRequestURI("/api/test");
+            jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("test-user");
+        }
+        assertThat(meterRegistry.get("jwt.authentication.cache").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.authentication.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testJWTFilterDoesNotCacheInvalidToken() throws Exception {
+        String jwt = "wrong_jwt";
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        request.setRequestURI("/api/test");
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(authenticationCache.size()).isZero();
+    }
 }
@@ -1,6 +1,7 @@
 package com.blazenn.ecommerce.security.jwt;
 
 import com.blazenn.ecommerce.security.AuthoritiesConstants;
+import com.blazenn.ecommerce.security.DomainUserDetails;
 
 import java.security.Key;
 import java.util.*;
@@ -48,7 +49,7 @@ public class TokenProviderTest {
     @Test
     public void testReturnFalseWhenJWTisMalformed() {
         Authentication authentication = createAuthentication();
-        String token = tokenProvider.createToken(authentication, false);
+        String token = tokenProvider.createToken(authentication, false, "1");
         String invalidToken = token.substring(1);
         boolean isTokenValid = tokenProvider.validateToken(invalidToken);
 
@@ -60,7 +61,7 @@ public class TokenProviderTest {
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", -ONE_MINUTE);
 
         Authentication authentication = createAuthentication();
-        String token = tokenProvider.createToken(authentication, false);
+        String token = tokenProvider.createToken(authentication, false, "1");
 
         boolean isTokenValid = tokenProvider.validateToken(token);
 
@@ -83,6 +84,17 @@ public class TokenProviderTest {
         assertThat(isTokenValid).isEqualTo(false);
     }
 
+    @Test
+    public void testGetAuthenticationCarriesUserId() {
+        String token = tokenProvider.createToken(createAuthentication(), false, "42");
+
+        Authentication authentication = tokenProvider.getAuthentication(token);
+
+        assertThat(authentication.getPrincipal()).isInstanceOf(DomainUserDetails.class);
+        assertThat(((DomainUserDetails) authentication.getPrincipal()).getId()).isEqualTo(42L);
+        assertThat(authentication.getName()).isEqualTo("anonymous");
+    }
+
     private Authentication createAuthentication() {
         Collection<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
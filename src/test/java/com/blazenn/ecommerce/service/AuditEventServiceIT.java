@@ -1,9 +1,12 @@
 package com.blazenn.ecommerce.service;
 
+import com.blazenn.ecommerce.config.ApplicationProperties;
 import com.blazenn.ecommerce.domain.PersistentAuditEvent;
 import com.blazenn.ecommerce.repository.PersistenceAuditEventRepository;
 import com.blazenn.ecommerce.EcommApp;
 import io.github.jhipster.config.JHipsterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +14,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -29,6 +33,12 @@ public class AuditEventServiceIT {
     @Autowired
     private JHipsterProperties jHipsterProperties;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private PersistentAuditEvent auditEventOld;
 
     private PersistentAuditEvent auditEventWithinRetention;
@@ -53,6 +63,12 @@ public class AuditEventServiceIT {
         auditEventNew.setAuditEventType("test-type");
     }
 
+    @AfterEach
+    public void restorePurgeProperties() {
+        applicationProperties.getPurge().setChunkSize(new ApplicationProperties.Purge().getChunkSize());
+        applicationProperties.getPurge().setTimeBudgetSeconds(new ApplicationProperties.Purge().getTimeBudgetSeconds());
+    }
+
     @Test
     @Transactional
     public void verifyOldAuditEventsAreDeleted() {
@@ -70,4 +86,48 @@ public class AuditEventServiceIT {
         assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-retention")).isNotEmpty();
         assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-new")).isNotEmpty();
     }
+
+    @Test
+    @Transactional
+    public void verifyOldAuditEventsAreDeletedInChunks() {
+        persistenceAuditEventRepository.deleteAll();
+        for (int i = 0; i < 5; i++) {
+            PersistentAuditEvent auditEvent = new PersistentAuditEvent();
+            auditEvent.setAuditEventDate(auditEventOld.getAuditEventDate());
+            auditEvent.setPrincipal("test-user-old");
+            auditEvent.setAuditEventType("test-type");
+            auditEvent.setData(Collections.singletonMap("test-key", "test-value"));
+            persistenceAuditEventRepository.save(auditEvent);
+        }
+        persistenceAuditEventRepository.save(auditEventNew);
+        persistenceAuditEventRepository.flush();
+        applicationProperties.getPurge().setChunkSize(2);
+        double deleted = deletedAuditEvents();
+        double chunks = meterRegistry.get("purge.chunk").tag("purge", "audit-events").timer().count();
+
+        auditEventService.removeOldAuditEvents();
+
+        assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-old")).isEmpty();
+        assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-new")).isNotEmpty();
+        assertThat(deletedAuditEvents() - deleted).isEqualTo(5);
+        assertThat(meterRegistry.get("purge.chunk").tag("purge", "audit-events").timer().count() - chunks).isEqualTo(3);
+    }
+
+    @Test
+    @Transactional
+    public void verifyThePurgeStopsWhenItsTimeBudgetIsSpent() {
+        persistenceAuditEventRepository.deleteAll();
+        persistenceAuditEventRepository.saveAndFlush(auditEventOld);
+        applicationProperties.getPurge().setTimeBudgetSeconds(0);
+        double exhausted = meterRegistry.get("purge.budget.exhausted").tag("purge", "audit-events").counter().count();
+
+        auditEventService.removeOldAuditEvents();
+
+        assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-old")).isNotEmpty();
+        assertThat(meterRegistry.get("purge.budget.exhausted").tag("purge", "audit-events").counter().count() - exhausted).isEqualTo(1);
+    }
+
+    private double deletedAuditEvents() {
+        return meterRegistry.get("purge.deleted").tag("purge", "audit-events").counter().count();
+    }
 }
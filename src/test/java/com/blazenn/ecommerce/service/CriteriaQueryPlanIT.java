@@ -0,0 +1,229 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.EcommApp;
+import com.blazenn.ecommerce.domain.Address;
+import com.blazenn.ecommerce.domain.Order;
+import com.blazenn.ecommerce.domain.OrderItem;
+import com.blazenn.ecommerce.domain.OrderItem_;
+import com.blazenn.ecommerce.domain.Order_;
+import com.blazenn.ecommerce.domain.Product;
+import com.blazenn.ecommerce.domain.Product_;
+import com.blazenn.ecommerce.service.dto.AddressCriteria;
+import com.blazenn.ecommerce.service.dto.OrderCriteria;
+import com.blazenn.ecommerce.service.dto.OrderItemCriteria;
+import com.blazenn.ecommerce.service.dto.ProductCriteria;
+
+import io.github.jhipster.service.Criteria;
+import io.github.jhipster.service.filter.BigDecimalFilter;
+import io.github.jhipster.service.filter.Filter;
+import io.github.jhipster.service.filter.InstantFilter;
+import io.github.jhipster.service.filter.IntegerFilter;
+import io.github.jhipster.service.filter.LongFilter;
+import io.github.jhipster.service.filter.StringFilter;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plan regression tests for the criteria of the {@link ProductQueryService}, {@link OrderQueryService},
+ * {@link OrderItemQueryService} and {@link AddressQueryService}.
+ * <p>
+ * Every filter of a criteria class must be answered from an index, unless it is listed as not indexed, so that a new
+ * filter cannot silently add a full table scan. The plans are the ones of the H2 test database.
+ */
+@SpringBootTest(classes = EcommApp.class)
+@Transactional
+public class CriteriaQueryPlanIT {
+
+    private static final String TABLE_SCAN = ".tableScan";
+
+    private static final String INDEX_SORTED = "index sorted";
+
+    /**
+     * Filters that cannot use an index: the to-many associations, which are joined from the other table, and the
+     * product description, which is only searched with {@code contains}. A B-tree index answers the equality, range and
+     * prefix predicates, but not a {@code like} on a pattern starting with a wildcard.
+     */
+    private static final Set<String> PRODUCT_NOT_INDEXED = new HashSet<>(Arrays.asList("description", "orderItemsId"));
+
+    private static final Set<String> ORDER_NOT_INDEXED = new HashSet<>(Arrays.asList("orderItemsId"));
+
+    private static final Set<String> ORDER_ITEM_NOT_INDEXED = Collections.emptySet();
+
+    private static final Set<String> ADDRESS_NOT_INDEXED = Collections.emptySet();
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductQueryService productQueryService;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private OrderItemQueryService orderItemQueryService;
+
+    @Autowired
+    private AddressQueryService addressQueryService;
+
+    @Test
+    public void productFiltersUseAnIndex() throws Exception {
+        assertFiltersUseAnIndex(Product.class, ProductCriteria.class, PRODUCT_NOT_INDEXED,
+            productQueryService::createSpecification);
+    }
+
+    @Test
+    public void orderFiltersUseAnIndex() throws Exception {
+        assertFiltersUseAnIndex(Order.class, OrderCriteria.class, ORDER_NOT_INDEXED,
+            orderQueryService::createSpecification);
+    }
+
+    @Test
+    public void orderItemFiltersUseAnIndex() throws Exception {
+        assertFiltersUseAnIndex(OrderItem.class, OrderItemCriteria.class, ORDER_ITEM_NOT_INDEXED,
+            orderItemQueryService::createSpecification);
+    }
+
+    @Test
+    public void addressFiltersUseAnIndex() throws Exception {
+        assertFiltersUseAnIndex(Address.class, AddressCriteria.class, ADDRESS_NOT_INDEXED,
+            addressQueryService::createSpecification);
+    }
+
+    @Test
+    public void productSortsUseAnIndex() {
+        assertThat(explain(Product.class, productQueryService.createSpecification(new ProductCriteria()),
+            Sort.by(Product_.PRICE, Product_.ID))).contains(INDEX_SORTED);
+        assertThat(explain(Product.class, productQueryService.createSpecification(new ProductCriteria()),
+            Sort.by(Product_.NAME, Product_.ID))).contains(INDEX_SORTED);
+        assertThat(indexColumns("PRODUCT", "IDX_PRODUCT_CATEGORY_PRICE")).containsExactly("CATEGORY_ID", "PRICE");
+    }
+
+    @Test
+    public void orderSortsUseAnIndex() {
+        assertThat(explain(Order.class, orderQueryService.createSpecification(new OrderCriteria()),
+            Sort.by(Order_.ORDER_DATE, Order_.ID))).contains(INDEX_SORTED);
+        assertThat(explain(Order.class, orderQueryService.createSpecification(new OrderCriteria()),
+            Sort.by(Order_.TOTAL_AMOUNT, Order_.ID))).contains(INDEX_SORTED);
+        assertThat(indexColumns("JHI_ORDER", "IDX_ORDER_USER_ORDER_DATE")).containsExactly("USER_ID", "ORDER_DATE");
+    }
+
+    private <T, C extends Criteria> void assertFiltersUseAnIndex(Class<T> type, Class<C> criteriaType, Set<String> notIndexed,
+                                                               Function<C, Specification<T>> specification) throws Exception {
+        for (Field field : criteriaType.getDeclaredFields()) {
+            if (!Filter.class.isAssignableFrom(field.getType()) || notIndexed.contains(field.getName())) {
+                continue;
+            }
+            C criteria = criteriaType.newInstance();
+            field.setAccessible(true);
+            field.set(criteria, representativeFilter(field));
+
+            assertThat(explain(type, specification.apply(criteria), Sort.unsorted()))
+                .as("plan of %s.%s", criteriaType.getSimpleName(), field.getName())
+                .doesNotContain(TABLE_SCAN);
+        }
+    }
+
+    /**
+     * The filter the clients send for a field: an equality for the ids and the strings, a range for the rest.
+     */
+    private static Filter<?> representativeFilter(Field field) {
+        Class<?> type = field.getType();
+        if (LongFilter.class.equals(type)) {
+            return longEquals();
+        }
+        if (IntegerFilter.class.equals(type)) {
+            IntegerFilter filter = new IntegerFilter();
+            filter.setEquals(1);
+            return filter;
+        }
+        if (StringFilter.class.equals(type)) {
+            StringFilter filter = new StringFilter();
+            filter.setEquals("a");
+            return filter;
+        }
+        if (BigDecimalFilter.class.equals(type)) {
+            BigDecimalFilter filter = new BigDecimalFilter();
+            filter.setGreaterThanOrEqual(BigDecimal.ONE);
+            return filter;
+        }
+        if (InstantFilter.class.equals(type)) {
+            InstantFilter filter = new InstantFilter();
+            filter.setGreaterThanOrEqual(Instant.EPOCH);
+            return filter;
+        }
+        throw new IllegalArgumentException("No representative filter for " + field);
+    }
+
+    private static LongFilter longEquals() {
+        LongFilter filter = new LongFilter();
+        filter.setEquals(1L);
+        return filter;
+    }
+
+    /**
+     * The columns of an index. H2 only sorts with an index whose first columns are the sort columns, so the indexes on
+     * a foreign key and a sort column are checked on the schema rather than on the plans.
+     */
+    private List<String> indexColumns(String table, String index) {
+        return jdbcTemplate.queryForList("select column_name from information_schema.indexes "
+            + "where table_name = ? and index_name = ? order by ordinal_position", String.class, table, index);
+    }
+
+    /**
+     * Run the query of a specification, as the query services would, and explain the SQL that Hibernate generated.
+     */
+    private <T> String explain(Class<T> type, Specification<T> specification, Sort sort) {
+        List<String> statements = new ArrayList<>();
+        SessionFactory sessionFactory = em.getEntityManagerFactory().unwrap(SessionFactory.class);
+        try (Session session = sessionFactory.withOptions().statementInspector(sql -> {
+            statements.add(sql);
+            return sql;
+        }).openSession()) {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<T> query = cb.createQuery(type);
+            Root<T> root = query.from(type);
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+            session.createQuery(query).setMaxResults(21).getResultList();
+        }
+        String sql = statements.get(statements.size() - 1);
+        return jdbcTemplate.query("explain " + sql, ps -> {
+            for (int i = 1; i <= ps.getParameterMetaData().getParameterCount(); i++) {
+                ps.setObject(i, null);
+            }
+        }, rs -> rs.next() ? rs.getString(1) : null);
+    }
+}
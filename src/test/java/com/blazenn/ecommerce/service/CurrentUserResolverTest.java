@@ -0,0 +1,76 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.repository.UserRepository;
+import com.blazenn.ecommerce.security.DomainUserDetails;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the {@link CurrentUserResolver}.
+ */
+public class CurrentUserResolverTest {
+
+    private UserRepository userRepository;
+
+    private CurrentUserResolver currentUserResolver;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findIdByLogin("user")).thenReturn(Optional.of(2L));
+        currentUserResolver = new CurrentUserResolver(userRepository);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void usesTheIdCarriedByThePrincipal() {
+        authenticate(new DomainUserDetails(7L, "user", "", new ArrayList<>()));
+
+        assertThat(currentUserResolver.getCurrentUserId()).contains(7L);
+        verify(userRepository, never()).findIdByLogin(anyString());
+    }
+
+    @Test
+    public void cachesTheIdResolvedFromTheLogin() {
+        authenticate("user");
+
+        assertThat(currentUserResolver.getCurrentUserId()).contains(2L);
+        assertThat(currentUserResolver.getCurrentUserId()).contains(2L);
+        verify(userRepository, times(1)).findIdByLogin("user");
+
+        currentUserResolver.evict("user");
+        assertThat(currentUserResolver.getCurrentUserId()).contains(2L);
+        verify(userRepository, times(2)).findIdByLogin("user");
+    }
+
+    @Test
+    public void returnsEmptyWithoutAuthenticatedUser() {
+        assertThat(currentUserResolver.getCurrentUserId()).isEmpty();
+    }
+
+    private static void authenticate(Object principal) {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(new UsernamePasswordAuthenticationToken(principal, "token"));
+        SecurityContextHolder.setContext(securityContext);
+    }
+}
@@ -0,0 +1,251 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.EcommApp;
+import com.blazenn.ecommerce.config.ApplicationProperties;
+import com.blazenn.ecommerce.domain.Order;
+import com.blazenn.ecommerce.domain.OutboxEvent;
+import com.blazenn.ecommerce.domain.Product;
+import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.domain.enumeration.OutboxStatus;
+import com.blazenn.ecommerce.repository.OutboxEventRepository;
+import com.blazenn.ecommerce.repository.UserRepository;
+import com.blazenn.ecommerce.service.dto.CheckoutDTO;
+import com.blazenn.ecommerce.service.dto.CheckoutItemDTO;
+import com.blazenn.ecommerce.service.dto.OrderDTO;
+import com.blazenn.ecommerce.service.dto.OrderItemDTO;
+import com.blazenn.ecommerce.service.event.DomainEvent;
+import com.blazenn.ecommerce.service.event.DomainEventSubscriber;
+import com.blazenn.ecommerce.service.event.OrderDeleted;
+import com.blazenn.ecommerce.service.event.OrderItemAdded;
+import com.blazenn.ecommerce.service.event.OrderPlaced;
+import com.blazenn.ecommerce.web.rest.OrderResourceIT;
+import com.blazenn.ecommerce.web.rest.ProductResourceIT;
+import com.blazenn.ecommerce.web.rest.UserResourceIT;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for {@link EventOutboxService}.
+ */
+@SpringBootTest(classes = EcommApp.class)
+@Transactional
+public class EventOutboxServiceIT {
+
+    private static final String LOGIN = "event-user";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private final RecordingSubscriber<DomainEvent> allEvents = new RecordingSubscriber<>(DomainEvent.class);
+
+    private final RecordingSubscriber<OrderDeleted> deletions = new RecordingSubscriber<>(OrderDeleted.class);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EventOutboxService eventOutboxService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        ObjectProvider<DomainEventSubscriber<?>> subscribers = mock(ObjectProvider.class);
+        when(subscribers.orderedStream()).thenAnswer(invocation -> Stream.of(allEvents, deletions));
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties.getEventOutbox().setEnabled(false);
+        applicationProperties.getEventOutbox().setMaxAttempts(2);
+        eventOutboxService = new EventOutboxService(outboxEventRepository, subscribers, objectMapper, transactionManager,
+            Runnable::run, applicationProperties, meterRegistry);
+    }
+
+    @Test
+    @WithMockUser(LOGIN)
+    public void checkoutPublishesTheOrderAndItsItems() throws Exception {
+        User user = UserResourceIT.createEntity(em);
+        user.setLogin(LOGIN);
+        userRepository.saveAndFlush(user);
+        Product product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        CheckoutDTO checkoutDTO = new CheckoutDTO();
+        checkoutDTO.setItems(Arrays.asList(checkoutItem(product, 2), checkoutItem(product, 3)));
+
+        OrderDTO order = orderService.checkout(checkoutDTO);
+
+        List<DomainEvent> events = publishedEvents();
+        assertThat(events).hasSize(3);
+        OrderPlaced orderPlaced = (OrderPlaced) events.get(0);
+        assertThat(orderPlaced.getOrderId()).isEqualTo(order.getId());
+        assertThat(orderPlaced.getUserId()).isEqualTo(user.getId());
+        assertThat(orderPlaced.getTotalAmount()).isEqualByComparingTo(product.getPrice().multiply(BigDecimal.valueOf(5)));
+        assertThat(events.subList(1, 3)).allSatisfy(event -> {
+            OrderItemAdded orderItemAdded = (OrderItemAdded) event;
+            assertThat(orderItemAdded.getOrderId()).isEqualTo(order.getId());
+            assertThat(orderItemAdded.getProductId()).isEqualTo(product.getId());
+            assertThat(orderItemAdded.getOrderItemId()).isNotNull();
+        });
+    }
+
+    @Test
+    @WithMockUser("order-saver")
+    public void savingAnOrderPublishesItsComputedTotal() throws Exception {
+        // a login of its own, as the id of a login is cached beyond the rolled back transaction of the test
+        User user = UserResourceIT.createEntity(em);
+        user.setLogin("order-saver");
+        userRepository.saveAndFlush(user);
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setOrderDate(Instant.now());
+        orderDTO.setTotalAmount(new BigDecimal("99.00"));
+
+        OrderDTO order = orderService.save(orderDTO);
+
+        assertThat(order.getTotalAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        List<DomainEvent> events = publishedEvents();
+        assertThat(events).hasSize(1);
+        assertThat(((OrderPlaced) events.get(0)).getTotalAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    public void savingAnItemAndDeletingAnOrderPublishEvents() throws Exception {
+        Order order = OrderResourceIT.createEntity(em);
+        em.persist(order);
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        orderItemDTO.setQuantity(1);
+        orderItemDTO.setUnitPrice(BigDecimal.TEN);
+        orderItemDTO.setOrderId(order.getId());
+        orderItemDTO = orderItemService.save(orderItemDTO);
+        orderItemService.save(orderItemDTO);
+        orderItemService.delete(orderItemDTO.getId());
+        orderService.delete(order.getId());
+
+        List<DomainEvent> events = publishedEvents();
+        assertThat(events).hasSize(2);
+        assertThat(((OrderItemAdded) events.get(0)).getOrderItemId()).isEqualTo(orderItemDTO.getId());
+        assertThat(((OrderDeleted) events.get(1)).getOrderId()).isEqualTo(order.getId());
+    }
+
+    @Test
+    public void relayDeliversTheEventsInOrderToTheSubscribersOfTheirType() {
+        eventOutboxService.publish(new OrderPlaced(1L, 2L, Instant.now(), BigDecimal.ONE));
+        eventOutboxService.publish(new OrderItemAdded(3L, 1L, 4L, 1, BigDecimal.ONE));
+        eventOutboxService.publish(new OrderDeleted(1L));
+
+        assertThat(eventOutboxService.relayBatch()).isEqualTo(3);
+
+        assertThat(allEvents.events).extracting(DomainEvent::typeName)
+            .containsExactly("OrderPlaced", "OrderItemAdded", "OrderDeleted");
+        assertThat(deletions.events).extracting(OrderDeleted::getOrderId).containsExactly(1L);
+        assertThat(outboxEventRepository.findAll()).isEmpty();
+        assertThat(meterRegistry.get("event.outbox.deliveries").tag("result", "delivered").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("event.outbox.latency").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    public void relayRetriesTheFailedEventsAndThenKeepsThem() {
+        deletions.failing = true;
+        eventOutboxService.publish(new OrderDeleted(1L));
+
+        eventOutboxService.relayBatch();
+
+        assertThat(allEvents.events).hasSize(1);
+        OutboxEvent outboxEvent = outboxEventRepository.findAll().get(0);
+        assertThat(outboxEvent.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(outboxEvent.getAttempts()).isEqualTo(1);
+        assertThat(outboxEvent.getLastError()).isEqualTo("Subscriber failure");
+        assertThat(outboxEvent.getNextAttemptDate()).isAfter(Instant.now().plusSeconds(4));
+        assertThat(meterRegistry.get("event.outbox.deliveries").tag("result", "retried").counter().count()).isEqualTo(1);
+
+        outboxEvent.setNextAttemptDate(Instant.now().minusSeconds(1));
+        outboxEventRepository.saveAndFlush(outboxEvent);
+        eventOutboxService.relayBatch();
+
+        assertThat(allEvents.events).hasSize(2);
+        outboxEvent = outboxEventRepository.findAll().get(0);
+        assertThat(outboxEvent.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(eventOutboxService.relayBatch()).isZero();
+        assertThat(meterRegistry.get("event.outbox.deliveries").tag("result", "failed").counter().count()).isEqualTo(1);
+    }
+
+    private List<DomainEvent> publishedEvents() throws Exception {
+        List<DomainEvent> events = new ArrayList<>();
+        for (OutboxEvent outboxEvent : outboxEventRepository.findAll().stream()
+            .sorted((a, b) -> a.getId().compareTo(b.getId())).collect(Collectors.toList())) {
+            DomainEvent event = objectMapper.readValue(outboxEvent.getPayload(), DomainEvent.class);
+            assertThat(outboxEvent.getEventType()).isEqualTo(event.typeName());
+            events.add(event);
+        }
+        return events;
+    }
+
+    private static CheckoutItemDTO checkoutItem(Product product, int quantity) {
+        CheckoutItemDTO item = new CheckoutItemDTO();
+        item.setProductId(product.getId());
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private static class RecordingSubscriber<E extends DomainEvent> implements DomainEventSubscriber<E> {
+
+        private final Class<E> eventType;
+
+        private final List<E> events = new ArrayList<>();
+
+        private boolean failing;
+
+        RecordingSubscriber(Class<E> eventType) {
+            this.eventType = eventType;
+        }
+
+        @Override
+        public Class<E> getEventType() {
+            return eventType;
+        }
+
+        @Override
+        public void onEvent(E event) {
+            events.add(event);
+            if (failing) {
+                throw new IllegalStateException("Subscriber failure");
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.EcommApp;
+import com.blazenn.ecommerce.config.ApplicationProperties;
+import com.blazenn.ecommerce.domain.OutboxMail;
+import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.domain.enumeration.OutboxStatus;
+import com.blazenn.ecommerce.repository.OutboxMailRepository;
+import com.blazenn.ecommerce.repository.UserRepository;
+import com.blazenn.ecommerce.web.rest.UserResourceIT;
+
+import io.github.jhipster.config.JHipsterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.MessageSource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link MailOutboxService}, delivering to a local {@link SmtpStub}.
+ */
+@SpringBootTest(classes = EcommApp.class)
+@Transactional
+public class MailOutboxServiceIT {
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    @Autowired
+    private OutboxMailRepository outboxMailRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SmtpStub smtp;
+
+    private MailOutboxService mailOutboxService;
+
+    @BeforeEach
+    public void setup() {
+        smtp = new SmtpStub();
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(smtp.getPort());
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties.getMailOutbox().setMaxAttempts(2);
+        mailOutboxService = new MailOutboxService(outboxMailRepository, userRepository,
+            new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine),
+            transactionManager, applicationProperties, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        smtp.close();
+    }
+
+    @Test
+    public void deliversTheQueuedEmailsOverOneConnection() {
+        mailOutboxService.queueActivationEmail(createUser());
+        mailOutboxService.queueCreationEmail(createUser());
+        mailOutboxService.queuePasswordResetMail(createUser());
+
+        assertThat(mailOutboxService.deliverBatch()).isEqualTo(3);
+
+        assertThat(smtp.getMessages()).hasSize(3);
+        assertThat(smtp.getConnections()).isEqualTo(1);
+        assertThat(outboxMailRepository.findAll()).isEmpty();
+        assertThat(meterRegistry.get("mail.outbox.deliveries").tag("result", "sent").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("mail.outbox.latency").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    public void retriesTheRejectedEmailsWithABackoff() {
+        User rejected = createUser();
+        smtp.reject(rejected.getEmail());
+        mailOutboxService.queueActivationEmail(createUser());
+        mailOutboxService.queueActivationEmail(rejected);
+
+        mailOutboxService.deliverDueEmails();
+
+        assertThat(smtp.getMessages()).hasSize(1);
+        List<OutboxMail> mails = outboxMailRepository.findAll();
+        assertThat(mails).hasSize(1);
+        OutboxMail mail = mails.get(0);
+        assertThat(mail.getUserId()).isEqualTo(rejected.getId());
+        assertThat(mail.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(mail.getAttempts()).isEqualTo(1);
+        assertThat(mail.getLastError()).isNotEmpty();
+        assertThat(mail.getNextAttemptDate()).isAfter(Instant.now().plusSeconds(20));
+        assertThat(meterRegistry.get("mail.outbox.deliveries").tag("result", "retried").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.outbox.depth").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    public void keepsTheEmailsAsFailedAfterTheLastAttempt() throws Exception {
+        smtp.close();
+        mailOutboxService.queueActivationEmail(createUser());
+
+        mailOutboxService.deliverBatch();
+        OutboxMail mail = outboxMailRepository.findAll().get(0);
+        assertThat(mail.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        mail.setNextAttemptDate(Instant.now().minusSeconds(1));
+        outboxMailRepository.saveAndFlush(mail);
+        mailOutboxService.deliverBatch();
+
+        mail = outboxMailRepository.findAll().get(0);
+        assertThat(mail.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(mail.getAttempts()).isEqualTo(2);
+        assertThat(mailOutboxService.deliverBatch()).isZero();
+        assertThat(meterRegistry.get("mail.outbox.deliveries").tag("result", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void dropsTheEmailsOfUsersWithoutEmail() {
+        User user = UserResourceIT.createEntity(em);
+        user.setEmail(null);
+        mailOutboxService.queueActivationEmail(userRepository.saveAndFlush(user));
+
+        assertThat(mailOutboxService.deliverBatch()).isEqualTo(1);
+
+        assertThat(smtp.getMessages()).isEmpty();
+        assertThat(outboxMailRepository.findAll()).isEmpty();
+        assertThat(meterRegistry.get("mail.outbox.deliveries").tag("result", "dropped").counter().count()).isEqualTo(1);
+    }
+
+    private User createUser() {
+        return userRepository.saveAndFlush(UserResourceIT.createEntity(em));
+    }
+}
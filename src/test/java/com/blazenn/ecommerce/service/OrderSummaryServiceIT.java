@@ -0,0 +1,242 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.EcommApp;
+import com.blazenn.ecommerce.domain.Order;
+import com.blazenn.ecommerce.domain.OrderItem;
+import com.blazenn.ecommerce.domain.OrderSummary;
+import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.repository.OrderSummaryRepository;
+import com.blazenn.ecommerce.repository.UserRepository;
+import com.blazenn.ecommerce.service.dto.OrderItemDTO;
+import com.blazenn.ecommerce.service.dto.UserOrderSummaryDTO;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link OrderSummaryService}.
+ */
+@SpringBootTest(classes = EcommApp.class)
+@Transactional
+public class OrderSummaryServiceIT {
+
+    private static final Instant FIRST_ORDER_DATE = Instant.now().minus(2, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+
+    private static final Instant SECOND_ORDER_DATE = Instant.now().minus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+
+    @Autowired
+    private OrderSummaryService orderSummaryService;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    public void init() {
+        user = createUser("summary-user");
+    }
+
+    @Test
+    public void refreshAddsOrdersToTheSummaryOfTheirUser() {
+        Order first = createOrder(FIRST_ORDER_DATE, item(2, "2.50"), item(1, "10.00"));
+        Order second = createOrder(SECOND_ORDER_DATE, item(1, "4.00"));
+
+        orderSummaryService.refresh(first.getId());
+        orderSummaryService.refresh(second.getId());
+
+        OrderSummary firstSummary = orderSummaryRepository.findById(first.getId()).get();
+        assertThat(firstSummary.getItemCount()).isEqualTo(3);
+        assertThat(firstSummary.getTotalAmount()).isEqualByComparingTo("15.00");
+        UserOrderSummaryDTO summary = orderSummaryService.findByUserId(user.getId());
+        assertThat(summary.getOrderCount()).isEqualTo(2);
+        assertThat(summary.getTotalSpent()).isEqualByComparingTo("19.00");
+        assertThat(summary.getLastOrderDate()).isEqualTo(SECOND_ORDER_DATE);
+    }
+
+    @Test
+    public void savingAnOrderItemUpdatesTheSummaries() {
+        Order order = createOrder(FIRST_ORDER_DATE, item(1, "10.00"));
+        orderSummaryService.refresh(order.getId());
+
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        orderItemDTO.setQuantity(3);
+        orderItemDTO.setUnitPrice(new BigDecimal("1.50"));
+        orderItemDTO.setOrderId(order.getId());
+        orderItemDTO = orderItemService.save(orderItemDTO);
+
+        assertThat(orderSummaryRepository.findById(order.getId()).get().getItemCount()).isEqualTo(4);
+        assertThat(orderSummaryService.findByUserId(user.getId()).getTotalSpent()).isEqualByComparingTo("14.50");
+
+        orderItemService.delete(orderItemDTO.getId());
+
+        assertThat(orderSummaryRepository.findById(order.getId()).get().getItemCount()).isEqualTo(1);
+        UserOrderSummaryDTO summary = orderSummaryService.findByUserId(user.getId());
+        assertThat(summary.getOrderCount()).isEqualTo(1);
+        assertThat(summary.getTotalSpent()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    public void removingTheLastOrderRestoresThePreviousOrderDate() {
+        Order first = createOrder(FIRST_ORDER_DATE);
+        Order second = createOrder(SECOND_ORDER_DATE);
+        orderSummaryService.refresh(first.getId());
+        orderSummaryService.refresh(second.getId());
+
+        em.remove(second);
+        orderSummaryService.refresh(second.getId());
+
+        assertThat(orderSummaryRepository.findById(second.getId())).isEmpty();
+        UserOrderSummaryDTO summary = orderSummaryService.findByUserId(user.getId());
+        assertThat(summary.getOrderCount()).isEqualTo(1);
+        assertThat(summary.getTotalSpent()).isEqualByComparingTo("0");
+        assertThat(summary.getLastOrderDate()).isEqualTo(FIRST_ORDER_DATE);
+    }
+
+    @Test
+    public void movingTheLastOrderEarlierRestoresThePreviousOrderDate() {
+        Order first = createOrder(FIRST_ORDER_DATE);
+        Order second = createOrder(SECOND_ORDER_DATE);
+        orderSummaryService.refresh(first.getId());
+        orderSummaryService.refresh(second.getId());
+
+        second.setOrderDate(FIRST_ORDER_DATE.minus(1, ChronoUnit.DAYS));
+        em.flush();
+        orderSummaryService.refresh(second.getId());
+
+        UserOrderSummaryDTO summary = orderSummaryService.findByUserId(user.getId());
+        assertThat(summary.getOrderCount()).isEqualTo(2);
+        assertThat(summary.getLastOrderDate()).isEqualTo(FIRST_ORDER_DATE);
+    }
+
+    @Test
+    public void movingAnOrderToAnotherUserMovesItInTheirSummaries() {
+        User other = createUser("summary-other");
+        Order order = createOrder(FIRST_ORDER_DATE, item(1, "10.00"));
+        orderSummaryService.refresh(order.getId());
+
+        order.setUser(other);
+        em.flush();
+        orderSummaryService.refresh(order.getId());
+
+        UserOrderSummaryDTO summary = orderSummaryService.findByUserId(user.getId());
+        assertThat(summary.getOrderCount()).isZero();
+        assertThat(summary.getTotalSpent()).isEqualByComparingTo("0");
+        assertThat(summary.getLastOrderDate()).isNull();
+        UserOrderSummaryDTO otherSummary = orderSummaryService.findByUserId(other.getId());
+        assertThat(otherSummary.getOrderCount()).isEqualTo(1);
+        assertThat(otherSummary.getTotalSpent()).isEqualByComparingTo("10.00");
+        assertThat(otherSummary.getLastOrderDate()).isEqualTo(FIRST_ORDER_DATE);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void concurrentFirstOrdersOfAUserAreBothApplied() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Order first = transactionTemplate.execute(status -> createOrder(FIRST_ORDER_DATE, item(1, "10.00")));
+            Order second = transactionTemplate.execute(status -> createOrder(SECOND_ORDER_DATE, item(2, "1.00")));
+            CountDownLatch firstRefreshed = new CountDownLatch(1);
+
+            // the first order holds the new summary of the user, uncommitted, while the second one is refreshed
+            Future<?> concurrent = executor.submit(() -> transactionTemplate.execute(status -> {
+                orderSummaryService.refresh(first.getId());
+                firstRefreshed.countDown();
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            assertThat(firstRefreshed.await(5, TimeUnit.SECONDS)).isTrue();
+            transactionTemplate.execute(status -> {
+                orderSummaryService.refresh(second.getId());
+                return null;
+            });
+            concurrent.get(5, TimeUnit.SECONDS);
+
+            UserOrderSummaryDTO summary = orderSummaryService.findByUserId(user.getId());
+            assertThat(summary.getOrderCount()).isEqualTo(2);
+            assertThat(summary.getTotalSpent()).isEqualByComparingTo("12.00");
+        } finally {
+            executor.shutdownNow();
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.update("delete from user_order_summary where user_id = ?", user.getId());
+                jdbcTemplate.update("delete from order_summary where user_id = ?", user.getId());
+                jdbcTemplate.update("delete from order_item where order_id in (select id from jhi_order where user_id = ?)", user.getId());
+                jdbcTemplate.update("delete from jhi_order where user_id = ?", user.getId());
+                return jdbcTemplate.update("delete from jhi_user where id = ?", user.getId());
+            });
+        }
+    }
+
+    @Test
+    public void userWithoutOrdersHasAnEmptySummary() {
+        UserOrderSummaryDTO summary = orderSummaryService.findByUserId(user.getId());
+
+        assertThat(summary.getOrderCount()).isZero();
+        assertThat(summary.getTotalSpent()).isEqualByComparingTo("0");
+        assertThat(summary.getLastOrderDate()).isNull();
+    }
+
+    private User createUser(String login) {
+        User newUser = new User();
+        newUser.setLogin(login);
+        newUser.setPassword(RandomStringUtils.random(60));
+        newUser.setActivated(true);
+        newUser.setEmail(login + "@localhost");
+        return userRepository.saveAndFlush(newUser);
+    }
+
+    private Order createOrder(Instant orderDate, OrderItem... orderItems) {
+        Order order = new Order().orderDate(orderDate).totalAmount(BigDecimal.ZERO);
+        order.setUser(user);
+        em.persist(order);
+        for (OrderItem orderItem : orderItems) {
+            em.persist(orderItem.order(order));
+        }
+        em.flush();
+        return order;
+    }
+
+    private static OrderItem item(int quantity, String unitPrice) {
+        return new OrderItem().quantity(quantity).unitPrice(new BigDecimal(unitPrice));
+    }
+}
@@ -0,0 +1,145 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+import com.blazenn.ecommerce.config.ApplicationProperties.Count.Strategy;
+import com.blazenn.ecommerce.domain.Product;
+import com.blazenn.ecommerce.repository.ProductRepository;
+import com.blazenn.ecommerce.service.dto.ProductCriteria;
+
+import io.github.jhipster.service.filter.StringFilter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PageCountServiceTest {
+
+    private final Specification<Product> specification = Specification.where(null);
+
+    private ProductRepository productRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        productRepository = mock(ProductRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(productRepository.count(specification)).thenReturn(42L);
+    }
+
+    @Test
+    public void lastPageIsNotCounted() {
+        PageRequest pageable = PageRequest.of(2, 2);
+        when(productRepository.findSlice(specification, pageable))
+            .thenReturn(new SliceImpl<>(Collections.singletonList(new Product()), pageable, false));
+
+        Page<Product> page = service(Strategy.EXACT).findPage(Product.class, productRepository, null, specification, pageable);
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        verify(productRepository, never()).count(specification);
+    }
+
+    @Test
+    public void emptyPageAfterTheLastIsCounted() {
+        PageRequest pageable = PageRequest.of(30, 2);
+        when(productRepository.findSlice(specification, pageable))
+            .thenReturn(new SliceImpl<>(Collections.emptyList(), pageable, false));
+
+        Page<Product> page = service(Strategy.EXACT).findPage(Product.class, productRepository, null, specification, pageable);
+
+        assertThat(page.getTotalElements()).isEqualTo(42);
+    }
+
+    @Test
+    public void exactCountsEveryRequest() {
+        PageCountService pageCountService = service(Strategy.EXACT);
+
+        pageCountService.count(Product.class, productRepository, null, specification);
+        long count = pageCountService.count(Product.class, productRepository, null, specification);
+
+        assertThat(count).isEqualTo(42);
+        verify(productRepository, times(2)).count(specification);
+    }
+
+    @Test
+    public void cachedCountsOncePerCriteria() {
+        PageCountService pageCountService = service(Strategy.CACHED);
+
+        pageCountService.count(Product.class, productRepository, nameContains("pen"), specification);
+        long count = pageCountService.count(Product.class, productRepository, nameContains("pen"), specification);
+        pageCountService.count(Product.class, productRepository, nameContains("book"), specification);
+
+        assertThat(count).isEqualTo(42);
+        verify(productRepository, times(2)).count(specification);
+    }
+
+    @Test
+    public void cachedTotalDoesNotHideTheNextPage() {
+        PageCountService pageCountService = service(Strategy.CACHED);
+        pageCountService.count(Product.class, productRepository, null, specification);
+        PageRequest pageable = PageRequest.of(21, 2);
+        List<Product> content = Arrays.asList(new Product(), new Product());
+        when(productRepository.findSlice(specification, pageable)).thenReturn(new SliceImpl<>(content, pageable, true));
+
+        Page<Product> page = pageCountService.findPage(Product.class, productRepository, null, specification, pageable);
+
+        assertThat(page.getTotalElements()).isEqualTo(45);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    public void estimatedReadsTheTableStatisticsWhenUnfiltered() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("PRODUCT"))).thenReturn(Collections.singletonList(1000L));
+        PageCountService pageCountService = service(Strategy.ESTIMATED);
+
+        long unfiltered = pageCountService.count(Product.class, productRepository, new ProductCriteria(), specification);
+        long filtered = pageCountService.count(Product.class, productRepository, nameContains("pen"), specification);
+
+        assertThat(unfiltered).isEqualTo(1000);
+        assertThat(filtered).isEqualTo(42);
+        verify(productRepository, times(1)).count(specification);
+    }
+
+    @Test
+    public void estimatedCountsOnUnsupportedDatabases() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+
+        long count = service(Strategy.ESTIMATED).count(Product.class, productRepository, null, specification);
+
+        assertThat(count).isEqualTo(42);
+    }
+
+    private PageCountService service(Strategy strategy) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCount().setStrategy(strategy);
+        return new PageCountService(applicationProperties, jdbcTemplate);
+    }
+
+    private static ProductCriteria nameContains(String name) {
+        ProductCriteria criteria = new ProductCriteria();
+        StringFilter filter = new StringFilter();
+        filter.setContains(name);
+        criteria.setName(filter);
+        return criteria;
+    }
+}
@@ -0,0 +1,187 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.config.ApplicationProperties;
+import com.blazenn.ecommerce.domain.Category;
+import com.blazenn.ecommerce.domain.Product;
+import com.blazenn.ecommerce.repository.ProductRepository;
+import com.blazenn.ecommerce.service.dto.ProductCriteria;
+import com.blazenn.ecommerce.service.dto.ProductDTO;
+import com.blazenn.ecommerce.service.mapper.ProductMapperImpl;
+
+import io.github.jhipster.service.filter.BigDecimalFilter;
+import io.github.jhipster.service.filter.LongFilter;
+import io.github.jhipster.service.filter.StringFilter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProductCatalogIndexTest {
+
+    private ProductRepository productRepository;
+
+    private ProductCatalogIndex productCatalogIndex;
+
+    @BeforeEach
+    public void setUp() {
+        Category books = category(1L);
+        Category games = category(2L);
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAll()).thenReturn(Arrays.asList(
+            product(1L, "Blue pen", "10.00", books),
+            product(2L, "Red pen", "5.50", books),
+            product(3L, "Chess board", "42.00", games),
+            product(4L, "Notebook", "5.50", null)
+        ));
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getProductIndex().setEnabled(true);
+        productCatalogIndex = new ProductCatalogIndex(productRepository, new ProductMapperImpl(), applicationProperties);
+    }
+
+    @Test
+    public void filtersByPriceRange() {
+        ProductCriteria criteria = new ProductCriteria();
+        BigDecimalFilter price = new BigDecimalFilter();
+        price.setGreaterThan(new BigDecimal("5.5"));
+        price.setLessThanOrEqual(new BigDecimal("42"));
+        criteria.setPrice(price);
+
+        assertThat(ids(criteria, PageRequest.of(0, 10))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    public void filtersByCategoryAndName() {
+        ProductCriteria criteria = new ProductCriteria();
+        LongFilter categoryId = new LongFilter();
+        categoryId.setEquals(1L);
+        criteria.setCategoryId(categoryId);
+        StringFilter name = new StringFilter();
+        name.setContains("RED");
+        criteria.setName(name);
+
+        assertThat(ids(criteria, PageRequest.of(0, 10))).containsExactly(2L);
+    }
+
+    @Test
+    public void excludesProductsWithoutCategoryFromNotEquals() {
+        ProductCriteria criteria = new ProductCriteria();
+        LongFilter categoryId = new LongFilter();
+        categoryId.setNotEquals(1L);
+        criteria.setCategoryId(categoryId);
+
+        assertThat(ids(criteria, PageRequest.of(0, 10))).containsExactly(3L);
+    }
+
+    @Test
+    public void sortsAndPaginates() {
+        Page<ProductDTO> page = productCatalogIndex
+            .findByCriteria(new ProductCriteria(), PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "price")))
+            .get();
+
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.getContent().stream().map(ProductDTO::getId)).containsExactly(2L, 4L);
+    }
+
+    @Test
+    public void fallsBackForUnsupportedCriteria() {
+        ProductCriteria criteria = new ProductCriteria();
+        criteria.setOrderItemsId(new LongFilter());
+
+        assertThat(productCatalogIndex.findByCriteria(criteria, PageRequest.of(0, 10))).isEmpty();
+        assertThat(productCatalogIndex.findByCriteria(null, PageRequest.of(0, 10, Sort.by("description")))).isEmpty();
+
+        StringFilter name = new StringFilter();
+        name.setContains("pen%");
+        ProductCriteria wildcard = new ProductCriteria();
+        wildcard.setName(name);
+        assertThat(productCatalogIndex.countByCriteria(wildcard)).isEmpty();
+    }
+
+    @Test
+    public void appliesChangesWithoutReloading() {
+        assertThat(productCatalogIndex.countByCriteria(null)).contains(4L);
+
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(5L);
+        productDTO.setName("Pencil");
+        productDTO.setPrice(BigDecimal.ONE);
+        productCatalogIndex.put(productDTO);
+        productCatalogIndex.remove(3L);
+
+        assertThat(ids(null, PageRequest.of(0, 10))).containsExactly(1L, 2L, 4L, 5L);
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void rebuildsFromTheDatabase() {
+        productCatalogIndex.rebuild();
+        verify(productRepository, times(0)).findAll();
+        assertThat(productCatalogIndex.countByCriteria(null)).contains(4L);
+
+        when(productRepository.findAll()).thenReturn(Arrays.asList(
+            product(1L, "Blue pen", "10.00", null),
+            product(6L, "Eraser", "1.00", null)
+        ));
+        productCatalogIndex.rebuild();
+
+        assertThat(ids(null, PageRequest.of(0, 10))).containsExactly(1L, 6L);
+    }
+
+    @Test
+    public void keepsTheChangesCommittedDuringARebuild() {
+        assertThat(productCatalogIndex.countByCriteria(null)).contains(4L);
+
+        List<Product> products = productRepository.findAll();
+        when(productRepository.findAll()).thenAnswer(invocation -> {
+            ProductDTO productDTO = new ProductDTO();
+            productDTO.setId(5L);
+            productDTO.setName("Pencil");
+            productDTO.setPrice(BigDecimal.ONE);
+            productCatalogIndex.put(productDTO);
+            productCatalogIndex.remove(1L);
+            return products;
+        });
+        productCatalogIndex.rebuild();
+
+        assertThat(ids(null, PageRequest.of(0, 10))).containsExactly(2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    public void isSkippedWhenDisabled() {
+        productCatalogIndex = new ProductCatalogIndex(productRepository, new ProductMapperImpl(), new ApplicationProperties());
+
+        assertThat(productCatalogIndex.findByCriteria(null, PageRequest.of(0, 10))).isEqualTo(Optional.empty());
+        verify(productRepository, times(0)).findAll();
+    }
+
+    private List<Long> ids(ProductCriteria criteria, PageRequest page) {
+        return productCatalogIndex.findByCriteria(criteria, page).get()
+            .getContent().stream().map(ProductDTO::getId).collect(Collectors.toList());
+    }
+
+    private static Category category(Long id) {
+        Category category = new Category();
+        category.setId(id);
+        return category;
+    }
+
+    private static Product product(Long id, String name, String price, Category category) {
+        Product product = new Product().name(name).price(new BigDecimal(price)).category(category);
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,113 @@
+package com.blazenn.ecommerce.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local SMTP server accepting every message, except the ones to the rejected recipients, and keeping them in memory.
+ */
+public class SmtpStub implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+
+    private final Thread thread;
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final List<String> messages = new ArrayList<>();
+
+    private final List<String> rejectedRecipients = new ArrayList<>();
+
+    public SmtpStub() {
+        try {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        thread = new Thread(this::serve, "smtp-stub");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    public synchronized List<String> getMessages() {
+        return new ArrayList<>(messages);
+    }
+
+    public synchronized void reject(String recipient) {
+        rejectedRecipients.add(recipient.toLowerCase(Locale.ROOT));
+    }
+
+    private synchronized boolean isRejected(String command) {
+        return rejectedRecipients.stream().anyMatch(command.toLowerCase(Locale.ROOT)::contains);
+    }
+
+    private synchronized void received(String message) {
+        messages.add(message);
+    }
+
+    private void serve() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                connections.incrementAndGet();
+                converse(socket);
+            } catch (IOException e) {
+                // the stub was closed, or the client went away
+            }
+        }
+    }
+
+    private void converse(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        OutputStream out = socket.getOutputStream();
+        reply(out, "220 localhost SMTP stub");
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase(Locale.ROOT);
+            if (command.startsWith("RCPT") && isRejected(line)) {
+                reply(out, "550 No such user");
+            } else if (command.startsWith("DATA")) {
+                reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                StringBuilder message = new StringBuilder();
+                while ((line = in.readLine()) != null && !line.equals(".")) {
+                    message.append(line).append("\r\n");
+                }
+                received(message.toString());
+                reply(out, "250 OK");
+            } else if (command.startsWith("QUIT")) {
+                reply(out, "221 Bye");
+                return;
+            } else {
+                reply(out, "250 OK");
+            }
+        }
+    }
+
+    private static void reply(OutputStream out, String reply) throws IOException {
+        out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
@@ -0,0 +1,82 @@
+package com.blazenn.ecommerce.service;
+
+import com.blazenn.ecommerce.EcommApp;
+import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.repository.UserRepository;
+import com.blazenn.ecommerce.web.rest.UserResourceIT;
+
+import org.hibernate.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link UserService} with the second-level cache enabled.
+ */
+@SpringBootTest(classes = EcommApp.class, properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+public class UserServiceCacheIT {
+
+    private static final String AUTHORITIES = User.class.getName() + ".authorities";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void removingTheNotActivatedUsersEvictsTheirCachedAuthorities() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        Long userId = transactionTemplate.execute(status -> {
+            User user = UserResourceIT.createEntity(em);
+            user.setActivated(false);
+            user.setActivationKey("cached-authorities");
+            return userRepository.saveAndFlush(user).getId();
+        });
+        try {
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.update("insert into jhi_user_authority (user_id, authority_name) values (?, 'ROLE_USER')", userId);
+                jdbcTemplate.update("update jhi_user set created_date = ? where id = ?",
+                    Timestamp.from(Instant.now().minus(4, ChronoUnit.DAYS)), userId);
+                return null;
+            });
+            transactionTemplate.execute(status -> userRepository.findById(userId).get().getAuthorities().size());
+            assertThat(cache.containsCollection(AUTHORITIES, userId)).isTrue();
+
+            userService.removeNotActivatedUsers();
+
+            assertThat(cache.containsCollection(AUTHORITIES, userId)).isFalse();
+            assertThat(userRepository.findById(userId)).isEmpty();
+        } finally {
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.update("delete from jhi_user_authority where user_id = ?", userId);
+                jdbcTemplate.update("delete from jhi_user where id = ?", userId);
+                return null;
+            });
+        }
+    }
+}
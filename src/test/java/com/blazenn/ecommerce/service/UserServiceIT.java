@@ -2,7 +2,9 @@ package com.blazenn.ecommerce.service;
 
 import com.blazenn.ecommerce.EcommApp;
 import com.blazenn.ecommerce.config.Constants;
+import com.blazenn.ecommerce.domain.OutboxMail;
 import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.repository.OutboxMailRepository;
 import com.blazenn.ecommerce.repository.UserRepository;
 import com.blazenn.ecommerce.service.dto.UserDTO;
 
@@ -54,6 +56,9 @@ public class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private OutboxMailRepository outboxMailRepository;
+
     @Autowired
     private AuditingHandler auditingHandler;
 
@@ -90,6 +95,23 @@ public class UserServiceIT {
         assertThat(maybeUser.orElse(null).getEmail()).isEqualTo(user.getEmail());
         assertThat(maybeUser.orElse(null).getResetDate()).isNotNull();
         assertThat(maybeUser.orElse(null).getResetKey()).isNotNull();
+        assertThat(outboxMailRepository.findAll()).filteredOn(mail -> mail.getUserId().equals(user.getId()))
+            .extracting(OutboxMail::getTemplateName).containsExactly(MailService.PASSWORD_RESET_TEMPLATE);
+    }
+
+    @Test
+    @Transactional
+    public void assertThatRegisteredAndCreatedUsersAreMailed() {
+        UserDTO userDTO = new UserDTO(user);
+        User registered = userService.registerUser(userDTO, "password");
+        userDTO.setLogin("janedoe");
+        userDTO.setEmail("janedoe@localhost");
+        User created = userService.createUser(userDTO);
+
+        assertThat(outboxMailRepository.findAll()).filteredOn(mail -> mail.getUserId().equals(registered.getId()))
+            .extracting(OutboxMail::getTemplateName).containsExactly(MailService.ACTIVATION_TEMPLATE);
+        assertThat(outboxMailRepository.findAll()).filteredOn(mail -> mail.getUserId().equals(created.getId()))
+            .extracting(OutboxMail::getTemplateName).containsExactly(MailService.CREATION_TEMPLATE);
     }
 
     @Test
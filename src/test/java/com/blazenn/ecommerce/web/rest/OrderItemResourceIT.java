@@ -10,7 +10,10 @@ import com.blazenn.ecommerce.service.dto.OrderItemDTO;
 import com.blazenn.ecommerce.service.mapper.OrderItemMapper;
 import com.blazenn.ecommerce.service.dto.OrderItemCriteria;
 import com.blazenn.ecommerce.service.OrderItemQueryService;
+import com.blazenn.ecommerce.security.AuthoritiesConstants;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,13 +22,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -187,9 +194,106 @@ public class OrderItemResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(orderItem.getId().intValue())))
             .andExpect(jsonPath("$.[*].quantity").value(hasItem(DEFAULT_QUANTITY)))
-            .andExpect(jsonPath("$.[*].unitPrice").value(hasItem(DEFAULT_UNIT_PRICE.intValue())));
+            .andExpect(jsonPath("$.[*].unitPrice").value(hasItem(DEFAULT_UNIT_PRICE.doubleValue())));
     }
     
+    @Test
+    @Transactional
+    public void getAllOrderItemsDoesNotLoadAssociations() throws Exception {
+        // Initialize the database
+        for (int i = 0; i < 3; i++) {
+            Order order = OrderResourceIT.createEntity(em);
+            em.persist(order);
+            Product product = ProductResourceIT.createEntity(em);
+            em.persist(product);
+            em.persist(createEntity(em).quantity(555).order(order).product(product));
+        }
+        OrderItem withoutAssociations = orderItemRepository.saveAndFlush(createEntity(em).quantity(555));
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // A short page is read with one statement
+        restOrderItemMockMvc.perform(get("/api/order-items?quantity.equals=555&sort=id,asc&withProduct=true"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "4"))
+            .andExpect(jsonPath("$.[0].productName").isString())
+            .andExpect(jsonPath("$.[0].productPrice").isNumber())
+            .andExpect(jsonPath("$.[3].id").value(withoutAssociations.getId().intValue()))
+            .andExpect(jsonPath("$.[3].orderId").doesNotExist())
+            .andExpect(jsonPath("$.[3].productName").doesNotExist());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        // A full page needs the count too
+        statistics.clear();
+        restOrderItemMockMvc.perform(get("/api/order-items?quantity.equals=555&sort=id,asc&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "4"))
+            .andExpect(jsonPath("$.[0].orderId").isNumber())
+            .andExpect(jsonPath("$.[0].productName").doesNotExist());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @Transactional
+    public void getAllOrderItemsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        OrderItem first = orderItemRepository.saveAndFlush(createEntity(em).quantity(777));
+        OrderItem second = orderItemRepository.saveAndFlush(createEntity(em).quantity(777));
+        OrderItem third = orderItemRepository.saveAndFlush(createEntity(em).quantity(777));
+
+        // Walk the slices in id order
+        MvcResult result = restOrderItemMockMvc.perform(get("/api/order-items?quantity.equals=777&size=2&after="))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andReturn();
+
+        restOrderItemMockMvc.perform(get("/api/order-items?quantity.equals=777&size=2&after="
+            + result.getResponse().getHeader("X-Next-Cursor")))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"))
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    public void exportOrderItems() throws Exception {
+        // Initialize the database
+        orderItemRepository.saveAndFlush(orderItem);
+
+        restOrderItemMockMvc.perform(get("/api/order-items/export?format=csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(content().string(startsWith("id,quantity,unitPrice,orderId,productId\r\n")))
+            .andExpect(content().string(containsString("\r\n" + orderItem.getId() + "," + DEFAULT_QUANTITY + "," + DEFAULT_UNIT_PRICE + ",,\r\n")));
+
+        restOrderItemMockMvc.perform(get("/api/order-items/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(content().string(containsString("{\"id\":" + orderItem.getId() + ",\"quantity\":" + DEFAULT_QUANTITY
+                + ",\"unitPrice\":" + DEFAULT_UNIT_PRICE + ",\"orderId\":null,\"productId\":null}\n")));
+    }
+
+    @Test
+    @Transactional
+    public void exportOrderItemsIsForbiddenToUsers() throws Exception {
+        restOrderItemMockMvc.perform(get("/api/order-items/export"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    public void exportOrderItemsWithUnsupportedFormat() throws Exception {
+        restOrderItemMockMvc.perform(get("/api/order-items/export?format=xml"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     public void getOrderItem() throws Exception {
@@ -483,7 +587,7 @@ public class OrderItemResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(orderItem.getId().intValue())))
             .andExpect(jsonPath("$.[*].quantity").value(hasItem(DEFAULT_QUANTITY)))
-            .andExpect(jsonPath("$.[*].unitPrice").value(hasItem(DEFAULT_UNIT_PRICE.intValue())));
+            .andExpect(jsonPath("$.[*].unitPrice").value(hasItem(DEFAULT_UNIT_PRICE.doubleValue())));
 
         // Check, that the count call also returns 1
         restOrderItemMockMvc.perform(get("/api/order-items/count?sort=id,desc&" + filter))
@@ -3,12 +3,18 @@ package com.blazenn.ecommerce.web.rest;
 import com.blazenn.ecommerce.EcommApp;
 import com.blazenn.ecommerce.domain.Order;
 import com.blazenn.ecommerce.domain.OrderItem;
+import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.domain.Product;
+import com.blazenn.ecommerce.repository.OrderItemRepository;
 import com.blazenn.ecommerce.repository.OrderRepository;
 import com.blazenn.ecommerce.service.OrderService;
+import com.blazenn.ecommerce.service.dto.CheckoutDTO;
+import com.blazenn.ecommerce.service.dto.CheckoutItemDTO;
 import com.blazenn.ecommerce.service.dto.OrderDTO;
 import com.blazenn.ecommerce.service.mapper.OrderMapper;
 import com.blazenn.ecommerce.service.dto.OrderCriteria;
 import com.blazenn.ecommerce.service.OrderQueryService;
+import com.blazenn.ecommerce.security.AuthoritiesConstants;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,10 +29,13 @@ import javax.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -48,6 +57,9 @@ public class OrderResourceIT {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
     @Autowired
     private OrderMapper orderMapper;
 
@@ -111,7 +123,8 @@ public class OrderResourceIT {
         assertThat(orderList).hasSize(databaseSizeBeforeCreate + 1);
         Order testOrder = orderList.get(orderList.size() - 1);
         assertThat(testOrder.getOrderDate()).isEqualTo(DEFAULT_ORDER_DATE);
-        assertThat(testOrder.getTotalAmount()).isEqualTo(DEFAULT_TOTAL_AMOUNT);
+        // the total amount sent is ignored, the order has no item yet
+        assertThat(testOrder.getTotalAmount()).isEqualByComparingTo(BigDecimal.ZERO);
     }
 
     @Test
@@ -135,6 +148,91 @@ public class OrderResourceIT {
     }
 
 
+    @Test
+    @Transactional
+    public void checkoutOrder() throws Exception {
+        int databaseSizeBeforeCreate = orderRepository.findAll().size();
+        int itemsSizeBeforeCreate = orderItemRepository.findAll().size();
+        Product pen = ProductResourceIT.createEntity(em).price(new BigDecimal("2.50"));
+        Product book = ProductResourceIT.createEntity(em).price(new BigDecimal("10.00"));
+        em.persist(pen);
+        em.persist(book);
+        em.flush();
+
+        CheckoutDTO checkoutDTO = new CheckoutDTO();
+        checkoutDTO.setItems(Arrays.asList(checkoutItem(pen.getId(), 3), checkoutItem(book.getId(), 1)));
+        restOrderMockMvc.perform(post("/api/orders/checkout")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(checkoutDTO)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.totalAmount").value(17.5));
+
+        List<Order> orderList = orderRepository.findAll();
+        assertThat(orderList).hasSize(databaseSizeBeforeCreate + 1);
+        Order testOrder = orderList.get(orderList.size() - 1);
+        assertThat(testOrder.getTotalAmount()).isEqualByComparingTo("17.50");
+        List<OrderItem> orderItemList = orderItemRepository.findAll();
+        assertThat(orderItemList).hasSize(itemsSizeBeforeCreate + 2);
+        assertThat(orderItemList.subList(itemsSizeBeforeCreate, orderItemList.size()))
+            .allMatch(orderItem -> testOrder.equals(orderItem.getOrder()))
+            .extracting(OrderItem::getUnitPrice)
+            .containsExactlyInAnyOrder(new BigDecimal("2.50"), new BigDecimal("10.00"));
+    }
+
+    @Test
+    @Transactional
+    public void checkoutUpdatesTheOrderSummaryOfTheAccount() throws Exception {
+        Product pen = ProductResourceIT.createEntity(em).price(new BigDecimal("2.50"));
+        em.persist(pen);
+        em.flush();
+
+        CheckoutDTO checkoutDTO = new CheckoutDTO();
+        checkoutDTO.setItems(Arrays.asList(checkoutItem(pen.getId(), 4)));
+        restOrderMockMvc.perform(post("/api/orders/checkout")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(checkoutDTO)))
+            .andExpect(status().isCreated());
+        em.flush();
+        em.clear();
+
+        restOrderMockMvc.perform(get("/api/account/order-summary"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.orderCount").value(1))
+            .andExpect(jsonPath("$.totalSpent").value(10.0))
+            .andExpect(jsonPath("$.lastOrderDate").isNotEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void checkoutWithUnknownProductShouldFail() throws Exception {
+        int databaseSizeBeforeCreate = orderRepository.findAll().size();
+
+        CheckoutDTO checkoutDTO = new CheckoutDTO();
+        checkoutDTO.setItems(Arrays.asList(checkoutItem(Long.MAX_VALUE, 1)));
+        restOrderMockMvc.perform(post("/api/orders/checkout")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(checkoutDTO)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(orderRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    public void checkoutItemsAreRequired() throws Exception {
+        restOrderMockMvc.perform(post("/api/orders/checkout")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(new CheckoutDTO())))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static CheckoutItemDTO checkoutItem(Long productId, int quantity) {
+        CheckoutItemDTO item = new CheckoutItemDTO();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return item;
+    }
+
     @Test
     @Transactional
     public void checkOrderDateIsRequired() throws Exception {
@@ -190,6 +288,27 @@ public class OrderResourceIT {
             .andExpect(jsonPath("$.[*].totalAmount").value(hasItem(DEFAULT_TOTAL_AMOUNT.intValue())));
     }
     
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    public void exportOrders() throws Exception {
+        // Initialize the database
+        orderRepository.saveAndFlush(order);
+
+        restOrderMockMvc.perform(get("/api/orders/export?format=csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(content().string(startsWith("id,orderDate,totalAmount\r\n")))
+            .andExpect(content().string(containsString("\r\n" + order.getId() + "," + DEFAULT_ORDER_DATE + "," + DEFAULT_TOTAL_AMOUNT + "\r\n")));
+    }
+
+    @Test
+    @Transactional
+    public void exportOrdersIsForbiddenToUsers() throws Exception {
+        restOrderMockMvc.perform(get("/api/orders/export"))
+            .andExpect(status().isForbidden());
+    }
+
     @Test
     @Transactional
     public void getOrder() throws Exception {
@@ -401,6 +520,25 @@ public class OrderResourceIT {
         defaultOrderShouldNotBeFound("orderItemsId.equals=" + (orderItemsId + 1));
     }
 
+
+    @Test
+    @Transactional
+    public void getAllOrdersByUserIsEqualToSomething() throws Exception {
+        // Initialize the database
+        User user = UserResourceIT.createEntity(em);
+        em.persist(user);
+        em.flush();
+        order.setUser(user);
+        orderRepository.saveAndFlush(order);
+        Long userId = user.getId();
+
+        // Get all the orderList where user equals to userId
+        defaultOrderShouldBeFound("userId.equals=" + userId);
+
+        // Get all the orderList where user equals to userId + 1
+        defaultOrderShouldNotBeFound("userId.equals=" + (userId + 1));
+    }
+
     /**
      * Executes the search, and checks that the default entity is returned.
      */
@@ -471,7 +609,32 @@ public class OrderResourceIT {
         assertThat(orderList).hasSize(databaseSizeBeforeUpdate);
         Order testOrder = orderList.get(orderList.size() - 1);
         assertThat(testOrder.getOrderDate()).isEqualTo(UPDATED_ORDER_DATE);
-        assertThat(testOrder.getTotalAmount()).isEqualTo(UPDATED_TOTAL_AMOUNT);
+        assertThat(testOrder.getTotalAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @Transactional
+    public void updateOrderComputesTheTotalAmountFromItsItems() throws Exception {
+        // Initialize the database
+        orderRepository.saveAndFlush(order);
+        OrderItem orderItem = OrderItemResourceIT.createEntity(em)
+            .quantity(2)
+            .unitPrice(new BigDecimal("3.50"));
+        order.addOrderItems(orderItem);
+        em.persist(orderItem);
+        em.flush();
+
+        OrderDTO orderDTO = orderMapper.toDto(order);
+        orderDTO.setTotalAmount(UPDATED_TOTAL_AMOUNT);
+        restOrderMockMvc.perform(put("/api/orders")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(orderDTO)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalAmount").value(7.0));
+
+        em.flush();
+        em.clear();
+        assertThat(orderRepository.findById(order.getId()).get().getTotalAmount()).isEqualByComparingTo("7.00");
     }
 
     @Test
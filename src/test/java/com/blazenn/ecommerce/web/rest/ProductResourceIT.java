@@ -19,12 +19,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -196,6 +198,44 @@ public class ProductResourceIT {
             .andExpect(jsonPath("$.[*].price").value(hasItem(DEFAULT_PRICE.intValue())));
     }
     
+    @Test
+    @Transactional
+    public void getAllProductsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(createEntity(em).name("keyset").price(new BigDecimal(3)));
+        productRepository.saveAndFlush(createEntity(em).name("keyset").price(new BigDecimal(1)));
+        productRepository.saveAndFlush(createEntity(em).name("keyset").price(new BigDecimal(2)));
+
+        // Get the first slice, sorted by price
+        MvcResult result = restProductMockMvc.perform(get("/api/products?name.equals=keyset&sort=price,desc&size=2&after="))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().exists("X-Next-Cursor"))
+            .andExpect(jsonPath("$.[*].price").value(contains(3, 2)))
+            .andReturn();
+
+        // Get the next and last slice
+        String after = result.getResponse().getHeader("X-Next-Cursor");
+        restProductMockMvc.perform(get("/api/products?name.equals=keyset&sort=price,desc&size=2&after=" + after))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"))
+            .andExpect(jsonPath("$.[*].price").value(contains(1)));
+
+        // A cursor is bound to the sort it was built for
+        restProductMockMvc.perform(get("/api/products?name.equals=keyset&sort=name,desc&size=2&after=" + after))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getAllProductsWithInvalidKeysetPagination() throws Exception {
+        restProductMockMvc.perform(get("/api/products?sort=description,asc&after="))
+            .andExpect(status().isBadRequest());
+
+        restProductMockMvc.perform(get("/api/products?sort=id,asc&after=not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     public void getProduct() throws Exception {
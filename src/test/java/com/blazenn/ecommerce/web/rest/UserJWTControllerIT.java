@@ -3,7 +3,9 @@ package com.blazenn.ecommerce.web.rest;
 import com.blazenn.ecommerce.EcommApp;
 import com.blazenn.ecommerce.domain.User;
 import com.blazenn.ecommerce.repository.UserRepository;
+import com.blazenn.ecommerce.security.jwt.TokenProvider;
 import com.blazenn.ecommerce.web.rest.vm.LoginVM;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -14,6 +16,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -36,6 +39,9 @@ public class UserJWTControllerIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenProvider tokenProvider;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -52,6 +58,7 @@ public class UserJWTControllerIT {
 
         LoginVM login = new LoginVM();
         login.setUsername("user-jwt-controller");
+        login.setEmail("user-jwt-controller@example.com");
         login.setPassword("test");
         mockMvc.perform(post("/api/authenticate")
             .contentType(MediaType.APPLICATION_JSON)
@@ -76,6 +83,7 @@ public class UserJWTControllerIT {
 
         LoginVM login = new LoginVM();
         login.setUsername("user-jwt-controller-remember-me");
+        login.setEmail("user-jwt-controller-remember-me@example.com");
         login.setPassword("test");
         login.setRememberMe(true);
         mockMvc.perform(post("/api/authenticate")
@@ -88,10 +96,36 @@ public class UserJWTControllerIT {
             .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
 
+    @Test
+    @Transactional
+    public void testAuthorizeIssuesTheUserId() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-id");
+        user.setEmail("user-jwt-controller-id@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-id");
+        login.setEmail("user-jwt-controller-id@example.com");
+        login.setPassword("test");
+        String response = mockMvc.perform(post("/api/authenticate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        String jwt = JsonPath.read(response, "$.id_token");
+        assertThat(tokenProvider.parseClaims(jwt).get().get("user_id")).isEqualTo(user.getId().toString());
+    }
+
     @Test
     public void testAuthorizeFails() throws Exception {
         LoginVM login = new LoginVM();
         login.setUsername("wrong-user");
+        login.setEmail("wrong-user@example.com");
         login.setPassword("wrong password");
         mockMvc.perform(post("/api/authenticate")
             .contentType(MediaType.APPLICATION_JSON)
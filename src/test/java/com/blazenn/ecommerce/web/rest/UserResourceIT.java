@@ -3,6 +3,8 @@ package com.blazenn.ecommerce.web.rest;
 import com.blazenn.ecommerce.EcommApp;
 import com.blazenn.ecommerce.domain.Authority;
 import com.blazenn.ecommerce.domain.User;
+import com.blazenn.ecommerce.domain.UserOrderSummary;
+import com.blazenn.ecommerce.repository.UserOrderSummaryRepository;
 import com.blazenn.ecommerce.repository.UserRepository;
 import com.blazenn.ecommerce.security.AuthoritiesConstants;
 import com.blazenn.ecommerce.service.dto.UserDTO;
@@ -20,6 +22,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.*;
 import java.util.function.Consumer;
@@ -67,6 +70,9 @@ public class UserResourceIT {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private UserOrderSummaryRepository userOrderSummaryRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -257,6 +263,26 @@ public class UserResourceIT {
 
     }
 
+    @Test
+    @Transactional
+    public void getUsersWithTheirTotalSpending() throws Exception {
+        userRepository.saveAndFlush(user);
+        UserOrderSummary summary = new UserOrderSummary().userId(user.getId());
+        summary.setOrderCount(2L);
+        summary.setTotalSpent(new BigDecimal("12.50"));
+        userOrderSummaryRepository.saveAndFlush(summary);
+
+        restUserMockMvc.perform(get("/api/users/{login}", user.getLogin()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalSpending").value(12.5));
+        restUserMockMvc.perform(get("/api/users?sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].login").value(DEFAULT_LOGIN))
+            .andExpect(jsonPath("$.[0].totalSpending").value(12.5))
+            .andExpect(jsonPath("$.[1].totalSpending").value(0));
+    }
+
     @Test
     @Transactional
     public void getNonExistingUser() throws Exception {
@@ -1,5 +1,7 @@
 package com.blazenn.ecommerce.web.rest.errors;
 
+import com.blazenn.ecommerce.security.PasswordHashingRejectedException;
+
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
@@ -40,6 +42,11 @@ public class ExceptionTranslatorTestController {
         throw new BadCredentialsException("test authentication failed!");
     }
 
+    @GetMapping("/password-hashing-rejected")
+    public void passwordHashingRejected() {
+        throw new PasswordHashingRejectedException("test password hashing rejected", 3);
+    }
+
     @GetMapping("/response-status")
     public void exceptionWithResponseStatus() {
         throw new TestResponseStatusException();